@@ -0,0 +1,50 @@
+package com.mytodo.api;
+
+import com.mytodo.util.JsonDataManager;
+import com.mytodo.util.Log;
+import com.mytodo.util.SegmentedTaskStore;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs the task API without the UI (Main --headless), on the data files in the working
+ * directory. Port: -Dmytodo.api.port (default 8765). Stops on Ctrl+C, saving first.
+ *
+ * Do not run it next to the app on the same data: both would write the same segments.
+ */
+public final class HeadlessServer {
+
+    private static final Log LOG = Log.get(HeadlessServer.class);
+
+    // Same files as MainController
+    private static final File DATA_FILE = new File("tasks.json");
+    private static final File SEGMENTS_DIR = new File("tasks-data");
+    private static final boolean COMPRESS_SEGMENTS = Boolean.getBoolean("mytodo.compress");
+
+    private HeadlessServer() {
+    }
+
+    /**
+     * Returns once the server listens; its dispatcher thread keeps the JVM running.
+     */
+    public static void run() throws IOException {
+        JsonDataManager dataManager = new JsonDataManager();
+        SegmentedTaskStore store = new SegmentedTaskStore(SEGMENTS_DIR, dataManager, COMPRESS_SEGMENTS);
+        // One-time migration from the old single-file format, as the app does. A file that
+        // cannot be read stops the server before the store is created, so nothing is lost
+        if (!store.exists() && DATA_FILE.exists()) {
+            store.importTasks(dataManager.read(DATA_FILE));
+        }
+
+        StoreTaskService service = new StoreTaskService(store);
+        TaskApiServer server = new TaskApiServer(service);
+        server.start(Integer.getInteger("mytodo.api.port", TaskApiServer.DEFAULT_PORT));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOG.info("Stopping task API");
+            server.stop();
+            service.close();
+        }, "task-api-shutdown"));
+    }
+}
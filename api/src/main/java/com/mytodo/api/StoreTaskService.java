@@ -0,0 +1,146 @@
+package com.mytodo.api;
+
+import com.mytodo.Task;
+import com.mytodo.TaskQuery;
+import com.mytodo.util.Log;
+import com.mytodo.util.SegmentedTaskStore;
+import com.mytodo.util.TaskSnapshot;
+import com.mytodo.util.VersionedTaskStore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * {@link TaskService} over a segmented task store, for headless mode (no UI).
+ *
+ * All segments are loaded at start into a {@link VersionedTaskStore}: writes are serialized
+ * commits, reads work on the latest snapshot without locking. Committed changes are written
+ * by a background flush at most FLUSH_DELAY_MS after the first unsaved commit (and on close),
+ * so a burst of writes costs one save; the flush saves a snapshot, so it never blocks
+ * requests. Archived tasks are not served.
+ */
+public class StoreTaskService implements TaskService {
+
+    private static final Log LOG = Log.get(StoreTaskService.class);
+
+    private static final long FLUSH_DELAY_MS = 200;
+
+    private final SegmentedTaskStore store;
+    private final VersionedTaskStore tasks = new VersionedTaskStore();
+    // Ids are handed out here; the segment store is only used by the flush thread after start
+    private final AtomicLong nextId;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "task-api-flush");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private long savedVersion;
+
+    public StoreTaskService(SegmentedTaskStore store) {
+        this.store = store;
+        store.open();
+        List<Task> loaded = store.loadSegments(s -> true);
+        tasks.commit(tx -> {
+            loaded.forEach(tx::put);
+            return null;
+        });
+        savedVersion = tasks.snapshot().version();
+        nextId = new AtomicLong(store.allocateId());
+        tasks.addListener(commit -> scheduleFlush());
+        LOG.info("Headless store loaded: " + loaded.size() + " tasks");
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        LocalDateTime now = LocalDateTime.now();
+        return tasks.snapshot().find(t -> query.matches(t, now));
+    }
+
+    @Override
+    public Task get(long id) {
+        return tasks.snapshot().get(id);
+    }
+
+    @Override
+    public Task create(TaskPatch fields) {
+        Task task = fields.newTask();
+        task.setId(nextId.getAndIncrement());
+        tasks.commit(tx -> {
+            tx.put(task);
+            return null;
+        });
+        return task;
+    }
+
+    @Override
+    public Task update(long id, TaskPatch patch) {
+        return tasks.commit(tx -> {
+            Task t = tx.get(id);
+            if (t == null) return null;
+            Task updated = t.copy();
+            patch.applyTo(updated);
+            tx.put(updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public boolean delete(long id) {
+        return tasks.commit(tx -> tx.remove(id));
+    }
+
+    @Override
+    public int updateAll(Predicate<Task> filter, TaskPatch patch) {
+        return tasks.commit(tx -> {
+            List<Task> selected = tx.base().find(filter);
+            for (Task t : selected) {
+                Task updated = t.copy();
+                patch.applyTo(updated);
+                tx.put(updated);
+            }
+            return selected.size();
+        });
+    }
+
+    @Override
+    public int deleteAll(Predicate<Task> filter) {
+        return tasks.commit(tx -> {
+            List<Task> selected = tx.base().find(filter);
+            for (Task t : selected) tx.remove(t.getId());
+            return selected.size();
+        });
+    }
+
+    /**
+     * Writes pending changes and stops the flush thread.
+     */
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flusher.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void flush() {
+        // Cleared before the snapshot is taken: a commit after this point schedules another flush
+        flushScheduled.set(false);
+        TaskSnapshot snapshot = tasks.snapshot();
+        if (snapshot.version() == savedVersion) return;
+        store.reserveIds(nextId.get());
+        long bytes = store.save(snapshot);
+        savedVersion = snapshot.version();
+        LOG.debug(() -> "Headless store saved version " + snapshot.version() + ": "
+                + snapshot.size() + " tasks, " + bytes + " bytes");
+    }
+}
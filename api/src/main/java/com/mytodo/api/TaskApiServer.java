@@ -0,0 +1,284 @@
+package com.mytodo.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mytodo.Task;
+import com.mytodo.TaskQuery;
+import com.mytodo.util.Log;
+import com.mytodo.util.Metrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Local HTTP/JSON API over a {@link TaskService}, for scripts and other local tools.
+ *
+ * Listens on the loopback interface only; every request runs on its own virtual thread.
+ *
+ *   GET    /api/tasks?filter=LIST&amp;list=Work&amp;search=text&amp;offset=0&amp;limit=100
+ *          filter: ALL, TODAY, IMPORTANT, PENDING, OVERDUE, FINISHED, LIST (with list)
+ *          list alone means filter=LIST; list with any other filter is rejected (400)
+ *   GET    /api/tasks/{id}
+ *   POST   /api/tasks               body: task fields (see TaskPatch), title required
+ *   PATCH  /api/tasks/{id}          body: fields to change (PUT is accepted too)
+ *   DELETE /api/tasks/{id}
+ *   POST   /api/tasks/bulk          body: {"ids": [..]} or {"filter": .., "list": .., "search": ..}
+ *                                   plus {"patch": {fields}} or {"delete": true}
+ *
+ * Errors are answered as {"error": "..."} with status 400, 404, 405 or 500.
+ */
+public class TaskApiServer {
+
+    private static final Log LOG = Log.get(TaskApiServer.class);
+
+    public static final int DEFAULT_PORT = 8765;
+    private static final String TASKS_PATH = "/api/tasks";
+    private static final int DEFAULT_LIMIT = 1000;
+
+    private static final Metrics.Histogram REQUEST_TIME = Metrics.histogram("api.request.us");
+    private static final Metrics.Counter ERRORS = Metrics.counter("api.errors");
+
+    static {
+        // Without TCP_NODELAY every response waits ~40 ms for the client's delayed ACK
+        // (headers and body are separate writes). Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final TaskService service;
+    private final ObjectMapper mapper;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public TaskApiServer(TaskService service) {
+        this.service = service;
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Starts listening on 127.0.0.1:port (0 = any free port, see getPort()).
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(TASKS_PATH, this::handle);
+        server.start();
+        LOG.info("Task API listening on http://127.0.0.1:" + getPort() + TASKS_PATH);
+    }
+
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        executor = null;
+    }
+
+    // ---------------------------------------------------------------------
+    // Routing
+    // ---------------------------------------------------------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            String method = exchange.getRequestMethod();
+            String rest = exchange.getRequestURI().getPath().substring(TASKS_PATH.length());
+            if (rest.endsWith("/")) rest = rest.substring(0, rest.length() - 1);
+
+            if (rest.isEmpty()) {
+                switch (method) {
+                    case "GET"  -> list(exchange);
+                    case "POST" -> create(exchange);
+                    default     -> error(exchange, 405, "Use GET or POST on " + TASKS_PATH);
+                }
+            } else if (rest.equals("/bulk")) {
+                if (method.equals("POST")) bulk(exchange);
+                else error(exchange, 405, "Use POST on " + TASKS_PATH + "/bulk");
+            } else {
+                long id = parseId(rest.substring(1));
+                switch (method) {
+                    case "GET"          -> single(exchange, service.get(id));
+                    case "PATCH", "PUT" -> single(exchange, service.update(id, TaskPatch.of(readBody(exchange))));
+                    case "DELETE"       -> {
+                        if (service.delete(id)) send(exchange, 204, null);
+                        else error(exchange, 404, "No task " + id);
+                    }
+                    default -> error(exchange, 405, "Use GET, PATCH or DELETE on a task");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            error(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            LOG.error("API request failed: " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), e);
+            error(exchange, 500, "Internal error: " + e.getMessage());
+        } finally {
+            exchange.close();
+            REQUEST_TIME.recordSince(start);
+        }
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> params = queryParams(exchange);
+        TaskQuery query = query(params.get("filter"), params.get("list"), params.get("search"));
+        int offset = intParam(params, "offset", 0);
+        int limit = intParam(params, "limit", DEFAULT_LIMIT);
+
+        List<Task> tasks = service.find(query);
+        int from = Math.min(offset, tasks.size());
+        int to = (int) Math.min((long) from + limit, tasks.size());
+        exchange.getResponseHeaders().set("X-Total-Count", String.valueOf(tasks.size()));
+        send(exchange, 200, tasks.subList(from, to));
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        TaskPatch fields = TaskPatch.of(readBody(exchange));
+        if (!fields.has("title")) throw new IllegalArgumentException("title is required");
+        send(exchange, 201, service.create(fields));
+    }
+
+    private void single(HttpExchange exchange, Task task) throws IOException {
+        if (task == null) error(exchange, 404, "No such task");
+        else send(exchange, 200, task);
+    }
+
+    private void bulk(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (!body.isObject()) throw new IllegalArgumentException("Expected a JSON object");
+
+        Predicate<Task> filter;
+        if (body.has("ids")) {
+            Set<Long> ids = new HashSet<>();
+            for (JsonNode id : body.get("ids")) {
+                if (!id.canConvertToLong()) throw new IllegalArgumentException("ids must be numbers");
+                ids.add(id.asLong());
+            }
+            filter = t -> ids.contains(t.getId());
+        } else if (body.has("filter") || body.has("list") || body.has("search")) {
+            filter = query(body.path("filter").asText(null), body.path("list").asText(null),
+                    body.path("search").asText(null))::matches;
+        } else {
+            throw new IllegalArgumentException("Select tasks with ids or filter/list/search");
+        }
+
+        ObjectNode result = mapper.createObjectNode();
+        if (body.path("delete").asBoolean(false)) {
+            result.put("deleted", service.deleteAll(filter));
+        } else if (body.has("patch")) {
+            TaskPatch patch = TaskPatch.of(body.get("patch"));
+            result.put("updated", patch.isEmpty() ? 0 : service.updateAll(filter, patch));
+        } else {
+            throw new IllegalArgumentException("Give a patch or \"delete\": true");
+        }
+        send(exchange, 200, result);
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    private static TaskQuery query(String filter, String list, String search) {
+        String type = filter == null ? (list != null ? "LIST" : "ALL") : filter.toUpperCase();
+        if (type.equals("COMPLETED")) type = "FINISHED";
+        if (!List.of("ALL", "TODAY", "IMPORTANT", "PENDING", "OVERDUE", "FINISHED", "LIST").contains(type)) {
+            throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+        if (list != null && !type.equals("LIST")) {
+            // TaskQuery selects a list only for LIST; ignoring it would answer the wrong tasks
+            throw new IllegalArgumentException("list can only be combined with filter=LIST, not " + filter);
+        }
+        return new TaskQuery(type, list, search);
+    }
+
+    private static long parseId(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a task id: " + text);
+        }
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) return defaultValue;
+        try {
+            int n = Integer.parseInt(value);
+            if (n < 0) throw new NumberFormatException();
+            return n;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a non-negative number");
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) throw new IllegalArgumentException("Request body is empty");
+            return mapper.readTree(bytes);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void error(HttpExchange exchange, int status, String message) {
+        ERRORS.increment();
+        try {
+            send(exchange, status, mapper.createObjectNode().put("error", message));
+        } catch (IOException | IllegalStateException e) {
+            // Headers already sent or client gone: nothing left to report to
+            LOG.debug(() -> "Could not send API error: " + e.getMessage());
+        }
+    }
+}
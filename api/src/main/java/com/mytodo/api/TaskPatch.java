@@ -0,0 +1,145 @@
+package com.mytodo.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Field values sent by an API client (create or partial update).
+ *
+ * Only the fields present in the JSON object are applied; an explicit null clears a
+ * field (dueDate, time, listName). Dates are ISO (2024-05-31), times HH:mm.
+ * Completing a task sets its completed date, like the completion checkbox. "repeat" is an
+ * RRULE (see Recurrence) or null; on a recurring task, completed true/false checks off or
+ * reopens one occurrence, like the checkbox.
+ */
+public final class TaskPatch {
+
+    private static final List<String> FIELDS = List.of(
+            "title", "description", "dueDate", "time", "priority", "completed", "important", "listName", "repeat");
+    private static final List<String> PRIORITIES = List.of("Low", "Normal", "High");
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private final JsonNode fields;
+
+    private TaskPatch(JsonNode fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the object has unknown fields or invalid values.
+     */
+    public static TaskPatch of(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object with task fields");
+        }
+        for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            if (!FIELDS.contains(name)) throw new IllegalArgumentException("Unknown field: " + name);
+        }
+        TaskPatch patch = new TaskPatch(node);
+        // Parse everything once, so a bad value is reported before anything is changed
+        patch.applyTo(new Task());
+        return patch;
+    }
+
+    /**
+     * New task with the quick-add defaults (due today 23:59, Normal priority) and these fields applied.
+     */
+    public Task newTask() {
+        Task task = new Task("", "", LocalDate.now(), END_OF_DAY, "Normal");
+        applyTo(task);
+        return task;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    public boolean has(String field) {
+        return fields.has(field);
+    }
+
+    public void applyTo(Task task) {
+        if (has("title")) task.setTitle(text("title", false));
+        if (has("description")) {
+            String desc = text("description", true);
+            task.setDescription(desc == null ? "" : desc);
+        }
+        if (has("dueDate")) task.setDueDate(date("dueDate"));
+        if (has("time")) task.setTime(time("time"));
+        if (has("priority")) {
+            String priority = text("priority", false);
+            if (!PRIORITIES.contains(priority)) {
+                throw new IllegalArgumentException("priority must be one of " + PRIORITIES);
+            }
+            task.setPriority(priority);
+        }
+        if (has("important")) task.setImportant(bool("important"));
+        if (has("listName")) task.setListName(text("listName", true));
+        if (has("repeat")) {
+            Recurrence rule = rule("repeat");
+            Recurrence current = task.getRecurrence();
+            // A series starts at its due date
+            if (rule != null && task.getDueDate() == null) task.setDueDate(LocalDate.now());
+            task.setRecurrence(rule == null ? null : current == null ? rule : current.withRule(rule));
+        }
+        if (has("completed")) {
+            boolean completed = bool("completed");
+            if (task.isRecurring()) {
+                if (completed) task.completeOccurrence();
+                else task.reopenOccurrence();
+            } else if (completed != task.isCompleted()) {
+                task.setCompletedDate(completed ? LocalDate.now() : null);
+                task.setCompleted(completed);
+            }
+        }
+    }
+
+    private String text(String field, boolean nullable) {
+        JsonNode value = fields.get(field);
+        if (value.isNull() && nullable) return null;
+        if (!value.isTextual()) throw new IllegalArgumentException(field + " must be a string");
+        if (!nullable && value.asText().isBlank()) throw new IllegalArgumentException(field + " must not be empty");
+        return value.asText();
+    }
+
+    private boolean bool(String field) {
+        JsonNode value = fields.get(field);
+        if (!value.isBoolean()) throw new IllegalArgumentException(field + " must be true or false");
+        return value.asBoolean();
+    }
+
+    private LocalDate date(String field) {
+        String value = text(field, true);
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be a date like 2024-05-31");
+        }
+    }
+
+    private Recurrence rule(String field) {
+        String value = text(field, true);
+        try {
+            return value == null ? null : Recurrence.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + ": " + e.getMessage());
+        }
+    }
+
+    private LocalTime time(String field) {
+        String value = text(field, true);
+        try {
+            return value == null ? null : LocalTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be a time like 17:30");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mytodo.api;
+
+import com.mytodo.Task;
+import com.mytodo.TaskQuery;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Task operations behind the local API.
+ *
+ * Implementations serialize writes (on the FX thread in the app, as store commits headless),
+ * so concurrent API requests are serialized with each other and with the UI. Reads come from
+ * a {@link com.mytodo.util.TaskSnapshot}. Tasks handed out are frozen snapshot tasks: they
+ * may be read on any thread and must not be modified.
+ */
+public interface TaskService {
+
+    /**
+     * @return the matching tasks, in id (creation) order.
+     */
+    List<Task> find(TaskQuery query);
+
+    /**
+     * @return the task, or null if there is none with that id.
+     */
+    Task get(long id);
+
+    /**
+     * Adds a new task (id allocated by the store).
+     *
+     * @return the added task.
+     */
+    Task create(TaskPatch fields);
+
+    /**
+     * @return the updated task, or null if there is none with that id.
+     */
+    Task update(long id, TaskPatch patch);
+
+    boolean delete(long id);
+
+    /**
+     * Applies the patch to every task accepted by the filter, as one change.
+     *
+     * @return number of tasks updated.
+     */
+    int updateAll(Predicate<Task> filter, TaskPatch patch);
+
+    /**
+     * Deletes every task accepted by the filter, as one change.
+     *
+     * @return number of tasks deleted.
+     */
+    int deleteAll(Predicate<Task> filter);
+}
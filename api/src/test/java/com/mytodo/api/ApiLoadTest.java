@@ -0,0 +1,124 @@
+package com.mytodo.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.mytodo.util.Metrics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures requests per second against a running task API (in the app or headless).
+ *
+ *   java -cp &lt;api test classpath&gt; com.mytodo.api.ApiLoadTest [baseUrl] [clients] [seconds] [writePercent]
+ *
+ * Defaults: http://127.0.0.1:8765, 16 clients, 10 seconds, 10% writes. Each client is a
+ * virtual thread sending requests back to back: reads are filtered list requests (first
+ * 50 tasks), writes create a task. Tasks created by the run are deleted at the end with
+ * one bulk request. Prints throughput, latency percentiles and errors.
+ */
+public final class ApiLoadTest {
+
+    private static final List<String> FILTERS = List.of("ALL", "TODAY", "IMPORTANT", "PENDING", "OVERDUE", "FINISHED");
+
+    private ApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://127.0.0.1:" + TaskApiServer.DEFAULT_PORT;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int writePercent = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        ObjectMapper mapper = new ObjectMapper();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI tasksUri = URI.create(base + "/api/tasks");
+
+        Metrics.Histogram readTime = Metrics.histogram("loadtest.read.us");
+        Metrics.Histogram writeTime = Metrics.histogram("loadtest.write.us");
+        Metrics.Counter errors = Metrics.counter("loadtest.errors");
+        Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+        System.out.printf("Load test: %s, %d clients, %ds, %d%% writes%n", base, clients, seconds, writePercent);
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int n = 0;
+                    while (System.nanoTime() < end) {
+                        boolean write = random.nextInt(100) < writePercent;
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpRequest request;
+                            if (write) {
+                                String body = mapper.createObjectNode()
+                                        .put("title", "load-test " + client + "-" + n++)
+                                        .put("important", random.nextBoolean())
+                                        .toString();
+                                request = HttpRequest.newBuilder(tasksUri)
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+                            } else {
+                                String filter = FILTERS.get(random.nextInt(FILTERS.size()));
+                                request = HttpRequest.newBuilder(URI.create(tasksUri + "?limit=50&filter=" + filter))
+                                        .GET().build();
+                            }
+                            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() >= 400) {
+                                errors.increment();
+                            } else if (write) {
+                                createdIds.add(mapper.readTree(response.body()).get("id").asLong());
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        (write ? writeTime : readTime).recordSince(t0);
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long requests = readTime.getCount() + writeTime.getCount();
+        System.out.printf("Requests: %d in %.1fs = %.0f req/s, errors: %d%n",
+                requests, elapsed, requests / elapsed, errors.get());
+        print("read ", readTime);
+        print("write", writeTime);
+
+        if (!createdIds.isEmpty()) {
+            ArrayNode ids = mapper.createArrayNode();
+            createdIds.forEach(ids::add);
+            String body = mapper.createObjectNode().put("delete", true).set("ids", ids).toString();
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(tasksUri + "/bulk"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode result = mapper.readTree(response.body());
+            System.out.println("Cleanup: deleted " + result.path("deleted").asInt() + " of " + createdIds.size() + " created tasks");
+        }
+    }
+
+    private static void print(String name, Metrics.Histogram h) {
+        if (h.getCount() == 0) return;
+        System.out.printf("  %s n=%d p50=%.2fms p99=%.2fms max=%.2fms%n", name, h.getCount(),
+                h.getPercentile(50) / 1000.0, h.getPercentile(99) / 1000.0, h.getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mytodo.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mytodo.util.JsonDataManager;
+import com.mytodo.util.SegmentedTaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskApiServerTest {
+
+    @TempDir
+    File dir;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private StoreTaskService service;
+    private TaskApiServer server;
+
+    @BeforeEach
+    void start() throws Exception {
+        service = new StoreTaskService(new SegmentedTaskStore(dir, new JsonDataManager(), false));
+        server = new TaskApiServer(service);
+        server.start(0);
+        post("/api/tasks", "{\"title\": \"report\", \"listName\": \"Work\", \"important\": true}");
+        post("/api/tasks", "{\"title\": \"milk\", \"listName\": \"Errands\", \"important\": true}");
+        post("/api/tasks", "{\"title\": \"slides\", \"listName\": \"Work\"}");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+        service.close();
+    }
+
+    @Test
+    void listSelectsTheTasksOfOneList() throws Exception {
+        assertEquals(2, get("/api/tasks?list=Work").body().size());
+        assertEquals(2, get("/api/tasks?filter=LIST&list=Work").body().size());
+        assertEquals(3, get("/api/tasks?filter=LIST").body().size());
+        assertEquals(2, get("/api/tasks?filter=IMPORTANT").body().size());
+    }
+
+    @Test
+    void listWithAnotherFilterIsRejected() throws Exception {
+        Response response = get("/api/tasks?filter=IMPORTANT&list=Work");
+        assertEquals(400, response.status());
+        assertTrue(response.body().path("error").asText().contains("filter=LIST"));
+
+        Response bulk = post("/api/tasks/bulk", "{\"filter\": \"TODAY\", \"list\": \"Work\", \"delete\": true}");
+        assertEquals(400, bulk.status());
+        assertEquals(3, get("/api/tasks").body().size());
+    }
+
+    private record Response(int status, JsonNode body) {
+    }
+
+    private Response get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET().build());
+    }
+
+    private Response post(String path, String json) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build());
+    }
+
+    private Response send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), mapper.readTree(response.body()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
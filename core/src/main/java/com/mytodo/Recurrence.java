@@ -0,0 +1,480 @@
+package com.mytodo;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Repeat rule of a recurring task, plus which of its occurrences are done.
+ *
+ * The rule is an RRULE subset (RFC 5545): FREQ=DAILY|WEEKLY|MONTHLY|YEARLY, INTERVAL,
+ * BYDAY (weekly: MO..SU), BYMONTHDAY (monthly: 1..31, or -1 for the last day), COUNT and
+ * UNTIL. Occurrences start at the task's due date (the series start, passed in by the
+ * caller) and are computed on demand for the dates asked about, never stored: the first
+ * period that can reach a date is found by arithmetic, so asking about today costs the
+ * same for a series that started years ago. Months without the day (e.g. the 31st) are
+ * skipped, as in RFC 5545.
+ *
+ * Completed occurrences are kept as exceptions to the rule: doneThrough (every occurrence
+ * up to that date is done) plus the few dates after it that were completed out of order.
+ * Completing occurrences in order only moves doneThrough, so the record stays a few bytes.
+ *
+ * Immutable: changes return a new instance.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public final class Recurrence {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final DateTimeFormatter RRULE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    // Periods in a row without an occurrence before a rule is treated as ended
+    // (e.g. the 31st of every 12th month starting in February)
+    private static final int MAX_EMPTY_PERIODS = 1000;
+
+    private final Frequency frequency;
+    private final int interval;
+    // WEEKLY; empty = the start's day of week
+    private final Set<DayOfWeek> byDay;
+    // MONTHLY; 0 = the start's day of month, -1 = last day
+    private final int byMonthDay;
+    // 0 = no limit
+    private final int count;
+    private final LocalDate until;
+
+    private final LocalDate doneThrough;
+    // Sorted, all after doneThrough
+    private final LocalDate[] done;
+
+    public Recurrence(Frequency frequency, int interval, Set<DayOfWeek> byDay, int byMonthDay, int count, LocalDate until) {
+        this(frequency, interval, byDay, byMonthDay, count, until, null, new LocalDate[0]);
+    }
+
+    private Recurrence(Frequency frequency, int interval, Set<DayOfWeek> byDay, int byMonthDay, int count,
+                       LocalDate until, LocalDate doneThrough, LocalDate[] done) {
+        if (frequency == null) throw new IllegalArgumentException("FREQ is required");
+        if (interval < 1) throw new IllegalArgumentException("INTERVAL must be at least 1");
+        if (byMonthDay < -1 || byMonthDay > 31) throw new IllegalArgumentException("BYMONTHDAY must be 1..31 or -1");
+        if (count < 0) throw new IllegalArgumentException("COUNT must be positive");
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay == null || byDay.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(byDay);
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+        this.doneThrough = doneThrough;
+        this.done = done;
+    }
+
+    public static Recurrence daily() { return new Recurrence(Frequency.DAILY, 1, null, 0, 0, null); }
+    public static Recurrence weekly() { return new Recurrence(Frequency.WEEKLY, 1, null, 0, 0, null); }
+    public static Recurrence monthly() { return new Recurrence(Frequency.MONTHLY, 1, null, 0, 0, null); }
+    public static Recurrence yearly() { return new Recurrence(Frequency.YEARLY, 1, null, 0, 0, null); }
+
+    /**
+     * @param rule e.g. "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH" (an "RRULE:" prefix is allowed).
+     * @throws IllegalArgumentException if the rule is invalid or uses parts outside the subset.
+     */
+    public static Recurrence parse(String rule) {
+        if (rule == null || rule.isBlank()) throw new IllegalArgumentException("Empty rule");
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) text = text.substring(6);
+        Frequency frequency = null;
+        int interval = 1, byMonthDay = 0, count = 0;
+        LocalDate until = null;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        for (String part : text.split(";")) {
+            if (part.isBlank()) continue;
+            int eq = part.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected NAME=VALUE: " + part);
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = LocalDate.parse(value.substring(0, Math.min(8, value.length())), RRULE_DATE);
+                    case "BYMONTHDAY" -> byMonthDay = Integer.parseInt(value);
+                    case "BYDAY" -> {
+                        for (String day : value.split(",")) byDay.add(dayOf(day.trim()));
+                    }
+                    case "WKST" -> { } // Weeks start on Monday here; other values are not supported
+                    default -> throw new IllegalArgumentException("Unsupported rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + name + ": " + value);
+            } catch (IllegalArgumentException e) {
+                if (e.getMessage() != null && e.getMessage().startsWith("Unsupported")) throw e;
+                throw new IllegalArgumentException("Invalid " + name + ": " + value);
+            }
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) throw new IllegalArgumentException("BYDAY needs FREQ=WEEKLY");
+        if (byMonthDay != 0 && frequency != Frequency.MONTHLY) throw new IllegalArgumentException("BYMONTHDAY needs FREQ=MONTHLY");
+        return new Recurrence(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    private static DayOfWeek dayOf(String code) {
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.name().startsWith(code) && code.length() == 2) return d;
+        }
+        throw new IllegalArgumentException("Unknown day: " + code);
+    }
+
+    // --- JSON: {"rule": "...", "doneThrough": "2024-05-06", "done": ["2024-05-09"]} ---
+
+    @JsonCreator
+    static Recurrence fromJson(@JsonProperty("rule") String rule,
+                               @JsonProperty("doneThrough") String doneThrough,
+                               @JsonProperty("done") List<String> done) {
+        Recurrence r = parse(rule);
+        LocalDate[] dates = done == null ? new LocalDate[0] : done.stream().map(LocalDate::parse).sorted().toArray(LocalDate[]::new);
+        return new Recurrence(r.frequency, r.interval, r.byDay, r.byMonthDay, r.count, r.until,
+                doneThrough == null ? null : LocalDate.parse(doneThrough), dates);
+    }
+
+    @JsonProperty("rule")
+    public String getRule() {
+        StringBuilder sb = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) sb.append(";INTERVAL=").append(interval);
+        if (!byDay.isEmpty()) {
+            sb.append(";BYDAY=");
+            byDay.forEach(d -> sb.append(d.name(), 0, 2).append(','));
+            sb.setLength(sb.length() - 1);
+        }
+        if (byMonthDay != 0) sb.append(";BYMONTHDAY=").append(byMonthDay);
+        if (count > 0) sb.append(";COUNT=").append(count);
+        if (until != null) sb.append(";UNTIL=").append(until.format(RRULE_DATE));
+        return sb.toString();
+    }
+
+    @JsonProperty("doneThrough")
+    String doneThroughJson() {
+        return doneThrough == null ? null : doneThrough.toString();
+    }
+
+    @JsonProperty("done")
+    List<String> doneJson() {
+        return Arrays.stream(done).map(LocalDate::toString).toList();
+    }
+
+    @JsonIgnore public Frequency getFrequency() { return frequency; }
+    @JsonIgnore public int getInterval() { return interval; }
+    @JsonIgnore public LocalDate getDoneThrough() { return doneThrough; }
+
+    /**
+     * Same rule without the done state (e.g. after the rule was edited).
+     */
+    public Recurrence withRule(Recurrence rule) {
+        if (rule.sameRule(this)) return this;
+        // Earlier occurrences stay done; out-of-order ones may not fall on the new rule
+        return new Recurrence(rule.frequency, rule.interval, rule.byDay, rule.byMonthDay, rule.count, rule.until,
+                doneThrough, new LocalDate[0]);
+    }
+
+    /**
+     * Same rule with every occurrence up to the date done, and none after it (e.g. when
+     * importing, where only the watermark is kept).
+     */
+    public Recurrence withDoneThrough(LocalDate date) {
+        return new Recurrence(frequency, interval, byDay, byMonthDay, count, until, date, new LocalDate[0]);
+    }
+
+    public boolean sameRule(Recurrence other) {
+        return other != null && frequency == other.frequency && interval == other.interval
+                && byDay.equals(other.byDay) && byMonthDay == other.byMonthDay && count == other.count
+                && Objects.equals(until, other.until);
+    }
+
+    /**
+     * e.g. "Every 2 weeks on Mon, Thu", for the task list.
+     */
+    public String describe() {
+        String unit = switch (frequency) {
+            case DAILY -> "day";
+            case WEEKLY -> "week";
+            case MONTHLY -> "month";
+            case YEARLY -> "year";
+        };
+        StringBuilder sb = new StringBuilder(interval == 1 ? "Every " + unit : "Every " + interval + " " + unit + "s");
+        if (!byDay.isEmpty()) {
+            sb.append(" on ");
+            byDay.forEach(d -> sb.append(d.getDisplayName(TextStyle.SHORT, Locale.ENGLISH)).append(", "));
+            sb.setLength(sb.length() - 2);
+        }
+        if (byMonthDay == -1) sb.append(" on the last day");
+        else if (byMonthDay > 0) sb.append(" on day ").append(byMonthDay);
+        if (count > 0) sb.append(", ").append(count).append(" times");
+        if (until != null) sb.append(", until ").append(until);
+        return sb.toString();
+    }
+
+    // --- Occurrences ---
+
+    /**
+     * Occurrences on or after from, in date order, computed as they are iterated.
+     * @param start the series start (the task's due date).
+     */
+    public Iterator<LocalDate> occurrences(LocalDate start, LocalDate from) {
+        return new Occurrences(start, from.isBefore(start) ? start : from);
+    }
+
+    /**
+     * @return the occurrences in [from, to] (bounded by the window, not by the series).
+     */
+    public List<LocalDate> between(LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        Iterator<LocalDate> it = occurrences(start, from);
+        while (it.hasNext()) {
+            LocalDate d = it.next();
+            if (d.isAfter(to)) break;
+            result.add(d);
+        }
+        return result;
+    }
+
+    public boolean occursOn(LocalDate start, LocalDate day) {
+        Iterator<LocalDate> it = occurrences(start, day);
+        return it.hasNext() && it.next().equals(day);
+    }
+
+    public boolean isDone(LocalDate occurrence) {
+        return (doneThrough != null && !occurrence.isAfter(doneThrough)) || Arrays.binarySearch(done, occurrence) >= 0;
+    }
+
+    /**
+     * @return the earliest occurrence that is not done, or null if every one is (the series ended).
+     */
+    public LocalDate firstOpen(LocalDate start) {
+        Iterator<LocalDate> it = occurrences(start, doneThrough == null ? start : doneThrough.plusDays(1));
+        while (it.hasNext()) {
+            LocalDate d = it.next();
+            if (Arrays.binarySearch(done, d) < 0) return d;
+        }
+        return null;
+    }
+
+    /**
+     * @return the latest occurrence that is done, or null.
+     */
+    public LocalDate lastDone(LocalDate start) {
+        if (done.length > 0) return done[done.length - 1];
+        return doneThrough == null ? null : previous(start, doneThrough.plusDays(1));
+    }
+
+    /**
+     * Marks one occurrence done or not done. Runs of done occurrences are folded into
+     * doneThrough, so only occurrences completed out of order take space.
+     */
+    public Recurrence withDone(LocalDate start, LocalDate occurrence, boolean isDone) {
+        if (isDone(occurrence) == isDone) return this;
+        LocalDate through = doneThrough;
+        List<LocalDate> dates = new ArrayList<>(Arrays.asList(done));
+        if (isDone) {
+            dates.add(occurrence);
+            dates.sort(null);
+        } else if (Arrays.binarySearch(done, occurrence) >= 0) {
+            dates.remove(occurrence);
+        } else {
+            // Inside the done run: it ends before the occurrence, the rest of it becomes exceptions
+            through = previous(start, occurrence);
+            Iterator<LocalDate> it = occurrences(start, occurrence.plusDays(1));
+            while (it.hasNext()) {
+                LocalDate d = it.next();
+                if (d.isAfter(doneThrough)) break;
+                dates.add(d);
+            }
+            dates.sort(null);
+        }
+
+        // Fold: advance doneThrough while the next occurrence is done
+        Iterator<LocalDate> it = occurrences(start, through == null ? start : through.plusDays(1));
+        while (!dates.isEmpty() && it.hasNext()) {
+            LocalDate next = it.next();
+            if (!next.equals(dates.get(0))) break;
+            through = next;
+            dates.remove(0);
+        }
+        return new Recurrence(frequency, interval, byDay, byMonthDay, count, until, through, dates.toArray(new LocalDate[0]));
+    }
+
+    // Last occurrence before the date, or null
+    private LocalDate previous(LocalDate start, LocalDate before) {
+        // Step back one period at a time from the period of the date
+        for (long back = 0; back <= MAX_EMPTY_PERIODS; back++) {
+            long k = firstPeriod(start, before) - back;
+            if (k < 0) return null;
+            LocalDate last = null;
+            Iterator<LocalDate> it = new Occurrences(start, k);
+            while (it.hasNext()) {
+                LocalDate d = it.next();
+                if (!d.isBefore(before)) break;
+                last = d;
+            }
+            if (last != null) return last;
+        }
+        return null;
+    }
+
+    // First period whose dates can be on or after the date
+    private long firstPeriod(LocalDate start, LocalDate date) {
+        long elapsed = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start, date);
+            case WEEKLY -> Math.floorDiv(ChronoUnit.DAYS.between(weekOf(start), date), 7);
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(date));
+            case YEARLY -> date.getYear() - start.getYear();
+        };
+        if (elapsed <= 0) return 0;
+        return frequency == Frequency.DAILY ? Math.ceilDiv(elapsed, interval) : Math.floorDiv(elapsed, interval);
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Walks the periods of the rule (a day, week, month or year, times INTERVAL) from a
+     * starting period, yielding their dates that are on or after the series start.
+     */
+    private final class Occurrences implements Iterator<LocalDate> {
+        private final LocalDate start;
+        private final LocalDate from;
+        private long period;
+        // Occurrences before the current period (for COUNT)
+        private long ordinal;
+        private final List<LocalDate> pending = new ArrayList<>(7);
+        private LocalDate next;
+        private boolean ended;
+
+        Occurrences(LocalDate start, LocalDate from) {
+            this.start = start;
+            this.from = from;
+            this.period = firstPeriod(start, from);
+            this.ordinal = count > 0 ? countBefore(period) : 0;
+        }
+
+        // From a given period, without a lower bound (used to step back)
+        Occurrences(LocalDate start, long period) {
+            this.start = start;
+            this.from = start;
+            this.period = period;
+            this.ordinal = count > 0 ? countBefore(period) : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) return true;
+            if (ended) return false;
+            int empty = 0;
+            while (true) {
+                if (pending.isEmpty()) {
+                    if (empty++ > MAX_EMPTY_PERIODS) {
+                        ended = true;
+                        return false;
+                    }
+                    datesOf(period++, pending);
+                    continue;
+                }
+                LocalDate d = pending.remove(0);
+                if (d.isBefore(start)) continue;
+                if ((count > 0 && ordinal >= count) || (until != null && d.isAfter(until))) {
+                    ended = true;
+                    return false;
+                }
+                ordinal++;
+                if (d.isBefore(from)) continue;
+                next = d;
+                return true;
+            }
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            LocalDate d = next;
+            next = null;
+            return d;
+        }
+
+        // Occurrences in the periods before k (only needed with COUNT)
+        private long countBefore(long k) {
+            switch (frequency) {
+                case DAILY:
+                    return k;
+                case WEEKLY: {
+                    long perWeek = weekDays().size();
+                    long beforeStart = weekDays().stream().filter(d -> d.getValue() < start.getDayOfWeek().getValue()).count();
+                    return k == 0 ? 0 : k * perWeek - beforeStart;
+                }
+                default: {
+                    long n = 0;
+                    List<LocalDate> dates = new ArrayList<>(1);
+                    for (long p = 0; p < k; p++) {
+                        dates.clear();
+                        datesOf(p, dates);
+                        for (LocalDate d : dates) if (!d.isBefore(start)) n++;
+                    }
+                    return n;
+                }
+            }
+        }
+
+        private Set<DayOfWeek> weekDays() {
+            return byDay.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : byDay;
+        }
+
+        private void datesOf(long k, List<LocalDate> out) {
+            long step = k * interval;
+            switch (frequency) {
+                case DAILY -> out.add(start.plusDays(step));
+                case WEEKLY -> {
+                    LocalDate week = weekOf(start).plusWeeks(step);
+                    for (DayOfWeek d : weekDays()) out.add(week.plusDays(d.getValue() - 1));
+                }
+                case MONTHLY -> {
+                    YearMonth month = YearMonth.from(start).plusMonths(step);
+                    int day = byMonthDay == 0 ? start.getDayOfMonth() : byMonthDay == -1 ? month.lengthOfMonth() : byMonthDay;
+                    if (day <= month.lengthOfMonth()) out.add(month.atDay(day));
+                }
+                case YEARLY -> {
+                    YearMonth month = YearMonth.of(start.getYear(), start.getMonth()).plusYears(step);
+                    if (start.getDayOfMonth() <= month.lengthOfMonth()) out.add(month.atDay(start.getDayOfMonth()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Recurrence r && sameRule(r) && Objects.equals(doneThrough, r.doneThrough) && Arrays.equals(done, r.done);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getRule(), doneThrough, Arrays.hashCode(done));
+    }
+
+    @Override
+    public String toString() {
+        return getRule() + (doneThrough == null ? "" : " doneThrough=" + doneThrough)
+                + (done.length == 0 ? "" : " done=" + Arrays.toString(done));
+    }
+}
@@ -0,0 +1,235 @@
+package com.mytodo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import javafx.beans.Observable;
+import javafx.beans.property.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+// Removed java.util.ArrayList and java.util.List
+
+public class Task {
+    // Stable id, allocated by SegmentedTaskStore (0 = not assigned yet)
+    private long id;
+    // Edit counter (persisted): bumped by the app on every change, so a reload can tell
+    // which side changed a task since it was last saved (see MainController live reload)
+    private long revision;
+    // Revision last read from or written to disk (not persisted)
+    private long savedRevision;
+
+    private final StringProperty title = new SimpleStringProperty();
+    private final StringProperty description = new SimpleStringProperty();
+    private final ObjectProperty<LocalDate> dueDate = new SimpleObjectProperty<>();
+    private final ObjectProperty<LocalTime> time = new SimpleObjectProperty<>();
+    private final StringProperty priority = new SimpleStringProperty();
+    private final BooleanProperty completed = new SimpleBooleanProperty(false);
+    private final BooleanProperty important = new SimpleBooleanProperty(false);
+
+    // 1. "tags" (List<String>) has been replaced by "listName" (String)
+    private final StringProperty listName = new SimpleStringProperty();
+
+    // Day the task was marked completed (null = not completed, or completed before this was tracked)
+    private LocalDate completedDate;
+
+    // Repeat rule and done occurrences (null = a one-off task). A recurring task is one row
+    // for the whole series: dueDate is the series start and the row stands for the earliest
+    // occurrence that is not done (see currentOccurrence)
+    private final ObjectProperty<Recurrence> recurrence = new SimpleObjectProperty<>();
+
+    private final Observable[] displayedProperties = { title, description, dueDate, time, priority, completed, important, listName, recurrence };
+
+
+    public Task() {
+        setTitle("");
+        setDescription("");
+        setPriority("Normal");
+        // 2. [Updated] Default value is null
+        setListName(null);
+    }
+
+
+    public Task(String title, String desc, LocalDate due, LocalTime time, String priority) {
+        setTitle(title);
+        setDescription(desc);
+        setDueDate(due);
+        setTime(time);
+        setPriority(priority);
+        // 3. Default value is null
+        setListName(null);
+    }
+
+    /**
+     * Detached copy with the same id and field values, e.g. to hand a task to another thread.
+     */
+    public Task copy() {
+        Task t = new Task(getTitle(), getDescription(), getDueDate(), getTime(), getPriority());
+        t.id = id;
+        t.revision = revision;
+        t.savedRevision = savedRevision;
+        t.setCompleted(isCompleted());
+        t.setImportant(isImportant());
+        t.setListName(getListName());
+        t.completedDate = completedDate;
+        t.setRecurrence(getRecurrence());
+        return t;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+
+    /**
+     * @return true if the task changed since it was last read from or written to disk.
+     */
+    public boolean hasUnsavedChanges() {
+        return revision != savedRevision;
+    }
+
+    /**
+     * Called by the store once the current revision is on disk.
+     */
+    public void markSaved() {
+        savedRevision = revision;
+    }
+
+    /**
+     * @return the revision last read from or written to disk.
+     */
+    public long savedRevision() {
+        return savedRevision;
+    }
+
+    /**
+     * @return true if both tasks have the same field values (ids and revisions are not compared).
+     */
+    public boolean sameContent(Task other) {
+        return Objects.equals(getTitle(), other.getTitle())
+                && Objects.equals(getDescription(), other.getDescription())
+                && Objects.equals(getDueDate(), other.getDueDate())
+                && Objects.equals(getTime(), other.getTime())
+                && Objects.equals(getPriority(), other.getPriority())
+                && isCompleted() == other.isCompleted()
+                && isImportant() == other.isImportant()
+                && Objects.equals(getListName(), other.getListName())
+                && Objects.equals(completedDate, other.completedDate)
+                && Objects.equals(getRecurrence(), other.getRecurrence());
+    }
+
+    // --- Getters / Setters / Properties (unchanged) ---
+    public String getTitle() { return title.get(); }
+    public void setTitle(String v) { title.set(v); }
+    public StringProperty titleProperty() { return title; }
+
+    public String getDescription() { return description.get(); }
+    public void setDescription(String v) { description.set(v); }
+    public StringProperty descriptionProperty() { return description; }
+
+    public LocalDate getDueDate() { return dueDate.get(); }
+    public void setDueDate(LocalDate v) { dueDate.set(v); }
+    public ObjectProperty<LocalDate> dueDateProperty() { return dueDate; }
+
+    public LocalTime getTime() { return time.get(); }
+    public void setTime(LocalTime v) { time.set(v); }
+    public ObjectProperty<LocalTime> timeProperty() { return time; }
+
+    public String getPriority() { return priority.get(); }
+    public void setPriority(String v) { priority.set(v); }
+    public StringProperty priorityProperty() { return priority; }
+
+    public boolean isCompleted() { return completed.get(); }
+    public void setCompleted(boolean v) { completed.set(v); }
+    public BooleanProperty completedProperty() { return completed; }
+
+    public boolean isImportant() { return important.get(); }
+    public void setImportant(boolean v) { important.set(v); }
+    public BooleanProperty importantProperty() { return important; }
+
+    // 4. Removed getTags/setTags
+    // Replaced with getListName/setListName
+
+    public String getListName() {
+        return listName.get();
+    }
+
+    public void setListName(String listName) {
+        this.listName.set(listName);
+    }
+
+    public StringProperty listNameProperty() { return listName; }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Recurrence getRecurrence() { return recurrence.get(); }
+    public void setRecurrence(Recurrence v) { recurrence.set(v); }
+    public ObjectProperty<Recurrence> recurrenceProperty() { return recurrence; }
+
+    @JsonIgnore
+    public boolean isRecurring() {
+        return getRecurrence() != null && getDueDate() != null;
+    }
+
+    /**
+     * @return the date the task is due on now: the due date, or for a recurring task the
+     *         earliest occurrence not done yet (null once the series has ended).
+     */
+    public LocalDate currentOccurrence() {
+        return isRecurring() ? getRecurrence().firstOpen(getDueDate()) : getDueDate();
+    }
+
+    /**
+     * Marks the current occurrence of a recurring task done; the task itself is completed
+     * only when that was the last occurrence. Completes a one-off task.
+     * @return the occurrence (or due date) that was completed.
+     */
+    public LocalDate completeOccurrence() {
+        LocalDate occurrence = currentOccurrence();
+        if (isRecurring()) {
+            if (occurrence == null) return null;
+            Recurrence next = getRecurrence().withDone(getDueDate(), occurrence, true);
+            setRecurrence(next);
+            if (next.firstOpen(getDueDate()) != null) return occurrence;
+        }
+        if (!isCompleted()) {
+            setCompletedDate(LocalDate.now());
+            setCompleted(true);
+        }
+        return occurrence;
+    }
+
+    /**
+     * Reverses completeOccurrence(): reopens the task and, if it recurs, the latest done
+     * occurrence.
+     */
+    public void reopenOccurrence() {
+        if (isRecurring()) {
+            LocalDate last = getRecurrence().lastDone(getDueDate());
+            if (last != null) setRecurrence(getRecurrence().withDone(getDueDate(), last, false));
+        }
+        if (isCompleted()) {
+            setCompletedDate(null);
+            setCompleted(false);
+        }
+    }
+
+    /**
+     * Properties that affect how a task is shown or filtered.
+     * Used as list extractor and by TaskListCell to update itself on change.
+     * Returns the same array every time (no allocation); callers must not modify it.
+     */
+    public Observable[] displayedProperties() {
+        return displayedProperties;
+    }
+
+    public LocalDate getCompletedDate() {
+        return completedDate;
+    }
+
+    /**
+     * Not a property: set it before completed, so observers of completedProperty() see both.
+     */
+    public void setCompletedDate(LocalDate completedDate) {
+        this.completedDate = completedDate;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mytodo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A task filter: navigation category plus optional list name and search text.
+ *
+ * Categories are the sidebar's: ALL, TODAY, IMPORTANT, PENDING, OVERDUE, FINISHED, and LIST
+ * (tasks of listName; all tasks if it is null). A task is overdue from its due date and time
+ * on, or from the end of its due date if it has no time (see dueAt). A recurring task is
+ * judged by its occurrences, computed only for the day or range asked about: it is due on a
+ * day it occurs and is not done for, and overdue from its earliest open occurrence on.
+ * The search text matches title or description,
+ * case-insensitively. Immutable and free of UI state, so the task list, the archive cursor
+ * and headless callers all filter the same way.
+ */
+public final class TaskQuery {
+
+    public static final TaskQuery ALL = new TaskQuery("ALL", null, "");
+
+    private final String filterType;
+    private final String listName;
+    // lower-case and trimmed
+    private final String searchText;
+
+    public TaskQuery(String filterType, String listName, String searchText) {
+        this.filterType = filterType == null ? "ALL" : filterType;
+        this.listName = listName;
+        this.searchText = searchText == null ? "" : searchText.toLowerCase().trim();
+    }
+
+    public String getFilterType() {
+        return filterType;
+    }
+
+    public String getListName() {
+        return listName;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public boolean matches(Task task) {
+        return matches(task, LocalDateTime.now());
+    }
+
+    /**
+     * @param now the time Today and Overdue are evaluated against.
+     */
+    public boolean matches(Task task, LocalDateTime now) {
+        return matchesFilter(task, now) && matchesSearch(task);
+    }
+
+    /**
+     * Evaluated at the start of the day: tasks due earlier that day are not overdue yet.
+     */
+    public boolean matches(Task task, LocalDate today) {
+        return matches(task, today.atStartOfDay());
+    }
+
+    /**
+     * Navigation filter only (no search text).
+     */
+    public boolean matchesFilter(Task task, LocalDateTime now) {
+        switch (filterType) {
+            case "TODAY":     return isDueOn(task, now.toLocalDate());
+            case "IMPORTANT": return task.isImportant();
+            case "FINISHED":  return task.isCompleted();
+            case "PENDING":   return !task.isCompleted();
+            case "OVERDUE":   return isOverdue(task, now);
+            case "LIST":
+                if (listName == null) return true;
+                return listName.equals(task.getListName());
+            case "ALL":
+            default:
+                return true;
+        }
+    }
+
+    public boolean matchesSearch(Task task) {
+        if (searchText.isEmpty()) return true;
+        String title = (task.getTitle() == null) ? "" : task.getTitle().toLowerCase();
+        String desc = (task.getDescription() == null) ? "" : task.getDescription().toLowerCase();
+        return title.contains(searchText) || desc.contains(searchText);
+    }
+
+    public static boolean isDueOn(Task task, LocalDate day) {
+        if (task.isRecurring()) {
+            Recurrence r = task.getRecurrence();
+            return r.occursOn(task.getDueDate(), day) && !r.isDone(day);
+        }
+        return task.getDueDate() != null && task.getDueDate().isEqual(day);
+    }
+
+    /**
+     * @return the days in [from, to] the task is due on and not done for: the occurrences of
+     *         a recurring task in that range, or the due date of a pending one-off task.
+     */
+    public static List<LocalDate> dueDaysBetween(Task task, LocalDate from, LocalDate to) {
+        if (task.isRecurring()) {
+            Recurrence r = task.getRecurrence();
+            return r.between(task.getDueDate(), from, to).stream().filter(d -> !r.isDone(d)).toList();
+        }
+        LocalDate due = task.getDueDate();
+        if (due == null || task.isCompleted() || due.isBefore(from) || due.isAfter(to)) return List.of();
+        return List.of(due);
+    }
+
+    /**
+     * @return when the task becomes overdue: its due date (for a recurring task, its
+     *         earliest open occurrence) at its time, or the start of the next day if it has
+     *         no time; null if it has no due date.
+     */
+    public static LocalDateTime dueAt(Task task) {
+        LocalDate due = task.currentOccurrence();
+        if (due == null) return null;
+        return task.getTime() != null ? due.atTime(task.getTime()) : due.plusDays(1).atStartOfDay();
+    }
+
+    public static boolean isOverdue(Task task, LocalDateTime now) {
+        if (task.isCompleted()) return false;
+        LocalDateTime dueAt = dueAt(task);
+        return dueAt != null && !now.isBefore(dueAt);
+    }
+
+    /**
+     * Overdue at the start of the given day (due on an earlier day).
+     */
+    public static boolean isOverdue(Task task, LocalDate today) {
+        return isOverdue(task, today.atStartOfDay());
+    }
+
+    @Override
+    public String toString() {
+        return filterType + (listName == null ? "" : "(" + listName + ")")
+                + (searchText.isEmpty() ? "" : " search='" + searchText + "'");
+    }
+}
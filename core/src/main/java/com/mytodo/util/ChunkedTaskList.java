@@ -0,0 +1,558 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Observable task list stored in chunks of at most MAX_CHUNK tasks.
+ *
+ * A Fenwick tree over the chunk sizes finds the chunk of a position in O(log n), so a
+ * positional insert or remove only shifts the tasks of one chunk instead of the whole
+ * array. Splitting or dropping a chunk rebuilds the tree (O(n / MAX_CHUNK)), which happens
+ * at most once every MIN_CHUNK changes. Sequential get() is O(1) (the last chunk is cached).
+ *
+ * Like observableArrayList(Task::displayedProperties), a change of a displayed property is
+ * reported as an update of that one task. Every task also remembers its chunk, so
+ * indexOf/remove(task) scan one chunk instead of the list; tasks are compared by identity
+ * (Task does not override equals). removeIf, removeAll, retainAll, setAll and addAll are
+ * done in one pass and fire one change event with compact ranges.
+ *
+ * Not thread-safe (FX thread, like the list it replaces).
+ */
+public class ChunkedTaskList extends ModifiableObservableListBase<Task> {
+
+    private static final int MAX_CHUNK = 512;
+    // Chunks smaller than this are merged into a neighbour when possible
+    private static final int MIN_CHUNK = MAX_CHUNK / 4;
+
+    private Chunk[] chunks = new Chunk[8];
+    private int chunkCount = 0;
+    // Fenwick tree (1-based) over chunk sizes
+    private int[] tree = new int[chunks.length + 1];
+    private int size = 0;
+
+    // Last chunk found by locate(), so sequential access skips the tree
+    private int cachedChunk = -1;
+    private int cachedStart;
+
+    // Task -> observer (its chunk + listener on the displayed properties)
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+
+    public ChunkedTaskList() {
+    }
+
+    public ChunkedTaskList(Collection<? extends Task> tasks) {
+        appendChunks(0, tasks);
+    }
+
+    // ---------------------------------------------------------------------
+    // List access
+    // ---------------------------------------------------------------------
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        int c = locate(index);
+        return chunks[c].items[index - cachedStart];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Entry e = o instanceof Task ? entries.get(o) : null;
+        if (e == null) return -1;
+        if (e.count > 1) return super.indexOf(o);
+        Chunk chunk = e.chunk;
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.items[i] == o) return prefix(chunk.ordinal) + i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Task && entries.containsKey(o);
+    }
+
+    // ---------------------------------------------------------------------
+    // Single-element changes (change events are fired by ModifiableObservableListBase)
+    // ---------------------------------------------------------------------
+
+    @Override
+    protected void doAdd(int index, Task task) {
+        Objects.checkIndex(index, size + 1);
+        int c;
+        int offset;
+        if (index == size) {
+            if (chunkCount == 0 || chunks[chunkCount - 1].size == MAX_CHUNK) {
+                insertChunk(chunkCount, new Chunk());
+                rebuildTree();
+            }
+            c = chunkCount - 1;
+            offset = chunks[c].size;
+        } else {
+            c = locate(index);
+            offset = index - cachedStart;
+        }
+
+        Chunk chunk = chunks[c];
+        if (chunk.size == MAX_CHUNK) {
+            split(c, MAX_CHUNK / 2);
+            rebuildTree();
+            if (offset > chunk.size) {
+                offset -= chunk.size;
+                c++;
+                chunk = chunks[c];
+            }
+        }
+        chunk.insert(offset, task);
+        addToTree(c, 1);
+        size++;
+        cachedChunk = -1;
+        track(task, chunk);
+    }
+
+    @Override
+    protected Task doSet(int index, Task task) {
+        Objects.checkIndex(index, size);
+        int c = locate(index);
+        Chunk chunk = chunks[c];
+        int offset = index - cachedStart;
+        Task old = chunk.items[offset];
+        chunk.items[offset] = task;
+        track(task, chunk);
+        untrack(old);
+        return old;
+    }
+
+    @Override
+    protected Task doRemove(int index) {
+        Objects.checkIndex(index, size);
+        int c = locate(index);
+        Chunk chunk = chunks[c];
+        Task old = chunk.remove(index - cachedStart);
+        size--;
+        cachedChunk = -1;
+
+        if (chunk.size == 0) {
+            removeChunk(c);
+            rebuildTree();
+        } else if (chunk.size < MIN_CHUNK && mergeWithNeighbour(c)) {
+            rebuildTree();
+        } else {
+            addToTree(c, -1);
+        }
+        untrack(old);
+        return old;
+    }
+
+    // ---------------------------------------------------------------------
+    // Bulk changes: one pass, one change event
+    // ---------------------------------------------------------------------
+
+    @Override
+    public void clear() {
+        if (size == 0) return;
+        beginChange();
+        try {
+            List<Task> removed = detachAll();
+            nextRemove(0, removed);
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends Task> tasks) {
+        List<Task> copy = new ArrayList<>(tasks);
+        beginChange();
+        try {
+            if (size > 0) nextRemove(0, detachAll());
+            appendChunks(0, copy);
+            if (size > 0) nextAdd(0, size);
+            modCount++;
+        } finally {
+            endChange();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Task> tasks) {
+        return addAll(size, tasks);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Task> tasks) {
+        Objects.checkIndex(index, size + 1);
+        if (tasks.isEmpty()) return false;
+        List<Task> copy = new ArrayList<>(tasks);
+        beginChange();
+        try {
+            int at = index == size ? chunkCount : splitAt(index);
+            appendChunks(at, copy);
+            nextAdd(index, index + copy.size());
+            modCount++;
+        } finally {
+            endChange();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        Objects.requireNonNull(filter);
+        // Test everything first, so a failing predicate leaves the list unchanged
+        BitSet doomed = new BitSet(size);
+        int index = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int i = 0; i < chunk.size; i++, index++) {
+                if (filter.test(chunk.items[i])) doomed.set(index);
+            }
+        }
+        if (doomed.isEmpty()) return false;
+
+        List<Task> removed = new ArrayList<>(doomed.cardinality());
+        beginChange();
+        try {
+            int kept = 0;
+            index = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                Chunk chunk = chunks[c];
+                int w = 0;
+                for (int i = 0; i < chunk.size; i++, index++) {
+                    Task t = chunk.items[i];
+                    if (doomed.get(index)) {
+                        nextRemove(kept, t);
+                        removed.add(t);
+                    } else {
+                        chunk.items[w++] = t;
+                        kept++;
+                    }
+                }
+                Arrays.fill(chunk.items, w, chunk.size, null);
+                chunk.size = w;
+            }
+            size = kept;
+            compactChunks();
+            for (Task t : removed) untrack(t);
+            modCount++;
+        } finally {
+            endChange();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> tasks) {
+        Set<?> set = tasks instanceof Set<?> s ? s : new HashSet<>(tasks);
+        return removeIf(set::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> tasks) {
+        Set<?> set = tasks instanceof Set<?> s ? s : new HashSet<>(tasks);
+        return removeIf(t -> !set.contains(t));
+    }
+
+    // ---------------------------------------------------------------------
+    // Chunks
+    // ---------------------------------------------------------------------
+
+    /**
+     * @return the chunk containing index (index &lt; size); sets cachedStart to its first index.
+     */
+    private int locate(int index) {
+        if (cachedChunk >= 0) {
+            int end = cachedStart + chunks[cachedChunk].size;
+            if (index >= cachedStart && index < end) return cachedChunk;
+            if (index == end && cachedChunk + 1 < chunkCount) {
+                cachedStart = end;
+                return ++cachedChunk;
+            }
+        }
+        // Largest chunk count whose total size is <= index
+        int pos = 0;
+        int rest = index;
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= chunkCount && tree[next] <= rest) {
+                pos = next;
+                rest -= tree[next];
+            }
+        }
+        cachedChunk = pos;
+        cachedStart = index - rest;
+        return pos;
+    }
+
+    /**
+     * Total size of the chunks before the given one.
+     */
+    private int prefix(int chunk) {
+        int sum = 0;
+        for (int i = chunk; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+
+    private void addToTree(int chunk, int delta) {
+        for (int i = chunk + 1; i <= chunkCount; i += i & -i) tree[i] += delta;
+    }
+
+    private void rebuildTree() {
+        if (tree.length < chunks.length + 1) tree = new int[chunks.length + 1];
+        else Arrays.fill(tree, 0);
+        for (int i = 1; i <= chunkCount; i++) {
+            Chunk chunk = chunks[i - 1];
+            chunk.ordinal = i - 1;
+            tree[i] += chunk.size;
+            int parent = i + (i & -i);
+            if (parent <= chunkCount) tree[parent] += tree[i];
+        }
+        cachedChunk = -1;
+    }
+
+    private void insertChunk(int at, Chunk chunk) {
+        if (chunkCount == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        System.arraycopy(chunks, at, chunks, at + 1, chunkCount - at);
+        chunks[at] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(chunks, at + 1, chunks, at, chunkCount - at - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    /**
+     * Moves the tasks from offset on into a new chunk after chunk c (tree not updated).
+     */
+    private void split(int c, int offset) {
+        Chunk chunk = chunks[c];
+        Chunk tail = new Chunk();
+        for (int i = offset; i < chunk.size; i++) tail.add(chunk.items[i]);
+        Arrays.fill(chunk.items, offset, chunk.size, null);
+        chunk.size = offset;
+        insertChunk(c + 1, tail);
+        tail.claim(entries);
+    }
+
+    /**
+     * Makes index the start of a chunk (tree not updated).
+     *
+     * @return that chunk's position.
+     */
+    private int splitAt(int index) {
+        int c = locate(index);
+        int offset = index - cachedStart;
+        if (offset == 0) return c;
+        split(c, offset);
+        return c + 1;
+    }
+
+    /**
+     * Merges the small chunk c into a neighbour if the result stays half full (tree not updated).
+     */
+    private boolean mergeWithNeighbour(int c) {
+        Chunk chunk = chunks[c];
+        if (c + 1 < chunkCount && chunk.size + chunks[c + 1].size <= MAX_CHUNK / 2) {
+            Chunk next = chunks[c + 1];
+            for (int i = 0; i < next.size; i++) chunk.add(next.items[i]);
+            removeChunk(c + 1);
+            chunk.claim(entries);
+            return true;
+        }
+        if (c > 0 && chunk.size + chunks[c - 1].size <= MAX_CHUNK / 2) {
+            Chunk prev = chunks[c - 1];
+            for (int i = 0; i < chunk.size; i++) prev.add(chunk.items[i]);
+            removeChunk(c);
+            prev.claim(entries);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drops empty chunks and merges small ones after a bulk removal, then rebuilds the tree.
+     */
+    private void compactChunks() {
+        int w = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            if (chunk.size == 0) continue;
+            if (w > 0 && chunk.size < MIN_CHUNK && chunks[w - 1].size + chunk.size <= MAX_CHUNK) {
+                Chunk prev = chunks[w - 1];
+                for (int i = 0; i < chunk.size; i++) prev.add(chunk.items[i]);
+                prev.claim(entries);
+                continue;
+            }
+            chunks[w++] = chunk;
+        }
+        Arrays.fill(chunks, w, chunkCount, null);
+        chunkCount = w;
+        rebuildTree();
+    }
+
+    /**
+     * Inserts the tasks as new, three-quarter full chunks at chunk position at and rebuilds the tree.
+     */
+    private void appendChunks(int at, Collection<? extends Task> tasks) {
+        int fill = MAX_CHUNK * 3 / 4;
+        Chunk chunk = null;
+        for (Task t : tasks) {
+            if (chunk == null || chunk.size == fill) {
+                chunk = new Chunk();
+                insertChunk(at++, chunk);
+            }
+            chunk.add(t);
+            track(t, chunk);
+            size++;
+        }
+        rebuildTree();
+    }
+
+    /**
+     * Empties the list (no change event).
+     *
+     * @return the removed tasks.
+     */
+    private List<Task> detachAll() {
+        List<Task> removed = new ArrayList<>(size);
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int i = 0; i < chunk.size; i++) removed.add(chunk.items[i]);
+        }
+        entries.values().forEach(Entry::stop);
+        entries.clear();
+        chunks = new Chunk[8];
+        chunkCount = 0;
+        size = 0;
+        rebuildTree();
+        return removed;
+    }
+
+    // ---------------------------------------------------------------------
+    // Element observation
+    // ---------------------------------------------------------------------
+
+    private void track(Task task, Chunk chunk) {
+        if (task == null) return;
+        Entry e = entries.get(task);
+        if (e == null) {
+            e = new Entry(task);
+            entries.put(task, e);
+        }
+        e.count++;
+        e.chunk = chunk;
+    }
+
+    private void untrack(Task task) {
+        if (task == null) return;
+        Entry e = entries.get(task);
+        if (e == null) return;
+        if (--e.count == 0) {
+            e.stop();
+            entries.remove(task);
+        } else if (e.count == 1) {
+            // The remaining copy may be in another chunk
+            for (int c = 0; c < chunkCount; c++) {
+                if (chunks[c].indexOf(task) >= 0) e.chunk = chunks[c];
+            }
+        }
+    }
+
+    /**
+     * Listens to the displayed properties of one task (possibly in the list more than once).
+     */
+    private final class Entry implements InvalidationListener {
+        private final Task task;
+        private final Observable[] observed;
+        private int count = 0;
+        private Chunk chunk;
+
+        Entry(Task task) {
+            this.task = task;
+            this.observed = task.displayedProperties();
+            for (Observable o : observed) o.addListener(this);
+        }
+
+        void stop() {
+            for (Observable o : observed) o.removeListener(this);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            beginChange();
+            if (count == 1) {
+                int i = indexOf(task);
+                if (i >= 0) nextUpdate(i);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (get(i) == task) nextUpdate(i);
+                }
+            }
+            endChange();
+        }
+    }
+
+    private static final class Chunk {
+        private Task[] items = new Task[16];
+        private int size = 0;
+        private int ordinal;
+
+        void add(Task t) {
+            insert(size, t);
+        }
+
+        void insert(int offset, Task t) {
+            if (size == items.length) items = Arrays.copyOf(items, Math.min(MAX_CHUNK, size * 2));
+            System.arraycopy(items, offset, items, offset + 1, size - offset);
+            items[offset] = t;
+            size++;
+        }
+
+        Task remove(int offset) {
+            Task old = items[offset];
+            System.arraycopy(items, offset + 1, items, offset, size - offset - 1);
+            items[--size] = null;
+            return old;
+        }
+
+        int indexOf(Task t) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == t) return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Points the entries of the single-copy tasks in this chunk at it.
+         */
+        void claim(Map<Task, Entry> entries) {
+            for (int i = 0; i < size; i++) {
+                Entry e = items[i] == null ? null : entries.get(items[i]);
+                if (e != null) e.chunk = this;
+            }
+        }
+    }
+}
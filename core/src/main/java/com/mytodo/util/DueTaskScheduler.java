@@ -0,0 +1,172 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import com.mytodo.TaskQuery;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fires when pending tasks of an observable list come due (become overdue, see
+ * {@link TaskQuery#dueAt}).
+ *
+ * Every accepted, not completed task with a due time still ahead has one timer in a
+ * {@link TimingWheel}. The list's change events keep the timers current: an added task is
+ * scheduled, a removed one cancelled, and an edited one (update event) rescheduled, each
+ * in O(1). A daemon thread sleeps until the wheel's next deadline and then runs the wheel on
+ * the owner executor (the thread that changes the list), so the wheel itself is only ever
+ * touched from that thread. onDue gets the tasks that came due, and an empty list when the
+ * day changes (Today and untimed tasks move at midnight).
+ *
+ * The thread wakes at least every MAX_SLEEP_MS, so a changed wall clock or a machine that
+ * was suspended is caught up within that time.
+ */
+public final class DueTaskScheduler {
+
+    private static final Log LOG = Log.get(DueTaskScheduler.class);
+    private static final long TICK_MS = 1000;
+    private static final long MAX_SLEEP_MS = 60_000;
+
+    private static final Metrics.Counter FIRED = Metrics.counter("due.fired");
+    // How long after its due time a task was reported (timer, thread hop and FX queue)
+    private static final Metrics.Histogram LATENESS = Metrics.histogram("due.lateness.ms");
+
+    private final ObservableList<Task> tasks;
+    private final Predicate<Task> filter;
+    private final Consumer<List<Task>> onDue;
+    private final Executor owner;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TimingWheel<Task> wheel = new TimingWheel<>(TICK_MS, System.currentTimeMillis());
+    private final Map<Task, TimingWheel.Timer<Task>> timers = new IdentityHashMap<>();
+    private final ListChangeListener<Task> listener = this::onListChanged;
+    private ScheduledExecutorService sleeper;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+    private LocalDate today = LocalDate.now();
+
+    /**
+     * @param filter tasks to watch (e.g. leaves out placeholder items).
+     * @param onDue  called on the owner executor.
+     * @param owner  runs work on the thread that changes the list (e.g. Platform::runLater).
+     */
+    public DueTaskScheduler(ObservableList<Task> tasks, Predicate<Task> filter,
+                            Consumer<List<Task>> onDue, Executor owner) {
+        this.tasks = tasks;
+        this.filter = filter;
+        this.onDue = onDue;
+        this.owner = owner;
+    }
+
+    /**
+     * Schedules the tasks in the list and follows its changes. Call on the owner thread.
+     */
+    public void start() {
+        if (sleeper != null) return;
+        sleeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "due-task-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        for (Task t : tasks) schedule(t);
+        tasks.addListener(listener);
+        LOG.debug(() -> "Due task timers: " + wheel.size());
+        arm();
+    }
+
+    public void stop() {
+        if (sleeper == null) return;
+        tasks.removeListener(listener);
+        sleeper.shutdownNow();
+        sleeper = null;
+        wakeUp = null;
+        wakeUpAt = Long.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of tasks waiting to come due.
+     */
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    private void onListChanged(ListChangeListener.Change<? extends Task> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) continue;
+            if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) schedule(tasks.get(i));
+                continue;
+            }
+            for (Task t : c.getRemoved()) cancel(t);
+            for (Task t : c.getAddedSubList()) schedule(t);
+        }
+        arm();
+    }
+
+    // (Re)schedules the task for its current due time, or drops its timer
+    private void schedule(Task t) {
+        cancel(t);
+        if (t == null || t.isCompleted() || !filter.test(t)) return;
+        LocalDateTime dueAt = TaskQuery.dueAt(t);
+        if (dueAt == null) return;
+        long deadline = dueAt.atZone(zone).toInstant().toEpochMilli();
+        if (deadline <= System.currentTimeMillis()) return;
+        timers.put(t, wheel.schedule(t, deadline));
+    }
+
+    private void cancel(Task t) {
+        TimingWheel.Timer<Task> timer = timers.remove(t);
+        if (timer != null) wheel.cancel(timer);
+    }
+
+    // Sleeps until the next deadline, the next midnight or MAX_SLEEP_MS, whichever is first
+    private void arm() {
+        if (sleeper == null) return;
+        long now = System.currentTimeMillis();
+        long midnight = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long at = Math.min(Math.min(wheel.nextDeadline(), midnight), now + MAX_SLEEP_MS);
+        if (wakeUp != null && wakeUpAt <= at) return;
+        if (wakeUp != null) wakeUp.cancel(false);
+        wakeUpAt = at;
+        wakeUp = sleeper.schedule(() -> owner.execute(this::onWakeUp), Math.max(0, at - now), TimeUnit.MILLISECONDS);
+    }
+
+    private void onWakeUp() {
+        if (sleeper == null) return;
+        wakeUp = null;
+        wakeUpAt = Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        List<Task> due = new ArrayList<>();
+        wheel.advance(now, t -> {
+            TimingWheel.Timer<Task> timer = timers.remove(t);
+            // Edits reschedule, so this is a safety net for a change that sent no event
+            if (TaskQuery.isOverdue(t, LocalDateTime.now())) {
+                due.add(t);
+                LATENESS.record(now - timer.deadline());
+            } else {
+                schedule(t);
+            }
+        });
+        LocalDate date = LocalDate.now();
+        boolean newDay = !date.equals(today);
+        today = date;
+        if (!due.isEmpty() || newDay) {
+            FIRED.add(due.size());
+            onDue.accept(due);
+        }
+        arm();
+    }
+}
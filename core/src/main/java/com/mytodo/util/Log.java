@@ -0,0 +1,110 @@
+package com.mytodo.util;
+
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small logging facade over {@link System.Logger}.
+ *
+ * The level threshold is checked here first, so a disabled debug call costs one volatile read:
+ * no message string is built (messages are passed as suppliers) and the backend is never reached.
+ * The level can be changed at runtime with setLevel(), or at startup with -Dmytodo.log.level=DEBUG.
+ * Default level: INFO (debug output off).
+ */
+public final class Log {
+
+    private static final String ROOT_LOGGER = "com.mytodo";
+    private static volatile System.Logger.Level threshold;
+
+    static {
+        // One line per record for the default java.util.logging console output
+        if (System.getProperty("java.util.logging.SimpleFormatter.format") == null) {
+            System.setProperty("java.util.logging.SimpleFormatter.format", "[%4$s] %5$s%6$s%n");
+        }
+        setLevel(parseLevel(System.getProperty("mytodo.log.level", "INFO")));
+    }
+
+    private final System.Logger logger;
+
+    private Log(String name) {
+        this.logger = System.getLogger(name);
+    }
+
+    public static Log get(Class<?> type) {
+        return new Log(type.getName());
+    }
+
+    /**
+     * Changes the level of every application logger at runtime.
+     */
+    public static void setLevel(System.Logger.Level level) {
+        threshold = level;
+        // Let the default backend (java.util.logging) pass the records through as well
+        Level julLevel = toJulLevel(level);
+        Logger.getLogger(ROOT_LOGGER).setLevel(julLevel);
+        for (Handler handler : Logger.getLogger("").getHandlers()) {
+            if (handler.getLevel().intValue() > julLevel.intValue()) {
+                handler.setLevel(julLevel);
+            }
+        }
+    }
+
+    public static System.Logger.Level getLevel() {
+        return threshold;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(System.Logger.Level.DEBUG);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(System.Logger.Level.DEBUG)) logger.log(System.Logger.Level.DEBUG, message);
+    }
+
+    public void info(String message) {
+        if (isEnabled(System.Logger.Level.INFO)) logger.log(System.Logger.Level.INFO, message);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(System.Logger.Level.INFO)) logger.log(System.Logger.Level.INFO, message);
+    }
+
+    public void warn(String message) {
+        if (isEnabled(System.Logger.Level.WARNING)) logger.log(System.Logger.Level.WARNING, message);
+    }
+
+    public void error(String message) {
+        if (isEnabled(System.Logger.Level.ERROR)) logger.log(System.Logger.Level.ERROR, message);
+    }
+
+    public void error(String message, Throwable error) {
+        if (isEnabled(System.Logger.Level.ERROR)) logger.log(System.Logger.Level.ERROR, message, error);
+    }
+
+    private static boolean isEnabled(System.Logger.Level level) {
+        return level.getSeverity() >= threshold.getSeverity();
+    }
+
+    private static System.Logger.Level parseLevel(String name) {
+        try {
+            return System.Logger.Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return System.Logger.Level.INFO;
+        }
+    }
+
+    private static Level toJulLevel(System.Logger.Level level) {
+        switch (level) {
+            case ALL:     return Level.ALL;
+            case TRACE:   return Level.FINER;
+            case DEBUG:   return Level.FINE;
+            case INFO:    return Level.INFO;
+            case WARNING: return Level.WARNING;
+            case ERROR:   return Level.SEVERE;
+            case OFF:
+            default:      return Level.OFF;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of counters and histograms.
+ *
+ * Recording is lock-free and allocation-free, so it can stay on in hot paths (filtering,
+ * cell updates). Values can be read as a JSON snapshot or through the JMX bean
+ * "com.mytodo:type=Metrics" (visible in JConsole / VisualVM).
+ *
+ * Naming: "area.what.unit", e.g. "applyFilters.time.us" or "saveTasks.bytes".
+ */
+public final class Metrics {
+
+    private static final Log LOG = Log.get(Metrics.class);
+
+    public static final String MBEAN_NAME = "com.mytodo:type=Metrics";
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Clears every recorded value (the metric handles stay valid).
+     */
+    public static void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * @return counters and histogram summaries, sorted by name (plain maps, ready for Jackson).
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> counterValues = new TreeMap<>();
+        counters.forEach((name, c) -> counterValues.put(name, c.get()));
+
+        Map<String, Object> histogramValues = new TreeMap<>();
+        histograms.forEach((name, h) -> histogramValues.put(name, h.summary()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", System.currentTimeMillis());
+        result.put("counters", counterValues);
+        result.put("histograms", histogramValues);
+        return result;
+    }
+
+    public static String snapshotJson() {
+        try {
+            return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(snapshot());
+        } catch (IOException e) {
+            return "{}";
+        }
+    }
+
+    public static void writeSnapshot(File file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, snapshot());
+    }
+
+    /**
+     * Registers the JMX bean once. Safe to call again.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MBean(), name);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to register metrics MBean", e);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Counter
+    // ---------------------------------------------------------------------
+
+    /**
+     * Monotonic event counter.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        void reset() {
+            value.reset();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Histogram
+    // ---------------------------------------------------------------------
+
+    /**
+     * HDR-style log-linear histogram of non-negative longs.
+     *
+     * Each power of two is split into 16 linear sub-buckets, so any recorded value is
+     * reported within ~6% of its true value over the whole long range, in a fixed
+     * array of 960 counters.
+     */
+    public static final class Histogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int BUCKETS = SUB_COUNT + (63 - SUB_BITS) * SUB_COUNT;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong(0);
+
+        public void record(long value) {
+            if (value < 0) value = 0;
+            counts.incrementAndGet(indexOf(value));
+            count.increment();
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        /**
+         * Records the time elapsed since startNanos (System.nanoTime()) in microseconds.
+         */
+        public void recordSince(long startNanos) {
+            record((System.nanoTime() - startNanos) / 1_000);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        public double getMean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * @param percentile 0..100
+         * @return highest value equivalent to the bucket holding the percentile, capped at max.
+         */
+        public long getPercentile(double percentile) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= target) {
+                    return Math.min(highestValueOf(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        public Map<String, Object> summary() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", getCount());
+            m.put("mean", Math.round(getMean() * 10) / 10.0);
+            m.put("p50", getPercentile(50));
+            m.put("p90", getPercentile(90));
+            m.put("p99", getPercentile(99));
+            m.put("max", getMax());
+            return m;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+
+        private static int indexOf(long value) {
+            if (value < SUB_COUNT) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) - SUB_COUNT;
+            return SUB_COUNT + (exponent - SUB_BITS) * SUB_COUNT + sub;
+        }
+
+        private static long highestValueOf(int index) {
+            if (index < SUB_COUNT) return index;
+            int exponent = (index - SUB_COUNT) / SUB_COUNT + SUB_BITS;
+            int sub = (index - SUB_COUNT) % SUB_COUNT;
+            long width = 1L << (exponent - SUB_BITS);
+            return (SUB_COUNT + sub) * width + width - 1;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // JMX
+    // ---------------------------------------------------------------------
+
+    /**
+     * JMX view of the registry. Histograms are flattened to "name.p50", "name.p99", ...
+     */
+    public interface MetricsMXBean {
+        Map<String, Long> getCounters();
+
+        Map<String, Long> getHistograms();
+
+        String getSnapshotJson();
+
+        void reset();
+    }
+
+    private static final class MBean implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> result = new TreeMap<>();
+            counters.forEach((name, c) -> result.put(name, c.get()));
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getHistograms() {
+            Map<String, Long> result = new TreeMap<>();
+            histograms.forEach((name, h) -> {
+                result.put(name + ".count", h.getCount());
+                result.put(name + ".p50", h.getPercentile(50));
+                result.put(name + ".p90", h.getPercentile(90));
+                result.put(name + ".p99", h.getPercentile(99));
+                result.put(name + ".max", h.getMax());
+            });
+            return result;
+        }
+
+        @Override
+        public String getSnapshotJson() {
+            return snapshotJson();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only, windowed ListView data source.
+ *
+ * Layout: [head items] [paged items] [tail item]
+ *  - head: a live ObservableList (e.g. the filtered in-memory tasks); its changes are forwarded
+ *    as they are, so an edit only updates the cells it touches
+ *  - paged items: pulled from a {@link PageSource} one page at a time; only the pages the
+ *    ListView actually asks for (visible window) plus their neighbours (prefetch) are materialized,
+ *    and at most maxCachedPages are kept in memory. Pages of the rows on screen
+ *    (setVisibleRange) are never evicted, so the cells keep showing the task objects that
+ *    get() returns and edits reach the archive's copy
+ *  - tail: an optional fixed last item (the spacer)
+ *
+ * The size is known up front from the page table, so the ListView scrollbar is exact.
+ */
+public class PagedTaskList extends ObservableListBase<Task> {
+
+    /**
+     * A store that can hand out tasks page by page.
+     */
+    public interface PageSource {
+        int getPageCount();
+
+        int getPageTaskCount(int page);
+
+        /**
+         * Called on the FX thread (cache miss) and on the prefetch thread, possibly at the
+         * same time: a read should not wait for another read to finish.
+         */
+        List<Task> readPageAt(int page);
+
+        /** Called when a page is dropped from the cache. */
+        default void pageEvicted(List<Task> tasks) {
+        }
+    }
+
+    private static final ExecutorService PREFETCH = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "task-page-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ObservableList<Task> head;
+    private final PageSource source;
+    private final Task tail;
+    private final int maxCachedPages;
+
+    private int[] pageStarts = new int[0]; // first paged index of every page
+    private int pagedSize = 0;
+
+    // page index -> tasks, in access order (LRU)
+    private final Map<Integer, List<Task>> cache;
+    private final Set<Integer> prefetching = new HashSet<>();
+    // bumped by invalidate(), so a prefetch started before it is discarded
+    private int generation = 0;
+    // pages of the rows on screen, kept in the cache (-1 = none)
+    private int pinnedFirstPage = -1;
+    private int pinnedLastPage = -1;
+
+    // The head is a prefix of this list: its changes are forwarded with the same indices
+    private final ListChangeListener<Task> headListener = c -> {
+        beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                int[] permutation = new int[c.getTo() - c.getFrom()];
+                for (int i = c.getFrom(); i < c.getTo(); i++) permutation[i - c.getFrom()] = c.getPermutation(i);
+                nextPermutation(c.getFrom(), c.getTo(), permutation);
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) nextUpdate(i);
+            } else {
+                if (c.wasRemoved()) nextRemove(c.getFrom(), c.getRemoved());
+                if (c.wasAdded()) nextAdd(c.getFrom(), c.getTo());
+            }
+        }
+        endChange();
+    };
+
+    public PagedTaskList(ObservableList<Task> head, PageSource source, Task tail, int maxCachedPages) {
+        this.head = head;
+        this.source = source;
+        this.tail = tail;
+        this.maxCachedPages = Math.max(2, maxCachedPages);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        buildPageTable();
+        head.addListener(headListener);
+    }
+
+    @Override
+    public Task get(int index) {
+        int headSize = head.size();
+        if (index < headSize) {
+            return head.get(index);
+        }
+        int pagedIndex = index - headSize;
+        if (pagedIndex < pagedSize) {
+            int page = pageOf(pagedIndex);
+            List<Task> tasks = page(page);
+            prefetch(page + 1);
+            prefetch(page - 1);
+            int offset = pagedIndex - pageStarts[page];
+            return offset < tasks.size() ? tasks.get(offset) : null;
+        }
+        if (tail != null && pagedIndex == pagedSize) {
+            return tail;
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+
+    @Override
+    public int size() {
+        return head.size() + pagedSize + tailSize();
+    }
+
+    /**
+     * Tells which list positions are on screen (inclusive; from &gt; to = none). Their pages
+     * stay cached until the next call, even when more than maxCachedPages are in use.
+     * Call on the FX thread, e.g. after every layout pass.
+     */
+    public void setVisibleRange(int from, int to) {
+        int first = -1;
+        int last = -1;
+        int headSize = head.size();
+        int pagedFrom = Math.max(from - headSize, 0);
+        int pagedTo = Math.min(to - headSize, pagedSize - 1);
+        if (pagedFrom <= pagedTo) {
+            first = pageOf(pagedFrom);
+            last = pageOf(pagedTo);
+        }
+        synchronized (cache) {
+            pinnedFirstPage = first;
+            pinnedLastPage = last;
+            trim();
+        }
+    }
+
+    /**
+     * Re-reads the page table (after the source changed) and drops every cached page.
+     */
+    public void invalidate() {
+        int oldSize = size();
+        synchronized (cache) {
+            for (List<Task> tasks : cache.values()) {
+                source.pageEvicted(tasks);
+            }
+            cache.clear();
+            prefetching.clear();
+            generation++;
+            // Page numbers change; the next setVisibleRange() pins again
+            pinnedFirstPage = -1;
+            pinnedLastPage = -1;
+        }
+        buildPageTable();
+        fireReset(oldSize);
+    }
+
+    /**
+     * Detaches from the head list and releases cached pages. The list must not be used afterwards.
+     */
+    public void dispose() {
+        head.removeListener(headListener);
+        synchronized (cache) {
+            for (List<Task> tasks : cache.values()) {
+                source.pageEvicted(tasks);
+            }
+            cache.clear();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private int tailSize() {
+        return tail == null ? 0 : 1;
+    }
+
+    private void buildPageTable() {
+        int pageCount = source.getPageCount();
+        pageStarts = new int[pageCount];
+        int total = 0;
+        for (int p = 0; p < pageCount; p++) {
+            pageStarts[p] = total;
+            total += source.getPageTaskCount(p);
+        }
+        pagedSize = total;
+    }
+
+    private int pageOf(int pagedIndex) {
+        int pos = Arrays.binarySearch(pageStarts, pagedIndex);
+        if (pos >= 0) {
+            // Skip empty pages that share the same start
+            while (pos + 1 < pageStarts.length && pageStarts[pos + 1] == pagedIndex) pos++;
+            return pos;
+        }
+        return -pos - 2;
+    }
+
+    private List<Task> page(int page) {
+        synchronized (cache) {
+            List<Task> tasks = cache.get(page);
+            if (tasks != null) return tasks;
+        }
+        // Cache miss on the FX thread: read synchronously (one page only)
+        List<Task> tasks = source.readPageAt(page);
+        synchronized (cache) {
+            cache.put(page, tasks);
+            trim();
+        }
+        return tasks;
+    }
+
+    private void prefetch(int page) {
+        if (page < 0 || page >= pageStarts.length) return;
+        int startedAt;
+        synchronized (cache) {
+            if (cache.containsKey(page) || !prefetching.add(page)) return;
+            startedAt = generation;
+        }
+        PREFETCH.execute(() -> {
+            List<Task> tasks = source.readPageAt(page);
+            synchronized (cache) {
+                if (startedAt == generation) prefetching.remove(page);
+                if (startedAt == generation && !cache.containsKey(page)) {
+                    cache.put(page, tasks);
+                    trim();
+                } else {
+                    source.pageEvicted(tasks);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts least recently used pages beyond maxCachedPages, skipping pinned ones.
+     * Caller holds the cache lock.
+     */
+    private void trim() {
+        Iterator<Map.Entry<Integer, List<Task>>> it = cache.entrySet().iterator();
+        while (cache.size() > maxCachedPages && it.hasNext()) {
+            Map.Entry<Integer, List<Task>> eldest = it.next();
+            int page = eldest.getKey();
+            if (page >= pinnedFirstPage && page <= pinnedLastPage) continue;
+            it.remove();
+            source.pageEvicted(eldest.getValue());
+        }
+    }
+
+    private void fireReset(int oldSize) {
+        beginChange();
+        // Removed items are not materialized: only the count matters to the ListView
+        if (oldSize > 0) nextRemove(0, Collections.nCopies(oldSize, (Task) null));
+        if (size() > 0) nextAdd(0, size());
+        endChange();
+    }
+}
@@ -0,0 +1,52 @@
+package com.mytodo.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records named startup phases and logs a timing breakdown.
+ * Each mark stores the time since JVM start; the report shows the delta to the previous mark.
+ */
+public final class StartupProfiler {
+
+    private static final Log LOG = Log.get(StartupProfiler.class);
+
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+    private static boolean reported = false;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Records the end of a startup phase. Only the first mark of a phase is kept.
+     */
+    public static synchronized void mark(String phase) {
+        marks.putIfAbsent(phase, System.currentTimeMillis() - JVM_START_MILLIS);
+    }
+
+    /**
+     * @return milliseconds since JVM start at which the phase ended, or -1 if not recorded.
+     */
+    public static synchronized long get(String phase) {
+        Long at = marks.get(phase);
+        return at == null ? -1 : at;
+    }
+
+    /**
+     * Logs the breakdown once (INFO), when the last phase has been recorded.
+     */
+    public static synchronized void report() {
+        if (reported) return;
+        reported = true;
+
+        long previous = 0;
+        StringBuilder sb = new StringBuilder("[STARTUP] Timing breakdown (ms since JVM start):");
+        for (Map.Entry<String, Long> e : marks.entrySet()) {
+            sb.append(String.format("%n[STARTUP]   %-16s at %6d  (+%d)", e.getKey(), e.getValue(), e.getValue() - previous));
+            previous = e.getValue();
+        }
+        LOG.info(sb.toString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Primary-key index (task id -> task) over an observable task list.
+ *
+ * The index follows the list through a change listener, so every add/remove of the list
+ * is mirrored in O(1) per task. Tasks with id 0 (the list's spacer item) are not indexed.
+ * Per-task caches keyed by id register a remove listener to drop their entries.
+ */
+public class TaskIndex {
+
+    private final Map<Long, Task> byId = new HashMap<>();
+    private final List<LongConsumer> removeListeners = new ArrayList<>();
+
+    public TaskIndex(ObservableList<Task> tasks) {
+        for (Task t : tasks) put(t);
+        tasks.addListener((ListChangeListener<Task>) c -> {
+            List<Long> removed = null;
+            while (c.next()) {
+                if (c.wasPermutated() || c.wasUpdated()) continue;
+                for (Task t : c.getRemoved()) {
+                    // Only drop the entry if it still points to this task
+                    if (t != null && t.getId() > 0 && byId.remove(t.getId(), t)) {
+                        if (removed == null) removed = new ArrayList<>();
+                        removed.add(t.getId());
+                    }
+                }
+                for (Task t : c.getAddedSubList()) put(t);
+            }
+            // A task removed and added back in the same change (moved) has not left the list
+            if (removed != null && !removeListeners.isEmpty()) {
+                for (long id : removed) {
+                    if (!byId.containsKey(id)) removeListeners.forEach(l -> l.accept(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * @param listener called with the id of every task that left the list, after the change
+     */
+    public void addRemoveListener(LongConsumer listener) {
+        removeListeners.add(listener);
+    }
+
+    public Task get(long id) {
+        return byId.get(id);
+    }
+
+    public boolean contains(Task task) {
+        return task != null && task.getId() > 0 && byId.get(task.getId()) == task;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void put(Task t) {
+        if (t != null && t.getId() > 0) byId.put(t.getId(), t);
+    }
+}
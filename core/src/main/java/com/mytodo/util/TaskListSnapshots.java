@@ -0,0 +1,76 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Publishes an observable task list as versioned snapshots, for readers on other threads.
+ *
+ * The list's owner thread (the FX thread in the app) stays the only writer: every change
+ * event of the list is committed right away as one transaction, with frozen copies of the
+ * added or updated tasks. Anything handed to a background worker should come from
+ * snapshot(), never from the live list.
+ *
+ * Only tasks accepted by the filter (and with an id) are published. A task whose filter
+ * result changes without a list event must be passed to refresh().
+ */
+public class TaskListSnapshots {
+
+    private final VersionedTaskStore store = new VersionedTaskStore();
+    private final Predicate<Task> filter;
+
+    public TaskListSnapshots(ObservableList<Task> tasks, Predicate<Task> filter) {
+        this.filter = filter;
+        store.commit(tx -> {
+            for (Task t : tasks) publish(tx, t);
+            return null;
+        });
+        tasks.addListener((ListChangeListener<Task>) c -> store.commit(tx -> {
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) {
+                    List<? extends Task> list = c.getList();
+                    for (int i = c.getFrom(); i < c.getTo(); i++) publish(tx, list.get(i));
+                    continue;
+                }
+                for (Task t : c.getRemoved()) {
+                    // Removed before added: a task that moved within the change is put back
+                    if (t != null && t.getId() > 0) tx.remove(t.getId());
+                }
+                for (Task t : c.getAddedSubList()) publish(tx, t);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * @return the latest published state of the list.
+     */
+    public TaskSnapshot snapshot() {
+        return store.snapshot();
+    }
+
+    public VersionedTaskStore getStore() {
+        return store;
+    }
+
+    /**
+     * Re-evaluates the filter for a task that is in the list.
+     */
+    public void refresh(Task task) {
+        store.commit(tx -> {
+            publish(tx, task);
+            return null;
+        });
+    }
+
+    private void publish(VersionedTaskStore.Transaction tx, Task t) {
+        if (t == null || t.getId() <= 0) return;
+        if (filter.test(t)) tx.put(t.copy());
+        else tx.remove(t.getId());
+    }
+}
@@ -0,0 +1,289 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, versioned point-in-time view of a task set, keyed by task id.
+ *
+ * Backed by a persistent 32-way trie over the id bits: a commit copies only the path to each
+ * changed task (a few 32-slot arrays), everything else is shared with the previous snapshot.
+ * Any thread may read a snapshot without locking, for as long as it likes.
+ *
+ * Tasks in a snapshot are frozen: they are never modified once committed, and callers must
+ * not modify them either. Iteration is in id order (creation order).
+ */
+public final class TaskSnapshot extends AbstractCollection<Task> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final TaskSnapshot EMPTY = new TaskSnapshot(0, null, 0, 0);
+
+    private final long version;
+    private final Node root;
+    // Bit offset of the root level; the leaf level is 0
+    private final int shift;
+    private final int size;
+
+    private TaskSnapshot(long version, Node root, int shift, int size) {
+        this.version = version;
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * @return the commit this snapshot was published by (0 = nothing committed yet).
+     */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the task with the given id, or null (O(log32 id)).
+     */
+    public Task get(long id) {
+        return get(root, shift, id);
+    }
+
+    private static Task get(Node root, int shift, long id) {
+        if (id <= 0 || id >= capacity(shift)) return null;
+        Node node = root;
+        for (int level = shift; node != null; level -= BITS) {
+            Object slot = node.slots[(int) (id >>> level) & MASK];
+            if (level == 0) return (Task) slot;
+            node = (Node) slot;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Task t && get(t.getId()) == t;
+    }
+
+    /**
+     * @return the tasks accepted by the filter, in id order.
+     */
+    public List<Task> find(Predicate<Task> filter) {
+        List<Task> result = new ArrayList<>();
+        forEach(t -> {
+            if (filter.test(t)) result.add(t);
+        });
+        return result;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        if (root != null) forEach(root, shift, action);
+    }
+
+    private static void forEach(Node node, int level, Consumer<? super Task> action) {
+        for (Object slot : node.slots) {
+            if (slot == null) continue;
+            if (level == 0) action.accept((Task) slot);
+            else forEach((Node) slot, level - BITS, action);
+        }
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            // Path from the root to the current leaf: node and next slot index per level
+            private final Node[] nodes = new Node[shift / BITS + 1];
+            private final int[] positions = new int[nodes.length];
+            private int depth = root == null ? -1 : 0;
+            private Task next;
+
+            {
+                if (root != null) nodes[0] = root;
+                advance();
+            }
+
+            private void advance() {
+                next = null;
+                while (depth >= 0) {
+                    Node node = nodes[depth];
+                    int i = positions[depth];
+                    if (i == WIDTH) {
+                        depth--;
+                        continue;
+                    }
+                    positions[depth] = i + 1;
+                    Object slot = node.slots[i];
+                    if (slot == null) continue;
+                    if (depth == nodes.length - 1) {
+                        next = (Task) slot;
+                        return;
+                    }
+                    depth++;
+                    nodes[depth] = (Node) slot;
+                    positions[depth] = 0;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (next == null) throw new NoSuchElementException();
+                Task t = next;
+                advance();
+                return t;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSnapshot[version=" + version + ", size=" + size + "]";
+    }
+
+    /**
+     * Editor for the next snapshot, starting from this one. Not thread-safe; used by
+     * {@link VersionedTaskStore} under its writer lock.
+     */
+    Editor edit() {
+        return new Editor(this);
+    }
+
+    private static long capacity(int shift) {
+        return shift + BITS >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << (shift + BITS);
+    }
+
+    // ---------------------------------------------------------------------
+    // Trie
+    // ---------------------------------------------------------------------
+
+    private static final class Node {
+        // Editor that created the node: only it may change the node in place
+        final Object owner;
+        final Object[] slots;
+        int count;
+
+        Node(Object owner) {
+            this.owner = owner;
+            this.slots = new Object[WIDTH];
+        }
+
+        Node(Object owner, Node source) {
+            this.owner = owner;
+            this.slots = source.slots.clone();
+            this.count = source.count;
+        }
+    }
+
+    /**
+     * Builds the next snapshot. Nodes created by the editor are changed in place (a bulk
+     * change of n tasks allocates about n / 32 leaves, not n paths); nodes of the base
+     * snapshot are copied on first write and never modified.
+     */
+    static final class Editor {
+        private Object owner = new Object();
+        private Node root;
+        private int shift;
+        private int size;
+
+        private Editor(TaskSnapshot base) {
+            root = base.root;
+            shift = base.shift;
+            size = base.size;
+        }
+
+        Task get(long id) {
+            return TaskSnapshot.get(root, shift, id);
+        }
+
+        /**
+         * @return the task it replaced, or null.
+         */
+        Task put(Task task) {
+            checkOpen();
+            long id = task.getId();
+            if (id <= 0) throw new IllegalArgumentException("Task has no id: " + task.getTitle());
+            while (id >= capacity(shift)) {
+                Node grown = new Node(owner);
+                if (root != null) {
+                    grown.slots[0] = root;
+                    grown.count = 1;
+                }
+                root = grown;
+                shift += BITS;
+            }
+            Task[] replaced = new Task[1];
+            root = put(root, shift, id, task, replaced);
+            if (replaced[0] == null) size++;
+            return replaced[0];
+        }
+
+        private Node put(Node node, int level, long id, Task task, Task[] replaced) {
+            Node n = node == null ? new Node(owner) : editable(node);
+            int i = (int) (id >>> level) & MASK;
+            Object slot = n.slots[i];
+            if (level == 0) {
+                replaced[0] = (Task) slot;
+                n.slots[i] = task;
+            } else {
+                n.slots[i] = put((Node) slot, level - BITS, id, task, replaced);
+            }
+            if (slot == null) n.count++;
+            return n;
+        }
+
+        /**
+         * @return the removed task, or null if there was none with that id.
+         */
+        Task remove(long id) {
+            checkOpen();
+            Task old = get(id);
+            if (old == null) return null;
+            root = remove(root, shift, id);
+            size--;
+            return old;
+        }
+
+        // Only called for ids that are present; drops nodes that become empty
+        private Node remove(Node node, int level, long id) {
+            Node n = editable(node);
+            int i = (int) (id >>> level) & MASK;
+            Object slot = level == 0 ? null : remove((Node) n.slots[i], level - BITS, id);
+            n.slots[i] = slot;
+            if (slot == null) n.count--;
+            return n.count == 0 ? null : n;
+        }
+
+        /**
+         * Freezes the edited trie as a snapshot. The editor cannot be used afterwards.
+         */
+        TaskSnapshot publish(long version) {
+            checkOpen();
+            owner = null;
+            return new TaskSnapshot(version, root, shift, size);
+        }
+
+        private Node editable(Node node) {
+            return node.owner == owner ? node : new Node(owner, node);
+        }
+
+        private void checkOpen() {
+            if (owner == null) throw new IllegalStateException("Snapshot already published");
+        }
+    }
+}
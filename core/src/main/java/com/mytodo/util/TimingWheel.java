@@ -0,0 +1,215 @@
+package com.mytodo.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: timers with O(1) schedule and cancel, fired in ticks.
+ *
+ * LEVELS wheels of 64 slots; level k holds timers due within 64^(k+1) ticks. A timer is put
+ * on the level of the highest 6-bit group in which its deadline differs from the current
+ * tick, and moved down a level when the clock reaches the start of its slot (cascading), so
+ * it is moved at most LEVELS times before it fires. Each slot is a doubly linked list, so
+ * cancelling unlinks in O(1). An occupancy bitmap per level lets advance() jump over empty
+ * slots, and nextDeadline() tells the caller how long it can sleep.
+ *
+ * Deadlines are rounded up to whole ticks: a timer never fires early, and fires in the
+ * first advance() at or after its deadline. Not thread-safe: use from one thread.
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = 6;
+    // Deadlines further out than the wheels reach (64^6 ticks) are clamped to it
+    private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+    private static final int READY = -1;
+
+    private final long tickMillis;
+    private final Timer<T>[][] slots;
+    private final long[] occupied = new long[LEVELS];
+    // Deadline already passed when scheduled or cascaded: fired by the next advance()
+    private Timer<T> ready;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.slots = newSlots();
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    // A Timer<T>[][] cannot be created directly. Safe: the array never leaves this wheel
+    // and only holds timers scheduled on it.
+    @SuppressWarnings("unchecked")
+    private static <T> Timer<T>[][] newSlots() {
+        return (Timer<T>[][]) new Timer<?>[LEVELS][SLOTS];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a handle for cancel().
+     */
+    public Timer<T> schedule(T item, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(item, deadlineMillis, Math.ceilDiv(deadlineMillis, tickMillis));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Removes the timer if it has not fired yet.
+     * @return false if it already fired or was cancelled.
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.owner != this) return false;
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock to nowMillis and passes every timer due by then to expired, once.
+     * @return the number of timers fired.
+     */
+    public int advance(long nowMillis, Consumer<? super T> expired) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        int fired = fireReady(expired);
+        while (currentTick < target) {
+            long next = nextTick();
+            if (next > target) {
+                // Nothing to cascade or fire before target: jump
+                currentTick = target;
+                break;
+            }
+            currentTick = next;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (BITS * level)) & (SLOTS - 1));
+                }
+            }
+            cascade(0, (int) currentTick & (SLOTS - 1));
+            fired += fireReady(expired);
+        }
+        return fired;
+    }
+
+    /**
+     * @return time of the next tick at which advance() has work (a timer fires or moves
+     *         down a level), or Long.MAX_VALUE if no timer is scheduled. Never later than
+     *         the earliest deadline.
+     */
+    public long nextDeadline() {
+        if (ready != null) return currentTick * tickMillis;
+        long next = nextTick();
+        return next == Long.MAX_VALUE ? next : next * tickMillis;
+    }
+
+    private long nextTick() {
+        if (ready != null) return currentTick;
+        long best = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] == 0) continue;
+            int shift = BITS * level;
+            int current = (int) (currentTick >>> shift) & (SLOTS - 1);
+            // Timers on a level are always ahead of its hand (see place())
+            long ahead = current == SLOTS - 1 ? 0 : occupied[level] & (-1L << (current + 1));
+            if (ahead == 0) continue;
+            int slot = Long.numberOfTrailingZeros(ahead);
+            long tick = ((currentTick >>> (shift + BITS)) << (shift + BITS)) | ((long) slot << shift);
+            best = Math.min(best, tick);
+        }
+        return best;
+    }
+
+    private void place(Timer<T> timer) {
+        timer.owner = this;
+        if (timer.deadlineTick <= currentTick) {
+            timer.level = READY;
+            timer.next = ready;
+            if (ready != null) ready.prev = timer;
+            timer.prev = null;
+            ready = timer;
+            return;
+        }
+        long deadline = Math.min(timer.deadlineTick, currentTick + MAX_DELTA);
+        int level = (63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / BITS;
+        int slot = (int) (deadline >>> (BITS * level)) & (SLOTS - 1);
+        timer.level = level;
+        timer.slot = slot;
+        Timer<T> head = slots[level][slot];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) head.prev = timer;
+        slots[level][slot] = timer;
+        occupied[level] |= 1L << slot;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else if (timer.level == READY) {
+            ready = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) occupied[timer.level] &= ~(1L << timer.slot);
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = timer.next = null;
+        timer.owner = null;
+    }
+
+    // Re-places every timer of the slot: lower down, or on the ready list if due
+    private void cascade(int level, int slot) {
+        Timer<T> t = slots[level][slot];
+        if (t == null) return;
+        slots[level][slot] = null;
+        occupied[level] &= ~(1L << slot);
+        while (t != null) {
+            Timer<T> next = t.next;
+            place(t);
+            t = next;
+        }
+    }
+
+    private int fireReady(Consumer<? super T> expired) {
+        int fired = 0;
+        while (ready != null) {
+            Timer<T> t = ready;
+            unlink(t);
+            size--;
+            fired++;
+            expired.accept(t.item);
+        }
+        return fired;
+    }
+
+    /**
+     * A scheduled timer.
+     */
+    public static final class Timer<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private TimingWheel<T> owner;
+        private int level, slot;
+        private Timer<T> prev, next;
+
+        private Timer(T item, long deadlineMillis, long deadlineTick) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() { return item; }
+        public long deadline() { return deadlineMillis; }
+
+        /**
+         * @return true until the timer fires or is cancelled.
+         */
+        public boolean isScheduled() { return owner != null; }
+    }
+}
@@ -0,0 +1,144 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single-writer task store with lock-free snapshot reads.
+ *
+ * Writers change tasks in transactions, one at a time: commit() holds the writer lock while
+ * the transaction runs and then publishes a new immutable {@link TaskSnapshot} with the next
+ * version. Readers call snapshot() and get a consistent point-in-time view without taking any
+ * lock; a reader never sees part of a commit, and snapshots it reads one after another never
+ * go back in version.
+ *
+ * Listeners are told about every commit, in version order, on the committing thread (still
+ * holding the writer lock, so they must be quick and must not commit).
+ */
+public class VersionedTaskStore {
+
+    private static final Metrics.Histogram COMMIT_TIME = Metrics.histogram("snapshot.commit.us");
+    private static final Metrics.Histogram COMMIT_SIZE = Metrics.histogram("snapshot.commit.tasks");
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Consumer<Commit>> listeners = new CopyOnWriteArrayList<>();
+    private volatile TaskSnapshot current = TaskSnapshot.EMPTY;
+
+    /**
+     * @return the latest committed state (never null).
+     */
+    public TaskSnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Runs the changes as one transaction and publishes them as one new snapshot.
+     * A transaction that changes nothing publishes nothing. If it throws, nothing it did
+     * is published.
+     *
+     * @return whatever the changes function returned.
+     */
+    public <T> T commit(Function<Transaction, T> changes) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            TaskSnapshot before = current;
+            Transaction tx = new Transaction(before);
+            T result = changes.apply(tx);
+            if (tx.changed.isEmpty()) return result;
+
+            TaskSnapshot after = tx.editor.publish(before.version() + 1);
+            current = after;
+            COMMIT_TIME.recordSince(start);
+            COMMIT_SIZE.record(tx.changed.size());
+            if (!listeners.isEmpty()) {
+                Commit commit = new Commit(before, after, tx.changed);
+                for (Consumer<Commit> listener : listeners) listener.accept(commit);
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void addListener(Consumer<Commit> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Commit> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Changes of one commit. Tasks put into a transaction become part of the snapshot as they
+     * are: the caller hands them over and must not modify them afterwards (put a copy of a
+     * task that is still being edited).
+     */
+    public static final class Transaction {
+        private final TaskSnapshot base;
+        private final TaskSnapshot.Editor editor;
+        private final Set<Long> changed = new LinkedHashSet<>();
+
+        private Transaction(TaskSnapshot base) {
+            this.base = base;
+            this.editor = base.edit();
+        }
+
+        /**
+         * @return the state before this transaction.
+         */
+        public TaskSnapshot base() {
+            return base;
+        }
+
+        /**
+         * @return the task with this id including this transaction's changes, or null.
+         */
+        public Task get(long id) {
+            return editor.get(id);
+        }
+
+        /**
+         * Adds the task, or replaces the task with the same id.
+         */
+        public void put(Task task) {
+            if (editor.put(task) != task) changed.add(task.getId());
+        }
+
+        /**
+         * @return false if there was no task with that id.
+         */
+        public boolean remove(long id) {
+            if (editor.remove(id) == null) return false;
+            changed.add(id);
+            return true;
+        }
+    }
+
+    /**
+     * One published commit: the snapshots before and after it and the ids it touched.
+     */
+    public static final class Commit {
+        private final TaskSnapshot before;
+        private final TaskSnapshot after;
+        private final Set<Long> changedIds;
+
+        private Commit(TaskSnapshot before, TaskSnapshot after, Set<Long> changedIds) {
+            this.before = before;
+            this.after = after;
+            this.changedIds = changedIds;
+        }
+
+        public TaskSnapshot getBefore() { return before; }
+        public TaskSnapshot getAfter() { return after; }
+        public long getVersion() { return after.version(); }
+        public Set<Long> getChangedIds() { return changedIds; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mytodo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Test
+    void overdueFromDueTimeOrEndOfDueDate() {
+        Task timed = new Task("call", "", DAY, LocalTime.of(14, 0), "Medium");
+        Task allDay = new Task("pay", "", DAY, null, "Medium");
+
+        assertFalse(TaskQuery.isOverdue(timed, DAY.atTime(13, 59)));
+        assertTrue(TaskQuery.isOverdue(timed, DAY.atTime(14, 0)));
+        assertFalse(TaskQuery.isOverdue(allDay, DAY.atTime(23, 59)));
+        assertTrue(TaskQuery.isOverdue(allDay, DAY.plusDays(1)));
+
+        timed.setCompleted(true);
+        assertFalse(TaskQuery.isOverdue(timed, DAY.plusDays(1)));
+    }
+
+    @Test
+    void filtersBySidebarCategoryAndSearchText() {
+        Task task = new Task("Buy Milk", "at the corner shop", DAY, null, "High");
+        task.setListName("Errands");
+        LocalDateTime now = DAY.atTime(9, 0);
+
+        assertTrue(new TaskQuery("TODAY", null, "").matches(task, now));
+        assertFalse(new TaskQuery("TODAY", null, "").matches(task, now.plusDays(1)));
+        assertTrue(new TaskQuery("LIST", "Errands", " milk ").matches(task, now));
+        assertTrue(new TaskQuery("ALL", null, "CORNER").matches(task, now));
+        assertFalse(new TaskQuery("LIST", "Work", "").matches(task, now));
+        assertFalse(new TaskQuery("FINISHED", null, "").matches(task, now));
+    }
+
+    @Test
+    void recurringTaskIsDueOnOpenOccurrencesOnly() {
+        Task task = new Task("standup", "", DAY, LocalTime.of(9, 30), "Medium");
+        task.setRecurrence(Recurrence.parse("FREQ=DAILY;INTERVAL=2"));
+
+        assertEquals(List.of(DAY, DAY.plusDays(2), DAY.plusDays(4)),
+                TaskQuery.dueDaysBetween(task, DAY, DAY.plusDays(5)));
+        assertFalse(TaskQuery.isDueOn(task, DAY.plusDays(1)));
+
+        task.completeOccurrence();
+        assertFalse(TaskQuery.isDueOn(task, DAY));
+        assertTrue(TaskQuery.isDueOn(task, DAY.plusDays(2)));
+        assertEquals(DAY.plusDays(2).atTime(9, 30), TaskQuery.dueAt(task));
+    }
+}
@@ -0,0 +1,106 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: {@link ChunkedTaskList} next to the observableArrayList(Task::displayedProperties)
+ * it replaced, at 100k and 1M tasks.
+ *
+ *   mvn -pl core test-compile exec:exec -Dexec.executable=java \
+ *       -Dexec.args="-cp %classpath org.openjdk.jmh.Main ChunkedTaskListBenchmark"
+ *
+ * (append JMH options such as -p size=100000 -f 1 to exec.args). Each list has a change
+ * listener attached, as the task list view does.
+ *   insertRemove: insert a task at a random position and remove one at another
+ *   indexOf:      position of a random task (the lookup behind every edit)
+ *   edit:         change the title of a random task (one update event)
+ *   iterate:      get(i) over the whole list
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ChunkedTaskListBenchmark {
+
+    private static final String EDITED = "edited";
+    private static final String EDITED_AGAIN = "edited again";
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"chunked", "array"})
+    public String list;
+
+    private ObservableList<Task> tasks;
+    private Task[] byPosition;
+    private Random random;
+    private int events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Task> initial = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task t = new Task("task " + i, "", null, null, "Normal");
+            t.setId(i);
+            initial.add(t);
+        }
+        if (list.equals("chunked")) {
+            tasks = new ChunkedTaskList(initial);
+        } else {
+            tasks = FXCollections.observableArrayList(Task::displayedProperties);
+            tasks.addAll(initial);
+        }
+        tasks.addListener((ListChangeListener<Task>) c -> events++);
+        byPosition = initial.toArray(new Task[0]);
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public Task insertRemove() {
+        Task t = tasks.remove(random.nextInt(size));
+        tasks.add(random.nextInt(size), t);
+        return t;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return tasks.indexOf(byPosition[random.nextInt(size)]);
+    }
+
+    @Benchmark
+    public int edit() {
+        Task t = byPosition[random.nextInt(size)];
+        // Setting an equal value fires nothing: alternate between two titles
+        t.setTitle(t.getTitle() == EDITED ? EDITED_AGAIN : EDITED);
+        return events;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterate(Blackhole bh) {
+        for (int i = 0, n = tasks.size(); i < n; i++) bh.consume(tasks.get(i));
+    }
+}
@@ -0,0 +1,267 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test: random operations on a ChunkedTaskList and on an ArrayList-backed
+ * observableArrayList with the same extractor must leave both with the same tasks in the
+ * same order. Change events are checked by replaying them onto a mirror ArrayList: every
+ * removed sublist must be what the mirror holds at that position, every added sublist is
+ * copied in, and after each operation the mirror must equal the list. Property changes must
+ * be reported as updates of exactly the positions holding the changed task.
+ */
+class ChunkedTaskListTest {
+
+    private static final int OPS = 4000;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 42, 2024})
+    void randomOperationsMatchArrayList(long seed) {
+        Random random = new Random(seed);
+        ChunkedTaskList list = new ChunkedTaskList();
+        ObservableList<Task> reference = FXCollections.observableArrayList(Task::displayedProperties);
+        Mirror mirror = new Mirror();
+        list.addListener(mirror);
+        List<Task> pool = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) pool.add(task(i));
+
+        for (int op = 0; op < OPS; op++) {
+            String what = step(random, list, reference, pool);
+            String context = "seed " + seed + ", op " + op + " (" + what + ")";
+            assertEquals(reference, list, context);
+            assertEquals(list, mirror.tasks, "events of " + context);
+            mirror.checkUpdates(context);
+            if (!list.isEmpty()) {
+                Task t = list.get(random.nextInt(list.size()));
+                assertEquals(reference.indexOf(t), list.indexOf(t), context);
+                assertEquals(reference.lastIndexOf(t), list.lastIndexOf(t), context);
+                assertTrue(list.contains(t), context);
+            }
+        }
+    }
+
+    @Test
+    void bulkChangesFireOneEvent() {
+        ChunkedTaskList list = new ChunkedTaskList();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) tasks.add(task(i));
+        int[] events = {0};
+        list.addListener((ListChangeListener<Task>) c -> events[0]++);
+
+        list.addAll(tasks);
+        list.removeIf(t -> t.getId() % 3 == 0);
+        list.retainAll(tasks.subList(0, 1500));
+        list.setAll(tasks.subList(100, 900));
+        list.clear();
+
+        assertEquals(5, events[0]);
+    }
+
+    @Test
+    void failingPredicateLeavesListUnchanged() {
+        ChunkedTaskList list = new ChunkedTaskList();
+        for (int i = 0; i < 1000; i++) list.add(task(i));
+
+        assertThrows(IllegalStateException.class, () -> list.removeIf(t -> {
+            if (t.getId() == 700) throw new IllegalStateException();
+            return t.getId() % 2 == 0;
+        }));
+        assertEquals(1000, list.size());
+        for (int i = 0; i < 1000; i++) assertEquals(i, list.get(i).getId());
+    }
+
+    @Test
+    void removedTaskIsNoLongerObserved() {
+        ChunkedTaskList list = new ChunkedTaskList();
+        Task t = task(1);
+        list.add(t);
+        list.add(t);
+        list.remove(0);
+        int[] updates = {0};
+        list.addListener((ListChangeListener<Task>) c -> {
+            while (c.next()) if (c.wasUpdated()) updates[0]++;
+        });
+
+        t.setTitle("still here");
+        list.remove(0);
+        t.setTitle("gone");
+
+        assertEquals(1, updates[0]);
+    }
+
+    // ---------------------------------------------------------------------
+    // Random operations
+    // ---------------------------------------------------------------------
+
+    private static String step(Random random, List<Task> list, List<Task> reference, List<Task> pool) {
+        int size = list.size();
+        // Grow while small so chunks split and merge, shrink now and then
+        int kind = random.nextInt(size < 600 ? 9 : 15);
+        switch (kind) {
+            case 0, 1, 2 -> {
+                int at = random.nextInt(size + 1);
+                Task t = pick(random, list, pool);
+                list.add(at, t);
+                reference.add(at, t);
+                return "add " + at;
+            }
+            case 3 -> {
+                Task t = pick(random, list, pool);
+                list.add(t);
+                reference.add(t);
+                return "append";
+            }
+            case 4, 5 -> {
+                int at = random.nextInt(size + 1);
+                List<Task> many = new ArrayList<>();
+                int n = random.nextInt(random.nextBoolean() ? 20 : 800);
+                for (int i = 0; i < n; i++) many.add(pick(random, list, pool));
+                boolean changed = list.addAll(at, many);
+                assertEquals(reference.addAll(at, many), changed);
+                return "addAll " + at + " x" + n;
+            }
+            case 6 -> {
+                if (size == 0) return "noop";
+                Task t = pool.get(random.nextInt(pool.size()));
+                int at = random.nextInt(size);
+                assertSame(reference.set(at, t), list.set(at, t));
+                return "set " + at;
+            }
+            case 7 -> {
+                if (size == 0) return "noop";
+                Task t = list.get(random.nextInt(size));
+                t.setTitle("edited " + random.nextInt());
+                return "edit";
+            }
+            case 8 -> {
+                if (size == 0) return "noop";
+                int at = random.nextInt(size);
+                assertSame(reference.remove(at), list.remove(at));
+                return "remove " + at;
+            }
+            case 9 -> {
+                if (size == 0) return "noop";
+                Task t = list.get(random.nextInt(size));
+                assertEquals(reference.remove(t), list.remove(t));
+                return "remove task";
+            }
+            case 10 -> {
+                int from = random.nextInt(size + 1);
+                int to = from + random.nextInt(Math.min(size - from, 300) + 1);
+                list.subList(from, to).clear();
+                reference.subList(from, to).clear();
+                return "removeRange " + from + ".." + to;
+            }
+            case 11 -> {
+                int mod = 2 + random.nextInt(6);
+                int rest = random.nextInt(mod);
+                assertEquals(reference.removeIf(t -> t.getId() % mod == rest), list.removeIf(t -> t.getId() % mod == rest));
+                return "removeIf %" + mod;
+            }
+            case 12 -> {
+                Set<Task> some = sample(random, list, 0.3);
+                assertEquals(reference.removeAll(some), list.removeAll(some));
+                return "removeAll";
+            }
+            case 13 -> {
+                Set<Task> some = sample(random, list, 0.8);
+                assertEquals(reference.retainAll(some), list.retainAll(some));
+                return "retainAll";
+            }
+            default -> {
+                if (random.nextInt(4) == 0) {
+                    list.clear();
+                    reference.clear();
+                    return "clear";
+                }
+                List<Task> all = new ArrayList<>(list.subList(0, size / 2));
+                ((ObservableList<Task>) list).setAll(all);
+                ((ObservableList<Task>) reference).setAll(all);
+                return "setAll";
+            }
+        }
+    }
+
+    // Mostly fresh tasks, sometimes one already in the list (duplicates must work too)
+    private static Task pick(Random random, List<Task> list, List<Task> pool) {
+        if (!list.isEmpty() && random.nextInt(20) == 0) return list.get(random.nextInt(list.size()));
+        return pool.get(random.nextInt(pool.size()));
+    }
+
+    private static Set<Task> sample(Random random, List<Task> list, double share) {
+        Set<Task> set = new HashSet<>();
+        for (Task t : list) if (random.nextDouble() < share) set.add(t);
+        return set;
+    }
+
+    private static Task task(long id) {
+        Task t = new Task("task " + id, "", null, null, "Normal");
+        t.setId(id);
+        return t;
+    }
+
+    /**
+     * Applies every change event to a plain list, checking removals against it.
+     */
+    private static final class Mirror implements ListChangeListener<Task> {
+        final List<Task> tasks = new ArrayList<>();
+        final TreeSet<Integer> updated = new TreeSet<>();
+        Task edited;
+
+        @Override
+        public void onChanged(Change<? extends Task> c) {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    throw new AssertionError("unexpected permutation");
+                } else if (c.wasUpdated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        updated.add(i);
+                        if (edited != null && edited != tasks.get(i)) {
+                            throw new AssertionError("updates of two tasks in one event");
+                        }
+                        edited = tasks.get(i);
+                    }
+                } else {
+                    List<Task> at = tasks.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                    if (!at.equals(c.getRemoved())) {
+                        throw new AssertionError("removed " + c.getRemovedSize() + " at " + c.getFrom()
+                                + " do not match the list");
+                    }
+                    at.clear();
+                    tasks.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        }
+
+        /**
+         * An edit must be reported at exactly the positions holding the edited task.
+         */
+        void checkUpdates(String context) {
+            if (edited != null) {
+                Set<Integer> expected = new TreeSet<>();
+                for (int i = 0; i < tasks.size(); i++) if (tasks.get(i) == edited) expected.add(i);
+                assertEquals(expected, updated, "updates of " + context);
+            }
+            updated.clear();
+            edited = null;
+        }
+    }
+}
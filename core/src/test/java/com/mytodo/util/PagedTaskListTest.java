@@ -0,0 +1,129 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedTaskListTest {
+
+    private static final int PAGES = 20;
+    private static final int PAGE_SIZE = 10;
+    private static final int CACHED_PAGES = 3;
+
+    @Test
+    void pagesOnScreenSurviveAScanOfTheWholeList() {
+        Source source = new Source();
+        PagedTaskList list = new PagedTaskList(FXCollections.observableArrayList(task(0)), source, null, CACHED_PAGES);
+        // Head row + the first two pages on screen
+        list.setVisibleRange(0, 15);
+        Task onScreen = list.get(3);
+        Task nextPage = list.get(12);
+
+        scan(list);
+
+        assertSame(onScreen, list.get(3));
+        assertSame(nextPage, list.get(12));
+        assertTrue(!source.wasEvicted(onScreen) && !source.wasEvicted(nextPage));
+    }
+
+    @Test
+    void unpinnedPagesAreEvicted() {
+        Source source = new Source();
+        PagedTaskList list = new PagedTaskList(FXCollections.observableArrayList(), source, null, CACHED_PAGES);
+        list.setVisibleRange(0, 5);
+        Task first = list.get(0);
+        list.setVisibleRange(100, 105);
+
+        scan(list);
+
+        assertNotSame(first, list.get(0));
+        assertTrue(source.wasEvicted(first));
+    }
+
+    @Test
+    void sizeAndOrder() {
+        PagedTaskList list = new PagedTaskList(FXCollections.observableArrayList(task(-1)), new Source(), task(-2), CACHED_PAGES);
+        assertEquals(1 + PAGES * PAGE_SIZE + 1, list.size());
+        assertEquals(-1, list.get(0).getId());
+        assertEquals(PAGE_SIZE * 7 + 4, list.get(1 + PAGE_SIZE * 7 + 4).getId());
+        assertEquals(-2, list.get(list.size() - 1).getId());
+    }
+
+    @Test
+    void headChangesAreForwardedWithTheirIndices() {
+        ObservableList<Task> head = FXCollections.observableArrayList(task(-1), task(-2), task(-3));
+        PagedTaskList list = new PagedTaskList(head, new Source(), null, CACHED_PAGES);
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Task>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + " removed " + c.getRemovedSize()
+                        + (c.wasPermutated() ? " permutated" : ""));
+            }
+        });
+
+        head.set(1, task(-4));
+        head.add(1, task(-5));
+        head.remove(0);
+        head.sort(Comparator.comparingLong(Task::getId).reversed());
+
+        assertEquals(List.of("1-2 removed 1", "1-2 removed 0", "0-0 removed 1", "0-3 removed 0 permutated"), changes);
+        assertEquals(3 + PAGES * PAGE_SIZE, list.size());
+        assertEquals(-3, list.get(0).getId());
+    }
+
+    // As ObservableListBase.indexOf() does: get() of every position
+    private static void scan(PagedTaskList list) {
+        for (int i = 0; i < list.size(); i++) list.get(i);
+    }
+
+    private static Task task(long id) {
+        Task t = new Task("task " + id, "", null, null, "Normal");
+        t.setId(id);
+        return t;
+    }
+
+    /**
+     * PAGES pages of PAGE_SIZE tasks; every read returns new objects, as the archive does.
+     */
+    private static final class Source implements PagedTaskList.PageSource {
+        // Filled by the prefetch thread too
+        private final List<Task> evicted = new ArrayList<>();
+
+        synchronized boolean wasEvicted(Task task) {
+            return evicted.stream().anyMatch(t -> t == task);
+        }
+
+        @Override
+        public int getPageCount() {
+            return PAGES;
+        }
+
+        @Override
+        public int getPageTaskCount(int page) {
+            return PAGE_SIZE;
+        }
+
+        @Override
+        public List<Task> readPageAt(int page) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) tasks.add(task(page * PAGE_SIZE + i));
+            return tasks;
+        }
+
+        @Override
+        public synchronized void pageEvicted(List<Task> tasks) {
+            evicted.addAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress check for {@link VersionedTaskStore}: concurrent writers against lock-free readers.
+ *
+ * mvn test runs it with 4 writers and 4 readers for 2 seconds (-Dsnapshot.stress.seconds=N
+ * for longer). Standalone, on the test classpath:
+ *
+ *   java -cp &lt;core test classpath&gt; com.mytodo.util.SnapshotStressTest [writers] [readers] [seconds]
+ *
+ * Defaults: 4 writers, 4 readers, 10 seconds. ACCOUNTS tasks each hold a balance (in the
+ * title). Writers move one unit between two tasks per commit, or replace a task by a new
+ * one with a new id, so the total never changes in any committed state. Readers check on
+ * every snapshot they take:
+ *   - the total and the task count are unchanged (no commit is seen in part),
+ *   - versions never go back (a later read never sees an older state),
+ *   - get(id) returns the task iteration returned, and a snapshot reads the same later on.
+ * At the end the version must equal the number of commits, and listeners must have seen
+ * every version once, in order. The test fails (main exits with status 1) on any violation.
+ */
+class SnapshotStressTest {
+
+    private static final int ACCOUNTS = 256;
+    private static final long BALANCE = 1000;
+
+    @Test
+    void concurrentCommitsAreSeenWholeAndInOrder() throws Exception {
+        List<String> failures = run(4, 4, Integer.getInteger("snapshot.stress.seconds", 2));
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures.subList(0, Math.min(20, failures.size()))));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        List<String> failures = run(writers, readers, seconds);
+        if (failures.isEmpty()) {
+            System.out.println("OK");
+        } else {
+            failures.stream().limit(20).forEach(f -> System.out.println("FAILED: " + f));
+            System.exit(1);
+        }
+    }
+
+    private static List<String> run(int writers, int readers, int seconds) throws Exception {
+        VersionedTaskStore store = new VersionedTaskStore();
+        AtomicLong nextId = new AtomicLong(1);
+        AtomicLong commits = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        long[] lastNotified = {0};
+        store.addListener(c -> {
+            // Called under the writer lock: no synchronization needed
+            if (c.getVersion() != lastNotified[0] + 1) {
+                failures.add("listener saw version " + c.getVersion() + " after " + lastNotified[0]);
+            }
+            lastNotified[0] = c.getVersion();
+        });
+
+        store.commit(tx -> {
+            for (int i = 0; i < ACCOUNTS; i++) tx.put(account(nextId.getAndIncrement(), BALANCE));
+            return null;
+        });
+        commits.incrementAndGet();
+
+        System.out.printf("Snapshot stress test: %d writers, %d readers, %ds%n", writers, readers, seconds);
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        try (ExecutorService threads = Executors.newFixedThreadPool(writers + readers)) {
+            for (int w = 0; w < writers; w++) {
+                threads.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end && failures.isEmpty()) {
+                        if (random.nextInt(10) == 0) {
+                            store.commit(tx -> replaceRandom(tx, random, nextId.getAndIncrement()));
+                        } else {
+                            store.commit(tx -> transferRandom(tx, random));
+                        }
+                        commits.incrementAndGet();
+                    }
+                });
+            }
+            for (int r = 0; r < readers; r++) {
+                threads.submit(() -> {
+                    long lastVersion = 0;
+                    while (System.nanoTime() < end && failures.isEmpty()) {
+                        TaskSnapshot s = store.snapshot();
+                        if (s.version() < lastVersion) {
+                            failures.add("version went back: " + s.version() + " after " + lastVersion);
+                        }
+                        lastVersion = s.version();
+                        long total = check(s, failures);
+                        if (total != ACCOUNTS * BALANCE) failures.add("total " + total + " at version " + s.version());
+                        if (check(s, failures) != total) failures.add("snapshot changed: version " + s.version());
+                        reads.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        long version = store.snapshot().version();
+        if (version != commits.get()) failures.add("version " + version + " but " + commits.get() + " commits");
+        if (lastNotified[0] != version) failures.add("listeners saw up to " + lastNotified[0] + " of " + version);
+
+        System.out.printf("Commits: %d (%.0f/s), snapshot reads: %d (%.0f/s)%n",
+                commits.get(), commits.get() / (double) seconds, reads.get(), reads.get() / (double) seconds);
+        return new ArrayList<>(failures);
+    }
+
+    private static Object transferRandom(VersionedTaskStore.Transaction tx, ThreadLocalRandom random) {
+        List<Task> tasks = pick(tx.base(), random, 2);
+        Task from = tx.get(tasks.get(0).getId());
+        Task to = tx.get(tasks.get(1).getId());
+        tx.put(account(from.getId(), balance(from) - 1));
+        tx.put(account(to.getId(), balance(to) + 1));
+        return null;
+    }
+
+    private static Object replaceRandom(VersionedTaskStore.Transaction tx, ThreadLocalRandom random, long newId) {
+        Task old = pick(tx.base(), random, 1).get(0);
+        tx.remove(old.getId());
+        tx.put(account(newId, balance(old)));
+        return null;
+    }
+
+    // Distinct random tasks of the snapshot (ids are sparse after replacements)
+    private static List<Task> pick(TaskSnapshot s, ThreadLocalRandom random, int n) {
+        List<Task> all = new ArrayList<>(s);
+        List<Task> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(all.remove(random.nextInt(all.size())));
+        }
+        return result;
+    }
+
+    private static long check(TaskSnapshot s, ConcurrentLinkedQueue<String> failures) {
+        long total = 0;
+        int count = 0;
+        for (Task t : s) {
+            if (s.get(t.getId()) != t) failures.add("get(" + t.getId() + ") differs from iteration");
+            total += balance(t);
+            count++;
+        }
+        if (count != ACCOUNTS || s.size() != ACCOUNTS) {
+            failures.add("count " + count + ", size " + s.size() + " at version " + s.version());
+        }
+        return total;
+    }
+
+    private static Task account(long id, long balance) {
+        Task t = new Task(String.valueOf(balance), "", null, null, "Normal");
+        t.setId(id);
+        return t;
+    }
+
+    private static long balance(Task t) {
+        return Long.parseLong(t.getTitle());
+    }
+}
@@ -0,0 +1,59 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskIndexTest {
+
+    @Test
+    void followsTheList() {
+        ObservableList<Task> tasks = FXCollections.observableArrayList(task(1), task(2));
+        TaskIndex index = new TaskIndex(tasks);
+        Task three = task(3);
+        tasks.add(three);
+        tasks.remove(0);
+
+        assertEquals(2, index.size());
+        assertSame(three, index.get(3));
+        assertFalse(index.contains(task(3)));
+        assertTrue(index.contains(three));
+    }
+
+    @Test
+    void removeListenerSeesTasksThatLeftTheList() {
+        Task one = task(1);
+        Task two = task(2);
+        ObservableList<Task> tasks = FXCollections.observableArrayList(one, two, task(3));
+        TaskIndex index = new TaskIndex(tasks);
+        List<Long> removed = new ArrayList<>();
+        index.addRemoveListener(removed::add);
+
+        tasks.remove(one);
+        // Moved: removed and added back in one change
+        tasks.setAll(List.of(tasks.get(1), two));
+        // Replaced by another instance with the same id (reload): still in the list
+        tasks.set(1, task(2));
+        // The spacer item has no id and is not indexed
+        tasks.add(task(0));
+        tasks.remove(0);
+        tasks.remove(tasks.size() - 1);
+
+        assertEquals(List.of(1L, 3L), removed);
+    }
+
+    private static Task task(long id) {
+        Task t = new Task("task " + id, "", null, null, "Normal");
+        t.setId(id);
+        return t;
+    }
+}
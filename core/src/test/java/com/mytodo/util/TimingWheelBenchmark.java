@@ -0,0 +1,126 @@
+package com.mytodo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Correctness and cost of {@link TimingWheel} on a simulated clock.
+ *
+ *   java -cp &lt;core test classpath&gt; com.mytodo.util.TimingWheelBenchmark [timers] [days]
+ *
+ * Defaults: 500000 timers due at random times over 30 days. 30% are cancelled and 20%
+ * rescheduled (cancel + schedule) before the clock runs; then the clock moves forward in
+ * random steps (1 ms to 10 minutes) past the last deadline. Checks that every live timer
+ * fires exactly once, in the first advance at or after its deadline (1 s ticks), and that
+ * no cancelled timer fires. Prints ns per schedule, cancel and fire, next to a
+ * PriorityQueue that only schedules and polls (it has no O(1) cancel). Exits with status 1
+ * on any violation.
+ */
+public final class TimingWheelBenchmark {
+
+    private static final long TICK_MS = 1000;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private TimingWheelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        Random random = new Random(42);
+        long start = 1_700_000_000_000L;
+        long span = days * DAY_MS;
+
+        long[] deadlines = new long[count];
+        for (int i = 0; i < count; i++) deadlines[i] = start + 1 + (long) (random.nextDouble() * span);
+
+        // Warm-up round, then the measured one
+        run(deadlines, start, span, new Random(1), false);
+        boolean ok = run(deadlines, start, span, new Random(1), true);
+
+        long t0 = System.nanoTime();
+        PriorityQueue<long[]> queue = new PriorityQueue<>(count, (a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < count; i++) queue.add(new long[]{deadlines[i], i});
+        long t1 = System.nanoTime();
+        while (!queue.isEmpty()) queue.poll();
+        long t2 = System.nanoTime();
+        System.out.printf("PriorityQueue: schedule %6.0f ns, poll %6.0f ns (cancel is O(n))%n",
+                (t1 - t0) / (double) count, (t2 - t1) / (double) count);
+
+        if (!ok) System.exit(1);
+    }
+
+    private static boolean run(long[] deadlines, long start, long span, Random random, boolean print) {
+        int count = deadlines.length;
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, start);
+        List<TimingWheel.Timer<Integer>> timers = new ArrayList<>(count);
+        long[] expected = deadlines.clone();
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < count; i++) timers.add(wheel.schedule(i, deadlines[i]));
+        long t1 = System.nanoTime();
+        int cancelled = 0;
+        int changes = 0;
+        for (int i = 0; i < count; i++) {
+            int r = random.nextInt(10);
+            if (r < 5) continue;
+            wheel.cancel(timers.get(i));
+            changes++;
+            if (r < 8) {
+                expected[i] = -1;
+                cancelled++;
+            } else {
+                expected[i] = start + 1 + (long) (random.nextDouble() * span);
+                timers.set(i, wheel.schedule(i, expected[i]));
+                changes++;
+            }
+        }
+        long t2 = System.nanoTime();
+
+        List<String> failures = new ArrayList<>();
+        int[] firedCount = new int[count];
+        long[] previous = {start};
+        long now = start;
+        long end = start + span + TICK_MS;
+        int fired = 0;
+        long t3 = System.nanoTime();
+        while (now < end) {
+            now += 1 + random.nextInt(10 * 60 * 1000);
+            long clock = now;
+            fired += wheel.advance(clock, i -> {
+                firedCount[i]++;
+                long deadline = expected[i];
+                long deadlineTick = Math.ceilDiv(deadline, TICK_MS);
+                if (deadline < 0) {
+                    failures.add("cancelled timer " + i + " fired");
+                } else if (deadlineTick > Math.floorDiv(clock, TICK_MS)) {
+                    failures.add("timer " + i + " fired early: deadline " + deadline + ", now " + clock);
+                } else if (deadlineTick <= Math.floorDiv(previous[0], TICK_MS)) {
+                    failures.add("timer " + i + " fired late: deadline " + deadline + ", previous advance " + previous[0]);
+                }
+            });
+            previous[0] = clock;
+            if (failures.size() > 20) break;
+        }
+        long t4 = System.nanoTime();
+
+        for (int i = 0; i < count && failures.size() < 20; i++) {
+            int want = expected[i] < 0 ? 0 : 1;
+            if (firedCount[i] != want) failures.add("timer " + i + " fired " + firedCount[i] + " times");
+        }
+        if (wheel.size() != 0) failures.add(wheel.size() + " timers left after the last deadline");
+
+        if (print) {
+            System.out.printf("Timing wheel: %d timers over %d days, %d cancelled, %d fired%n",
+                    count, span / DAY_MS, cancelled, fired);
+            System.out.printf("TimingWheel:   schedule %6.0f ns, cancel or reschedule %6.0f ns, fire %6.0f ns%n",
+                    (t1 - t0) / (double) count, (t2 - t1) / (double) changes,
+                    (t4 - t3) / (double) Math.max(1, fired));
+            failures.forEach(f -> System.out.println("FAILED: " + f));
+            if (failures.isEmpty()) System.out.println("OK");
+        }
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mytodo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    @Test
+    void firesOnceAtOrAfterTheDeadlineNeverEarly() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("soon", 1_500);
+        wheel.schedule("later", 90 * 60_000L);
+        wheel.schedule("next month", 30 * DAY_MS);
+        List<String> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(1_999, fired::add));
+        assertEquals(1, wheel.advance(2_000, fired::add));
+        assertEquals(List.of("soon"), fired);
+        assertEquals(0, wheel.advance(90 * 60_000L - 1, fired::add));
+        assertEquals(1, wheel.advance(90 * 60_000L, fired::add));
+        assertEquals(1, wheel.advance(40 * DAY_MS, fired::add));
+        assertEquals(List.of("soon", "later", "next month"), fired);
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.nextDeadline());
+    }
+
+    @Test
+    void cancelledTimersDoNotFire() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, 0);
+        TimingWheel.Timer<Integer> a = wheel.schedule(1, 5_000);
+        TimingWheel.Timer<Integer> b = wheel.schedule(2, 5_000);
+
+        assertTrue(wheel.cancel(a));
+        assertFalse(wheel.cancel(a));
+        assertFalse(a.isScheduled());
+        List<Integer> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+        assertEquals(List.of(2), fired);
+        assertFalse(b.isScheduled());
+        assertFalse(wheel.cancel(b));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60_000);
+        wheel.schedule("missed", 1_000);
+
+        assertEquals(60_000, wheel.nextDeadline());
+        List<String> fired = new ArrayList<>();
+        assertEquals(1, wheel.advance(60_000, fired::add));
+        assertEquals(List.of("missed"), fired);
+    }
+
+    @Test
+    void nextDeadlineIsNeverLaterThanTheEarliestTimer() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 0);
+        long[] deadlines = {7 * DAY_MS + 123, 3_600_000, 65_000, 2 * DAY_MS};
+        for (long d : deadlines) wheel.schedule(d, d);
+
+        List<Long> fired = new ArrayList<>();
+        long now = 0;
+        while (wheel.size() > 0) {
+            long next = wheel.nextDeadline();
+            long earliest = Long.MAX_VALUE;
+            for (long d : deadlines) if (!fired.contains(d)) earliest = Math.min(earliest, d);
+            assertTrue(next > now && next <= Math.ceilDiv(earliest, 1000) * 1000, "next " + next);
+            now = next;
+            wheel.advance(now, fired::add);
+        }
+        assertEquals(List.of(65_000L, 3_600_000L, 2 * DAY_MS, 7 * DAY_MS + 123), fired);
+    }
+}
@@ -0,0 +1,269 @@
+package com.mytodo.util;
+
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV (RFC 4180) with a header row.
+ *
+ * Columns are matched by header name, case and separators ignored ("dueDate", "Due Date",
+ * "due_date"), in any order; unknown columns are skipped and only "title" is required.
+ * Dates are yyyy-MM-dd, times HH:mm, priority High/Normal/Low, booleans true/false
+ * (yes/1/x are read as true). Quoted fields may span lines. A recurring task has its
+ * RRULE in "repeat" and the last occurrence it completed in order in "repeatDoneThrough"
+ * (occurrences completed out of order are not exported).
+ */
+final class CsvTaskFormat {
+
+    static final String[] HEADER = {
+            "title", "description", "dueDate", "time", "priority", "listName", "completed", "important",
+            "repeat", "repeatDoneThrough"
+    };
+    private static final int TITLE = 0, DESCRIPTION = 1, DUE_DATE = 2, TIME = 3,
+            PRIORITY = 4, LIST_NAME = 5, COMPLETED = 6, IMPORTANT = 7, REPEAT = 8, REPEAT_DONE_THROUGH = 9;
+
+    private CsvTaskFormat() {
+    }
+
+    private static int columnOf(String header) {
+        String key = header.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        switch (key) {
+            case "title": case "name": case "subject": return TITLE;
+            case "description": case "notes": return DESCRIPTION;
+            case "duedate": case "due": case "date": return DUE_DATE;
+            case "time": case "duetime": return TIME;
+            case "priority": return PRIORITY;
+            case "listname": case "list": return LIST_NAME;
+            case "completed": case "done": return COMPLETED;
+            case "important": case "starred": case "flagged": return IMPORTANT;
+            case "repeat": case "rrule": case "recurrence": return REPEAT;
+            case "repeatdonethrough": return REPEAT_DONE_THROUGH;
+            default: return -1;
+        }
+    }
+
+    static final class Reader implements TaskFormat.Reader {
+        // A quote that is never closed would otherwise read the rest of the file into one field
+        private static final int MAX_FIELD_CHARS = 1 << 20;
+
+        private final java.io.Reader in;
+        private final char[] buffer = new char[8192];
+        private int pos, limit;
+        private long line = 1;
+        private boolean started;
+        // field index -> column constant (-1: ignored)
+        private int[] columns;
+        private final List<String> record = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+
+        Reader(java.io.Reader in) {
+            this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+        }
+
+        @Override
+        public Task read() throws IOException {
+            if (columns == null) readHeader();
+            while (true) {
+                long recordLine = line;
+                if (!readRecord()) return null;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+                return toTask(recordLine);
+            }
+        }
+
+        private void readHeader() throws IOException {
+            if (!readRecord()) throw new IOException("The CSV file is empty");
+            columns = new int[record.size()];
+            boolean hasTitle = false;
+            for (int i = 0; i < record.size(); i++) {
+                columns[i] = columnOf(record.get(i));
+                hasTitle |= columns[i] == TITLE;
+            }
+            if (!hasTitle) throw new IOException("The CSV header has no title column: " + record);
+        }
+
+        private Task toTask(long recordLine) throws IOException {
+            String[] values = new String[HEADER.length];
+            for (int i = 0; i < Math.min(record.size(), columns.length); i++) {
+                if (columns[i] >= 0) values[columns[i]] = record.get(i).trim();
+            }
+            if (values[TITLE] == null || values[TITLE].isEmpty()) {
+                throw new TaskFormat.BadRecordException(recordLine, "no title");
+            }
+
+            Task t = new Task(values[TITLE], values[DESCRIPTION] == null ? "" : values[DESCRIPTION],
+                    null, null, TaskFormat.priorityOf(values[PRIORITY]));
+            try {
+                if (notEmpty(values[DUE_DATE])) t.setDueDate(LocalDate.parse(values[DUE_DATE]));
+                if (notEmpty(values[TIME])) t.setTime(LocalTime.parse(values[TIME]));
+                if (notEmpty(values[REPEAT])) {
+                    Recurrence r = Recurrence.parse(values[REPEAT]);
+                    if (notEmpty(values[REPEAT_DONE_THROUGH])) r = r.withDoneThrough(LocalDate.parse(values[REPEAT_DONE_THROUGH]));
+                    // A series starts at its due date
+                    if (t.getDueDate() == null) throw new TaskFormat.BadRecordException(recordLine, "repeat without a due date");
+                    t.setRecurrence(r);
+                }
+            } catch (DateTimeParseException e) {
+                throw new TaskFormat.BadRecordException(recordLine, "cannot read date/time '" + e.getParsedString() + "'");
+            } catch (IllegalArgumentException e) {
+                throw new TaskFormat.BadRecordException(recordLine, "cannot read repeat rule: " + e.getMessage());
+            }
+            if (notEmpty(values[LIST_NAME])) t.setListName(values[LIST_NAME]);
+            t.setCompleted(TaskFormat.booleanOf(values[COMPLETED]));
+            t.setImportant(TaskFormat.booleanOf(values[IMPORTANT]));
+            return t;
+        }
+
+        private static boolean notEmpty(String value) {
+            return value != null && !value.isEmpty();
+        }
+
+        /**
+         * Reads the next record into {@link #record}.
+         * @return false at the end of the input.
+         */
+        private boolean readRecord() throws IOException {
+            record.clear();
+            field.setLength(0);
+            int c = next();
+            if (c < 0) return false;
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') c = next();
+            }
+            boolean quoted = false;
+            long quoteLine = line;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) throw new IOException("Line " + quoteLine + ": quoted field is never closed");
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            next();
+                            append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    quoteLine = line;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c < 0 || c == '\n' || c == '\r') {
+                    if (c == '\r' && peek() == '\n') next();
+                    if (c >= 0) line++;
+                    record.add(field.toString());
+                    return true;
+                } else {
+                    append((char) c);
+                }
+                c = next();
+            }
+        }
+
+        private void append(char c) throws IOException {
+            if (field.length() >= MAX_FIELD_CHARS) {
+                throw new IOException("Line " + line + ": field longer than " + MAX_FIELD_CHARS + " characters");
+            }
+            field.append(c);
+        }
+
+        private int next() throws IOException {
+            if (pos == limit && !fill()) return -1;
+            return buffer[pos++];
+        }
+
+        private int peek() throws IOException {
+            if (pos == limit && !fill()) return -1;
+            return buffer[pos];
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buffer);
+            if (n <= 0) return false;
+            pos = 0;
+            limit = n;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static final class Writer implements TaskFormat.Writer {
+        private final java.io.Writer out;
+        private boolean headerWritten;
+        private final String[] values = new String[HEADER.length];
+
+        Writer(java.io.Writer out) {
+            this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        }
+
+        @Override
+        public void write(Task t) throws IOException {
+            if (!headerWritten) writeHeader();
+            values[TITLE] = t.getTitle();
+            values[DESCRIPTION] = t.getDescription();
+            values[DUE_DATE] = t.getDueDate() == null ? "" : t.getDueDate().toString();
+            values[TIME] = t.getTime() == null ? "" : t.getTime().toString();
+            values[PRIORITY] = t.getPriority();
+            values[LIST_NAME] = t.getListName();
+            values[COMPLETED] = String.valueOf(t.isCompleted());
+            values[IMPORTANT] = String.valueOf(t.isImportant());
+            Recurrence r = t.getRecurrence();
+            values[REPEAT] = r == null ? "" : r.getRule();
+            values[REPEAT_DONE_THROUGH] = r == null || r.getDoneThrough() == null ? "" : r.getDoneThrough().toString();
+            writeRow(values);
+        }
+
+        private void writeHeader() throws IOException {
+            headerWritten = true;
+            writeRow(HEADER);
+        }
+
+        private void writeRow(String[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) out.write(',');
+                writeField(row[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null || value.isEmpty()) return;
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0
+                    || value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            // An export without tasks still gets its header
+            if (!headerWritten) writeHeader();
+            out.close();
+        }
+    }
+}
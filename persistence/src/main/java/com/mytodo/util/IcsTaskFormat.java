@@ -0,0 +1,361 @@
+package com.mytodo.util;
+
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * iCalendar (RFC 5545) VTODO components.
+ *
+ *   SUMMARY -> title            DESCRIPTION -> description
+ *   DUE -> dueDate, time        PRIORITY 1-4/5/6-9 -> High/Normal/Low
+ *   CATEGORIES -> listName      STATUS:COMPLETED or COMPLETED -> completed (+ completedDate)
+ *   X-MYTODO-IMPORTANT -> important (iCalendar has no equivalent)
+ *   RRULE -> recurrence         X-MYTODO-DONE-THROUGH -> occurrences completed in order
+ *
+ * DUE in UTC or with a TZID is converted to the local time zone; a DUE without a time
+ * (VALUE=DATE) has no time. Other components (VEVENT, VALARM inside a VTODO, ...) are
+ * skipped. Lines are unfolded on read and folded at 75 octets on write. A recurring task is
+ * written with DTSTART = DUE = the series start, as RFC 5545 requires for an RRULE; a rule
+ * outside the supported subset (see Recurrence) makes the VTODO a skipped record.
+ */
+final class IcsTaskFormat {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String IMPORTANT = "X-MYTODO-IMPORTANT";
+    private static final String DONE_THROUGH = "X-MYTODO-DONE-THROUGH";
+
+    private IcsTaskFormat() {
+    }
+
+    static final class Reader implements TaskFormat.Reader {
+        // Longest unfolded line; a longer one means this is not an iCalendar file
+        private static final int MAX_LINE_CHARS = 1 << 20;
+
+        private final BufferedReader in;
+        private String lookahead;
+        private long line;
+        private long logicalLine;
+        private boolean started;
+
+        // VTODO being read
+        private long todoLine;
+        private int nestedDepth;
+        private String title, description, categories, rrule, problem;
+        private LocalDate doneThrough;
+        private LocalDateTime due;
+        private boolean dueHasTime, completed, important;
+        private LocalDate completedDate;
+        private int priority;
+
+        Reader(java.io.Reader in) {
+            this.in = in instanceof BufferedReader br ? br : new BufferedReader(in);
+        }
+
+        @Override
+        public Task read() throws IOException {
+            boolean inTodo = false;
+            String content;
+            while ((content = nextLine()) != null) {
+                if (content.isEmpty()) continue;
+                int colon = valueStart(content);
+                if (colon < 0) continue;
+                String head = content.substring(0, colon);
+                String value = content.substring(colon + 1);
+                int semicolon = head.indexOf(';');
+                String name = (semicolon < 0 ? head : head.substring(0, semicolon)).toUpperCase(Locale.ROOT);
+                String params = semicolon < 0 ? "" : head.substring(semicolon + 1);
+
+                if (!inTodo) {
+                    if (name.equals("BEGIN") && value.equalsIgnoreCase("VTODO")) {
+                        inTodo = true;
+                        startTodo();
+                    }
+                    continue;
+                }
+                if (name.equals("BEGIN")) {
+                    nestedDepth++;
+                } else if (name.equals("END")) {
+                    if (nestedDepth > 0) {
+                        nestedDepth--;
+                    } else if (value.equalsIgnoreCase("VTODO")) {
+                        return finishTodo();
+                    }
+                } else if (nestedDepth == 0) {
+                    property(name, params, value);
+                }
+            }
+            if (inTodo) throw new IOException("Line " + todoLine + ": VTODO is never closed");
+            return null;
+        }
+
+        private void startTodo() {
+            todoLine = logicalLine;
+            nestedDepth = 0;
+            title = description = categories = rrule = problem = null;
+            doneThrough = null;
+            due = null;
+            dueHasTime = completed = important = false;
+            completedDate = null;
+            priority = 0;
+        }
+
+        private void property(String name, String params, String value) {
+            try {
+                switch (name) {
+                    case "SUMMARY" -> title = unescape(value);
+                    case "DESCRIPTION" -> description = unescape(value);
+                    case "CATEGORIES" -> categories = firstCategory(value);
+                    case "PRIORITY" -> priority = Integer.parseInt(value.trim());
+                    case "STATUS" -> completed |= value.trim().equalsIgnoreCase("COMPLETED");
+                    case "COMPLETED" -> {
+                        completed = true;
+                        completedDate = dateTime(params, value).toLocalDate();
+                    }
+                    case "DUE" -> {
+                        due = dateTime(params, value);
+                        dueHasTime = value.indexOf('T') >= 0;
+                    }
+                    case IMPORTANT -> important = TaskFormat.booleanOf(value);
+                    case "RRULE" -> rrule = value;
+                    case DONE_THROUGH -> doneThrough = LocalDate.parse(value.trim(), DATE);
+                    default -> { }
+                }
+            } catch (DateTimeException | NumberFormatException e) {
+                if (problem == null) problem = "cannot read " + name + " '" + value + "'";
+            }
+        }
+
+        private Task finishTodo() throws IOException {
+            if (problem != null) throw new TaskFormat.BadRecordException(todoLine, problem);
+            if (title == null || title.isBlank()) throw new TaskFormat.BadRecordException(todoLine, "no SUMMARY");
+
+            String level = priority >= 1 && priority <= 4 ? "High" : priority >= 6 ? "Low" : "Normal";
+            Task t = new Task(title.trim(), description == null ? "" : description,
+                    due == null ? null : due.toLocalDate(),
+                    due != null && dueHasTime ? due.toLocalTime().truncatedTo(ChronoUnit.MINUTES) : null, level);
+            if (categories != null && !categories.isBlank()) t.setListName(categories.trim());
+            if (rrule != null) {
+                if (due == null) throw new TaskFormat.BadRecordException(todoLine, "RRULE without DUE");
+                try {
+                    Recurrence r = Recurrence.parse(rrule);
+                    t.setRecurrence(doneThrough == null ? r : r.withDoneThrough(doneThrough));
+                } catch (IllegalArgumentException e) {
+                    throw new TaskFormat.BadRecordException(todoLine, "cannot read RRULE: " + e.getMessage());
+                }
+            }
+            if (completed) t.setCompletedDate(completedDate);
+            t.setCompleted(completed);
+            t.setImportant(important);
+            return t;
+        }
+
+        /**
+         * DATE, floating DATE-TIME, UTC DATE-TIME ("...Z") or DATE-TIME with a TZID
+         * parameter, as a local date-time (midnight for a DATE).
+         */
+        private static LocalDateTime dateTime(String params, String value) {
+            value = value.trim();
+            if (value.indexOf('T') < 0) return LocalDate.parse(value, DATE).atStartOfDay();
+            boolean utc = value.endsWith("Z");
+            LocalDateTime time = LocalDateTime.parse(utc ? value.substring(0, value.length() - 1) : value, DATE_TIME);
+            ZoneId zone = utc ? ZoneOffset.UTC : tzid(params);
+            if (zone == null) return time;
+            return time.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+
+        private static ZoneId tzid(String params) {
+            for (String p : params.split(";")) {
+                if (!p.regionMatches(true, 0, "TZID=", 0, 5)) continue;
+                try {
+                    return ZoneId.of(p.substring(5).replace("\"", ""));
+                } catch (DateTimeException e) {
+                    // A zone only defined in the file's VTIMEZONE: read as local time
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        // Colon that ends the property name and parameters (not one inside a quoted parameter)
+        private static int valueStart(String content) {
+            boolean quoted = false;
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                if (c == '"') quoted = !quoted;
+                else if (c == ':' && !quoted) return i;
+            }
+            return -1;
+        }
+
+        private static String firstCategory(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '\\') i++;
+                else if (value.charAt(i) == ',') return unescape(value.substring(0, i));
+            }
+            return unescape(value);
+        }
+
+        private static String unescape(String value) {
+            if (value.indexOf('\\') < 0) return value;
+            StringBuilder sb = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    char n = value.charAt(++i);
+                    sb.append(n == 'n' || n == 'N' ? '\n' : n);
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        /**
+         * @return the next unfolded content line, or null at the end of the input.
+         */
+        private String nextLine() throws IOException {
+            String current = lookahead != null ? lookahead : readPhysical();
+            lookahead = null;
+            if (current == null) return null;
+            logicalLine = line;
+            StringBuilder unfolded = null;
+            String next;
+            while ((next = readPhysical()) != null && !next.isEmpty()
+                    && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                if (unfolded == null) unfolded = new StringBuilder(current);
+                if (unfolded.length() + next.length() > MAX_LINE_CHARS) {
+                    throw new IOException("Line " + logicalLine + ": content line longer than " + MAX_LINE_CHARS + " characters");
+                }
+                unfolded.append(next, 1, next.length());
+            }
+            lookahead = next;
+            return unfolded != null ? unfolded.toString() : current;
+        }
+
+        private String readPhysical() throws IOException {
+            String s = in.readLine();
+            if (s == null) return null;
+            line++;
+            if (!started) {
+                started = true;
+                if (!s.isEmpty() && s.charAt(0) == '\uFEFF') s = s.substring(1);
+            }
+            return s;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static final class Writer implements TaskFormat.Writer {
+        private static final int MAX_LINE_OCTETS = 75;
+
+        private final java.io.Writer out;
+        private final String stamp = LocalDateTime.now(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+        private boolean headerWritten;
+
+        Writer(java.io.Writer out) {
+            this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        }
+
+        @Override
+        public void write(Task t) throws IOException {
+            if (!headerWritten) writeHeader();
+            line("BEGIN:VTODO");
+            line("UID:task-" + t.getId() + "@mytodo");
+            line("DTSTAMP:" + stamp);
+            line("SUMMARY:" + escape(t.getTitle()));
+            if (t.getDescription() != null && !t.getDescription().isEmpty()) {
+                line("DESCRIPTION:" + escape(t.getDescription()));
+            }
+            if (t.getDueDate() != null) {
+                String due = t.getTime() == null
+                        ? ";VALUE=DATE:" + t.getDueDate().format(DATE)
+                        : ":" + t.getDueDate().atTime(t.getTime()).format(DATE_TIME);
+                if (t.isRecurring()) {
+                    line("DTSTART" + due);
+                    line("RRULE:" + t.getRecurrence().getRule());
+                    if (t.getRecurrence().getDoneThrough() != null) {
+                        line(DONE_THROUGH + ":" + t.getRecurrence().getDoneThrough().format(DATE));
+                    }
+                }
+                line("DUE" + due);
+            }
+            line("PRIORITY:" + switch (TaskFormat.priorityOf(t.getPriority())) {
+                case "High" -> 1;
+                case "Low" -> 9;
+                default -> 5;
+            });
+            if (t.getListName() != null) line("CATEGORIES:" + escape(t.getListName()));
+            line("STATUS:" + (t.isCompleted() ? "COMPLETED" : "NEEDS-ACTION"));
+            if (t.isCompleted() && t.getCompletedDate() != null) {
+                // COMPLETED is a UTC date-time: local midnight of the completion day
+                line("COMPLETED:" + t.getCompletedDate().atStartOfDay(ZoneId.systemDefault())
+                        .withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime().format(DATE_TIME) + "Z");
+            }
+            if (t.isImportant()) line(IMPORTANT + ":TRUE");
+            line("END:VTODO");
+        }
+
+        private void writeHeader() throws IOException {
+            headerWritten = true;
+            line("BEGIN:VCALENDAR");
+            line("VERSION:2.0");
+            line("PRODID:-//MyTodo//Task Export//EN");
+        }
+
+        private static String escape(String value) {
+            StringBuilder sb = new StringBuilder(value.length() + 8);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\', ';', ',' -> sb.append('\\').append(c);
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> { }
+                    default -> sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        // Folds after 75 octets of UTF-8, never inside a character
+        private void line(String content) throws IOException {
+            int octets = 0;
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                boolean pair = Character.isHighSurrogate(c) && i + 1 < content.length();
+                int size = pair ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+                if (octets + size > MAX_LINE_OCTETS) {
+                    out.write("\r\n ");
+                    octets = 1;
+                }
+                out.write(c);
+                if (pair) out.write(content.charAt(++i));
+                octets += size;
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!headerWritten) writeHeader();
+            line("END:VCALENDAR");
+            out.close();
+        }
+    }
+}
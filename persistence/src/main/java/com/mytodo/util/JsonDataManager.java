@@ -0,0 +1,286 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.mytodo.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Utility class for saving and loading task data to/from a JSON file using Jackson.
+ *
+ * Besides plain JSON, tasks can be stored as a block-framed snapshot:
+ *   magic, format version, block count, then one frame per block
+ *   (raw length, stored length, stored bytes). Each block holds at most BLOCK_SIZE tasks,
+ *   so blocks can be decoded and parsed in parallel.
+ *   "MTDZ": each block is a JSON array, Deflate-compressed.
+ *   "MTDB": each block is a Smile (binary JSON) array, stored as is. Field names and
+ *           repeated values (list names, priorities) are written once per block and
+ *           referenced after that, and nothing is inflated on load.
+ * load() detects the format from the first bytes of the file. Tasks are (de)serialized by
+ * the streaming TaskJson serializers in every format (see JsonDataManagerBenchmark).
+ */
+public class JsonDataManager {
+    private static final Log LOG = Log.get(JsonDataManager.class);
+
+    private static final byte[] MAGIC = {'M', 'T', 'D', 'Z'};
+    private static final byte[] BINARY_MAGIC = {'M', 'T', 'D', 'B'};
+    private static final int FORMAT_VERSION = 1;
+    public static final int BLOCK_SIZE = 1024;
+
+    private static final ObjectMapper SMILE = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build())
+            .registerModule(TaskJson.module());
+    private static final ObjectReader SMILE_READER = SMILE.readerFor(SMILE.getTypeFactory()
+            .constructCollectionType(ArrayList.class, Task.class));
+    private static final ObjectWriter SMILE_WRITER = SMILE.writerFor(SMILE.getTypeFactory()
+            .constructCollectionType(List.class, Task.class));
+
+    /**
+     * How tasks are encoded by toBytes(). fromBytes() reads all of them.
+     */
+    public enum Format {
+        /** Pretty-printed JSON array. */
+        JSON,
+        /** Deflated JSON blocks ("MTDZ"). */
+        COMPRESSED,
+        /** Smile blocks ("MTDB"). */
+        BINARY
+    }
+
+    /**
+     * Saves the given list of tasks to a JSON file.
+     *
+     * @param file  The destination JSON file.
+     * @param tasks The list of tasks to save.
+     */
+    public void save(File file, List<Task> tasks) {
+        try {
+            TaskJson.TASKS_PRETTY_WRITER.writeValue(file, tasks);
+        } catch (IOException e) {
+            System.err.println("Failed to save tasks to JSON file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the given tasks as a compressed, block-framed snapshot.
+     *
+     * @param file  The destination file.
+     * @param tasks The tasks to save.
+     * @throws IOException if the snapshot could not be written.
+     */
+    public void saveCompressed(File file, List<Task> tasks) throws IOException {
+        try {
+            Files.write(file.toPath(), toBytes(tasks, true));
+        } catch (IOException e) {
+            LOG.error("Failed to save compressed task snapshot", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Saves the given tasks as a block-framed Smile snapshot.
+     *
+     * @param file  The destination file.
+     * @param tasks The tasks to save.
+     * @throws IOException if the snapshot could not be written.
+     */
+    public void saveBinary(File file, List<Task> tasks) throws IOException {
+        try {
+            Files.write(file.toPath(), toBytes(tasks, Format.BINARY));
+        } catch (IOException e) {
+            LOG.error("Failed to save binary task snapshot", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads task data from the given file (plain JSON or any snapshot format).
+     *
+     * @param file The source file.
+     * @return A list of loaded Task objects, or an empty list if file does not exist or an error occurs.
+     */
+    public List<Task> load(File file) {
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        try {
+            return read(file);
+        } catch (IOException e) {
+            System.err.println("Failed to load tasks from JSON file: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads task data from the given file (plain JSON or any snapshot format).
+     * Unlike load(), a file that cannot be read or parsed is an error.
+     *
+     * @param file The source file.
+     * @return A list of loaded Task objects.
+     * @throws IOException if the file does not exist, cannot be read or is not valid task data.
+     */
+    public List<Task> read(File file) throws IOException {
+        return fromBytes(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Serializes tasks either as pretty-printed JSON or as a compressed snapshot.
+     */
+    public byte[] toBytes(List<Task> tasks, boolean compressed) throws IOException {
+        return toBytes(tasks, compressed ? Format.COMPRESSED : Format.JSON);
+    }
+
+    public byte[] toBytes(List<Task> tasks, Format format) throws IOException {
+        if (format == Format.JSON) {
+            return TaskJson.TASKS_PRETTY_WRITER.writeValueAsBytes(tasks);
+        }
+        boolean binary = format == Format.BINARY;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        int blockCount = (tasks.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        out.write(binary ? BINARY_MAGIC : MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(blockCount);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] buffer = new byte[64 * 1024];
+        try {
+            for (int b = 0; b < blockCount; b++) {
+                List<Task> block = tasks.subList(b * BLOCK_SIZE, Math.min((b + 1) * BLOCK_SIZE, tasks.size()));
+                if (binary) {
+                    byte[] raw = SMILE_WRITER.writeValueAsBytes(block);
+                    out.writeInt(raw.length);
+                    out.writeInt(raw.length);
+                    out.write(raw);
+                    continue;
+                }
+                byte[] raw = TaskJson.TASKS_WRITER.writeValueAsBytes(block);
+
+                deflater.reset();
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream packed = new ByteArrayOutputStream(raw.length / 4 + 16);
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    packed.write(buffer, 0, n);
+                }
+
+                out.writeInt(raw.length);
+                out.writeInt(packed.size());
+                packed.writeTo(out);
+            }
+        } finally {
+            deflater.end();
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Parses tasks from plain JSON or from a snapshot.
+     * Snapshot blocks are decoded and parsed in parallel; task order is preserved.
+     */
+    public List<Task> fromBytes(byte[] data) throws IOException {
+        boolean binary = startsWith(data, BINARY_MAGIC);
+        if (!binary && !isCompressed(data)) {
+            return TaskJson.TASKS_READER.readValue(data);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        in.skipBytes(MAGIC.length);
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        int blockCount = in.readInt();
+        List<byte[]> packedBlocks = new ArrayList<>(blockCount);
+        int[] rawLengths = new int[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            rawLengths[b] = in.readInt();
+            byte[] packed = new byte[in.readInt()];
+            in.readFully(packed);
+            packedBlocks.add(packed);
+        }
+
+        List<List<Task>> parsed;
+        try {
+            parsed = IntStream.range(0, blockCount).parallel()
+                    .mapToObj(b -> binary
+                            ? parseBinaryBlock(packedBlocks.get(b))
+                            : parseBlock(packedBlocks.get(b), rawLengths[b]))
+                    .collect(Collectors.toList());
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        List<Task> result = new ArrayList<>();
+        for (List<Task> block : parsed) {
+            result.addAll(block);
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the data starts with the compressed snapshot magic.
+     */
+    public static boolean isCompressed(byte[] data) {
+        return startsWith(data, MAGIC);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] magic) {
+        if (data.length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if (data[i] != magic[i]) return false;
+        }
+        return true;
+    }
+
+    private List<Task> parseBlock(byte[] packed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(packed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && inflater.needsInput()) break;
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Truncated snapshot block");
+            }
+            return TaskJson.TASKS_READER.readValue(raw);
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Corrupt snapshot block: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private List<Task> parseBinaryBlock(byte[] smile) {
+        try {
+            return SMILE_READER.readValue(smile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt snapshot block: " + e.getMessage(), e);
+        }
+    }
+}
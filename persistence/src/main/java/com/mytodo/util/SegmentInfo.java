@@ -0,0 +1,131 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Manifest entry describing one on-disk task segment.
+ * A segment holds every task that shares the same list name and due-date month.
+ * The counters let the UI show category numbers without reading the segment file,
+ * and the oldest completion lets startup skip segments with nothing old enough to archive.
+ */
+public class SegmentInfo {
+
+    // oldestCompletion of an entry from a manifest written before it was recorded
+    static final String UNKNOWN = "unknown";
+
+    private String listName;   // null = Unlisted
+    private String month;      // "yyyy-MM", or null for tasks without a due date
+    private String file;       // file name inside the segment directory
+    private int taskCount;
+    private int completedCount;
+    private int importantCount;
+    // Earliest completionDay() of the segment's tasks ("yyyy-MM-dd"), null = none.
+    // Older manifests lack the field, so it keeps UNKNOWN until the segment is saved again
+    private String oldestCompletion = UNKNOWN;
+
+    public SegmentInfo() {
+        // Required no-arg constructor for Jackson
+    }
+
+    public SegmentInfo(String listName, String month, String file) {
+        this.listName = listName;
+        this.month = month;
+        this.file = file;
+    }
+
+    public String getListName() {
+        return listName;
+    }
+
+    public void setListName(String listName) {
+        this.listName = listName;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(int completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public int getImportantCount() {
+        return importantCount;
+    }
+
+    public void setImportantCount(int importantCount) {
+        this.importantCount = importantCount;
+    }
+
+    public String getOldestCompletion() {
+        return oldestCompletion;
+    }
+
+    public void setOldestCompletion(String oldestCompletion) {
+        this.oldestCompletion = oldestCompletion;
+    }
+
+    /**
+     * @return true if a completed task of this segment may have been done before the given
+     *         day, i.e. the segment must be read to archive old completed tasks.
+     */
+    public boolean hasCompletionBefore(LocalDate day) {
+        if (completedCount == 0 || oldestCompletion == null) return false;
+        try {
+            return LocalDate.parse(oldestCompletion).isBefore(day);
+        } catch (DateTimeParseException e) {
+            // UNKNOWN
+            return true;
+        }
+    }
+
+    /**
+     * @return the day a completed task counts as done (its completed date, else its due
+     *         date), or null if it is not completed or has neither date.
+     */
+    public static LocalDate completionDay(Task task) {
+        if (!task.isCompleted()) return null;
+        return task.getCompletedDate() != null ? task.getCompletedDate() : task.getDueDate();
+    }
+
+    /**
+     * Number of tasks in this segment that are not completed.
+     */
+    public int pendingCount() {
+        return taskCount - completedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentInfo{list='" + listName + "', month='" + month + "', file='" + file
+                + "', tasks=" + taskCount + ", completed=" + completedCount
+                + ", oldestCompletion=" + oldestCompletion + "}";
+    }
+}
@@ -0,0 +1,487 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mytodo.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Segmented on-disk task storage.
+ *
+ * Tasks are partitioned into segment files by list name and due-date month.
+ * A small manifest (manifest.json) records every segment together with its counters,
+ * so the application only has to read the segments the current view needs.
+ *
+ * Segments that are never loaded are never rewritten: save() only touches segments
+ * that are loaded (or newly created) and whose content actually changed.
+ *
+ * Segment content is (de)serialized by {@link JsonDataManager}; with compression enabled,
+ * segments are written as block-framed Deflate snapshots. Reading detects either format.
+ */
+public class SegmentedTaskStore {
+
+    private static final Log LOG = Log.get(SegmentedTaskStore.class);
+
+    public static final String MANIFEST_FILE = "manifest.json";
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    private final File directory;
+    private final ObjectMapper mapper;
+    private final ObjectWriter manifestWriter;
+    private final JsonDataManager dataManager;
+    private final boolean compressed;
+
+    // key (list + month) -> manifest entry, in manifest order
+    private final Map<String, SegmentInfo> segments = new LinkedHashMap<>();
+    // keys whose tasks are currently held in memory by the caller
+    private final Set<String> loadedKeys = new HashSet<>();
+    // content hash of the last write per key, used to skip unchanged segments
+    private final Map<String, Integer> writtenHashes = new HashMap<>();
+    // file name -> hash of what this store last wrote or read (segments and manifest).
+    // Read by TaskFileWatcher on its own thread, so the app's own saves are not reloaded
+    private final Map<String, Integer> knownContent = new ConcurrentHashMap<>();
+    private int nextSegmentId = 1;
+    // Task ids are allocated from this counter and never reused (persisted in the manifest)
+    private long nextTaskId = 1;
+
+    public SegmentedTaskStore(File directory, JsonDataManager dataManager, boolean compressed) {
+        this.directory = directory;
+        this.dataManager = dataManager;
+        this.compressed = compressed;
+        mapper = new ObjectMapper();
+        // Register module to support Java 8 time (LocalDate, LocalTime, etc.)
+        mapper.registerModule(new JavaTimeModule());
+        manifestWriter = mapper.writerWithDefaultPrettyPrinter();
+    }
+
+    /**
+     * @return true if a manifest already exists in the segment directory.
+     */
+    public boolean exists() {
+        return new File(directory, MANIFEST_FILE).exists();
+    }
+
+    /**
+     * Reads the manifest. No segment file is read here.
+     */
+    public void open() {
+        segments.clear();
+        loadedKeys.clear();
+        writtenHashes.clear();
+        knownContent.clear();
+        nextSegmentId = 1;
+        nextTaskId = 1;
+
+        File manifestFile = new File(directory, MANIFEST_FILE);
+        if (!manifestFile.exists()) {
+            return;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(manifestFile.toPath());
+            knownContent.put(MANIFEST_FILE, Arrays.hashCode(bytes));
+            Manifest manifest = parseManifest(bytes);
+            nextSegmentId = Math.max(1, manifest.getNextSegmentId());
+            nextTaskId = Math.max(1, manifest.getNextTaskId());
+            if (manifest.getSegments() != null) {
+                for (SegmentInfo info : manifest.getSegments()) {
+                    segments.put(keyOf(info.getListName(), info.getMonth()), info);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to read segment manifest", e);
+        }
+    }
+
+    /**
+     * One-time migration: writes the given tasks as segments and resets the store,
+     * so a following open() starts with nothing loaded.
+     */
+    public void importTasks(List<Task> tasks) {
+        segments.clear();
+        loadedKeys.clear();
+        writtenHashes.clear();
+        assignIds(tasks);
+        save(tasks);
+        open();
+    }
+
+    /**
+     * Loads the segments needed at startup: every segment that still has pending tasks,
+     * plus undated segments and segments for the current month or later.
+     * This covers the Today, Pending and Overdue views completely.
+     */
+    public List<Task> loadHotSegments() {
+        YearMonth current = YearMonth.now();
+        return loadSegments(info -> isHot(info, current));
+    }
+
+    /**
+     * Loads every not-yet-loaded segment that matches the given filter.
+     *
+     * @return the tasks of the newly loaded segments only.
+     */
+    public List<Task> loadSegments(Predicate<SegmentInfo> filter) {
+        List<Task> result = new ArrayList<>();
+        for (Map.Entry<String, SegmentInfo> entry : segments.entrySet()) {
+            if (loadedKeys.contains(entry.getKey()) || !filter.test(entry.getValue())) continue;
+            result.addAll(readSegment(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Loads the segments the given tasks would be written to, if they are not loaded yet.
+     * Must be called before save() so a task moved into an unloaded segment
+     * (e.g. by changing its list or due date) does not overwrite the tasks on disk.
+     *
+     * @return the tasks of the newly loaded segments only.
+     */
+    public List<Task> loadSegmentsFor(Collection<Task> tasks) {
+        Set<String> missing = new HashSet<>();
+        for (Task t : tasks) {
+            String key = keyOf(t);
+            if (!loadedKeys.contains(key) && segments.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) return new ArrayList<>();
+        return loadSegments(info -> missing.contains(keyOf(info.getListName(), info.getMonth())));
+    }
+
+    /**
+     * @return a new task id (persisted with the next save).
+     */
+    public long allocateId() {
+        return nextTaskId++;
+    }
+
+    /**
+     * Moves the id counter up to nextId, for ids that were handed out by someone else
+     * (e.g. the headless API service). Never moves it down.
+     */
+    public void reserveIds(long nextId) {
+        if (nextId > nextTaskId) nextTaskId = nextId;
+    }
+
+    /**
+     * Gives every task without an id a new one, and keeps the counter above every id seen.
+     * Tasks written before ids existed get theirs when their segment is first loaded;
+     * the segment is rewritten with the ids on the next save.
+     */
+    public void assignIds(Collection<Task> tasks) {
+        for (Task t : tasks) {
+            if (t.getId() <= 0) {
+                t.setId(nextTaskId++);
+            } else if (t.getId() >= nextTaskId) {
+                nextTaskId = t.getId() + 1;
+            }
+        }
+    }
+
+    /**
+     * @return manifest entries of the segments that are not loaded in memory.
+     */
+    public List<SegmentInfo> getUnloadedSegments() {
+        List<SegmentInfo> result = new ArrayList<>();
+        for (Map.Entry<String, SegmentInfo> entry : segments.entrySet()) {
+            if (!loadedKeys.contains(entry.getKey())) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Saves the in-memory tasks. The collection must contain every task of every loaded segment.
+     * Unloaded segments are left untouched; unchanged segments are not rewritten.
+     * A segment file that another writer changed since this store last read or wrote it is not
+     * overwritten (its tasks stay unsaved) until the caller has merged it, see acceptExternal().
+     * Saved tasks are marked saved ({@link Task#markSaved()}).
+     *
+     * @return number of bytes written to disk (0 when nothing changed).
+     */
+    public long save(Collection<Task> tasks) {
+        long bytesWritten = 0;
+        Map<String, List<Task>> groups = new LinkedHashMap<>();
+        for (Task t : tasks) {
+            groups.computeIfAbsent(keyOf(t), k -> new ArrayList<>()).add(t);
+        }
+
+        try {
+            Files.createDirectories(directory.toPath());
+
+            // Loaded segments that no longer have any task are removed
+            for (String key : new ArrayList<>(loadedKeys)) {
+                if (groups.containsKey(key)) continue;
+                SegmentInfo info = segments.get(key);
+                if (info != null) {
+                    if (changedOnDisk(key, info)) continue;
+                    Files.deleteIfExists(new File(directory, info.getFile()).toPath());
+                    knownContent.remove(info.getFile());
+                }
+                segments.remove(key);
+                loadedKeys.remove(key);
+                writtenHashes.remove(key);
+            }
+
+            for (Map.Entry<String, List<Task>> group : groups.entrySet()) {
+                String key = group.getKey();
+                List<Task> segmentTasks = group.getValue();
+                if (segments.containsKey(key) && !loadedKeys.contains(key)) {
+                    LOG.warn("Refusing to overwrite unloaded segment: " + segments.get(key));
+                    continue;
+                }
+
+                SegmentInfo info = segments.get(key);
+                if (info == null) {
+                    Task first = segmentTasks.get(0);
+                    info = new SegmentInfo(first.getListName(), monthOf(first), nextSegmentFileName());
+                    segments.put(key, info);
+                }
+                byte[] bytes = dataManager.toBytes(segmentTasks, compressed);
+                int hash = Arrays.hashCode(bytes);
+                Integer previous = writtenHashes.get(key);
+                if (previous == null || previous != hash) {
+                    if (changedOnDisk(key, info)) {
+                        LOG.warn("Segment changed by another writer, not saved until merged: " + info.getFile());
+                        continue;
+                    }
+                    Files.write(new File(directory, info.getFile()).toPath(), bytes);
+                    writtenHashes.put(key, hash);
+                    knownContent.put(info.getFile(), hash);
+                    bytesWritten += bytes.length;
+                }
+                loadedKeys.add(key);
+                updateCounters(info, segmentTasks);
+                for (Task t : segmentTasks) t.markSaved();
+            }
+
+            writeManifest();
+        } catch (IOException e) {
+            LOG.error("Failed to save task segments", e);
+        }
+        return bytesWritten;
+    }
+
+    // ---------------------------------------------------------------------
+    // Changes by other writers (see TaskFileWatcher)
+    // ---------------------------------------------------------------------
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return true if this store itself last wrote or read exactly this content to/from the
+     * file. Thread-safe: used by the watcher thread to skip the app's own saves.
+     */
+    public boolean isKnownContent(String fileName, int hash) {
+        Integer known = knownContent.get(fileName);
+        return known != null && known == hash;
+    }
+
+    /**
+     * Parses segment content; the tasks are marked saved. Thread-safe (no store state).
+     */
+    public List<Task> parseSegment(byte[] bytes) throws IOException {
+        List<Task> tasks = dataManager.fromBytes(bytes);
+        for (Task t : tasks) t.markSaved();
+        return tasks;
+    }
+
+    /**
+     * Thread-safe (no store state).
+     */
+    public Manifest parseManifest(byte[] bytes) throws IOException {
+        return mapper.readValue(bytes, Manifest.class);
+    }
+
+    /**
+     * Takes in a manifest written by another writer: segments it added or changed that are
+     * not loaded here are adopted, unloaded segments it dropped are forgotten, and both
+     * counters move up to the larger value. Loaded segments keep their entries; their files
+     * are merged task by task by the caller.
+     */
+    public void mergeManifest(Manifest external) {
+        nextSegmentId = Math.max(nextSegmentId, external.getNextSegmentId());
+        nextTaskId = Math.max(nextTaskId, external.getNextTaskId());
+        Set<String> externalKeys = new HashSet<>();
+        if (external.getSegments() != null) {
+            for (SegmentInfo info : external.getSegments()) {
+                String key = keyOf(info.getListName(), info.getMonth());
+                externalKeys.add(key);
+                if (!loadedKeys.contains(key)) segments.put(key, info);
+            }
+        }
+        segments.keySet().removeIf(key -> !loadedKeys.contains(key) && !externalKeys.contains(key));
+    }
+
+    /**
+     * @return true if the file belongs to a segment whose tasks are held in memory.
+     */
+    public boolean isLoadedFile(String fileName) {
+        String key = keyOfFile(fileName);
+        return key != null && loadedKeys.contains(key);
+    }
+
+    /**
+     * Records that the caller merged the current content of a loaded segment file
+     * (hash null: the file was deleted), so the next save may overwrite it again.
+     */
+    public void acceptExternal(String fileName, Integer hash) {
+        String key = keyOfFile(fileName);
+        if (key == null) return;
+        if (hash == null) {
+            writtenHashes.remove(key);
+            knownContent.remove(fileName);
+        } else {
+            writtenHashes.put(key, hash);
+            knownContent.put(fileName, hash);
+        }
+    }
+
+    /**
+     * @return the file of the segment the task belongs to (by its current list and due
+     * date), or null if there is no such segment yet.
+     */
+    public String fileOf(Task task) {
+        SegmentInfo info = segments.get(keyOf(task));
+        return info == null ? null : info.getFile();
+    }
+
+    private String keyOfFile(String fileName) {
+        for (Map.Entry<String, SegmentInfo> entry : segments.entrySet()) {
+            if (entry.getValue().getFile().equals(fileName)) return entry.getKey();
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private List<Task> readSegment(String key, SegmentInfo info) {
+        File file = new File(directory, info.getFile());
+        loadedKeys.add(key);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            int hash = Arrays.hashCode(bytes);
+            writtenHashes.put(key, hash);
+            knownContent.put(info.getFile(), hash);
+            List<Task> tasks = parseSegment(bytes);
+            assignIds(tasks);
+            return tasks;
+        } catch (IOException e) {
+            // Keep the segment unloaded so a later save never overwrites it with partial data
+            loadedKeys.remove(key);
+            LOG.error("Failed to load task segment " + info.getFile(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        File file = new File(directory, MANIFEST_FILE);
+        // Keep segments another writer added since the manifest was last read or written
+        if (file.exists()) {
+            byte[] onDisk = Files.readAllBytes(file.toPath());
+            Integer known = knownContent.get(MANIFEST_FILE);
+            if (known == null || known != Arrays.hashCode(onDisk)) {
+                mergeManifest(parseManifest(onDisk));
+            }
+        }
+        Manifest manifest = new Manifest();
+        manifest.setNextSegmentId(nextSegmentId);
+        manifest.setNextTaskId(nextTaskId);
+        manifest.setSegments(new ArrayList<>(segments.values()));
+        byte[] bytes = manifestWriter.writeValueAsBytes(manifest);
+        Files.write(file.toPath(), bytes);
+        knownContent.put(MANIFEST_FILE, Arrays.hashCode(bytes));
+    }
+
+    // True if a segment file is no longer what this store last read or wrote
+    private boolean changedOnDisk(String key, SegmentInfo info) throws IOException {
+        Integer known = writtenHashes.get(key);
+        if (known == null) return false;
+        File file = new File(directory, info.getFile());
+        return !file.exists() || Arrays.hashCode(Files.readAllBytes(file.toPath())) != known;
+    }
+
+    private void updateCounters(SegmentInfo info, List<Task> segmentTasks) {
+        int completed = 0;
+        int important = 0;
+        LocalDate oldestCompletion = null;
+        for (Task t : segmentTasks) {
+            if (t.isCompleted()) completed++;
+            if (t.isImportant()) important++;
+            LocalDate day = SegmentInfo.completionDay(t);
+            if (day != null && (oldestCompletion == null || day.isBefore(oldestCompletion))) oldestCompletion = day;
+        }
+        info.setTaskCount(segmentTasks.size());
+        info.setCompletedCount(completed);
+        info.setImportantCount(important);
+        info.setOldestCompletion(oldestCompletion == null ? null : oldestCompletion.toString());
+    }
+
+    private String nextSegmentFileName() {
+        return String.format(compressed ? "segment-%05d.dz" : "segment-%05d.json", nextSegmentId++);
+    }
+
+    private static boolean isHot(SegmentInfo info, YearMonth current) {
+        if (info.pendingCount() > 0 || info.getMonth() == null) return true;
+        try {
+            return !YearMonth.parse(info.getMonth()).isBefore(current);
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static String monthOf(Task task) {
+        return task.getDueDate() == null ? null : YearMonth.from(task.getDueDate()).toString();
+    }
+
+    private static String keyOf(Task task) {
+        return keyOf(task.getListName(), monthOf(task));
+    }
+
+    private static String keyOf(String listName, String month) {
+        return (listName == null ? "" : "L" + listName) + KEY_SEPARATOR + (month == null ? "" : month);
+    }
+
+    /**
+     * JSON shape of manifest.json.
+     */
+    public static class Manifest {
+        private int nextSegmentId = 1;
+        private long nextTaskId = 1;
+        private List<SegmentInfo> segments = new ArrayList<>();
+
+        public int getNextSegmentId() { return nextSegmentId; }
+        public void setNextSegmentId(int nextSegmentId) { this.nextSegmentId = nextSegmentId; }
+
+        public long getNextTaskId() { return nextTaskId; }
+        public void setNextTaskId(long nextTaskId) { this.nextTaskId = nextTaskId; }
+
+        public List<SegmentInfo> getSegments() { return segments; }
+        public void setSegments(List<SegmentInfo> segments) { this.segments = segments; }
+    }
+}
@@ -0,0 +1,569 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mytodo.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for old completed tasks.
+ *
+ * Archived tasks are written as gzip-compressed JSON pages of at most PAGE_SIZE tasks.
+ * A small index (index.json) keeps the page list and task counts, so the Completed counter
+ * never needs to read a page. Pages are read through a {@link Cursor} (filtered, sequential)
+ * or by index as a {@link PagedTaskList.PageSource} (unfiltered, random access).
+ * Archived tasks only count toward Completed: like the views, the other sidebar counters
+ * cover the task store only.
+ *
+ * Public methods are synchronized: pages may be prefetched on a background thread.
+ * readPageAt() only holds the lock around index lookups (see there).
+ */
+public class TaskArchive implements PagedTaskList.PageSource {
+
+    private static final Log LOG = Log.get(TaskArchive.class);
+
+    public static final int PAGE_SIZE = 500;
+    private static final String INDEX_FILE = "index.json";
+    // Pages of a cleared archive wait here until the clear can no longer be undone
+    private static final String TRASH_DIR = "trash";
+
+    private final File directory;
+    private final ObjectMapper mapper;
+    private final ObjectWriter indexWriter;
+    private Index index = new Index();
+    // Bumped by every change to the pages (each one ends with writeIndex()) and by open()
+    private int changes = 0;
+
+    // Archived tasks currently materialized (cursor or page) -> where they live on disk
+    private final Map<Task, Location> locations = new IdentityHashMap<>();
+
+    public TaskArchive(File directory) {
+        this.directory = directory;
+        mapper = new ObjectMapper();
+        // Register module to support Java 8 time (LocalDate, LocalTime, etc.)
+        mapper.registerModule(new JavaTimeModule());
+        indexWriter = mapper.writerWithDefaultPrettyPrinter();
+    }
+
+    /**
+     * Reads the archive index. No page is read here.
+     */
+    public synchronized void open() {
+        changes++;
+        index = new Index();
+        locations.clear();
+        // Undo history does not survive a restart: leftover trash is final
+        try {
+            deleteTrash(null);
+        } catch (IOException e) {
+            LOG.warn("Failed to empty archive trash: " + e.getMessage());
+        }
+        File indexFile = new File(directory, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return;
+        }
+        try {
+            index = mapper.readValue(indexFile, Index.class);
+        } catch (IOException e) {
+            LOG.error("Failed to read archive index", e);
+            index = new Index();
+        }
+    }
+
+    /**
+     * @return total number of archived tasks (from the index only).
+     */
+    public synchronized int getTaskCount() {
+        int count = 0;
+        for (PageInfo page : index.getPages()) {
+            count += page.getTaskCount();
+        }
+        return count;
+    }
+
+    /**
+     * Appends tasks to the archive. The last page is filled up first, then new pages are created.
+     * The filled-up last page is written under a new name and the index is switched over last,
+     * so the archive on disk is either left as it was or holds every appended task.
+     *
+     * @throws IOException if a page or the index could not be written; the archive is left as it was.
+     */
+    public synchronized void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) return;
+        List<PageInfo> pages = index.getPages();
+        List<PageInfo> before = new ArrayList<>(pages);
+        int nextPageId = index.nextPageId;
+        List<PageInfo> written = new ArrayList<>();
+        PageInfo replaced = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            int next = 0;
+
+            if (!pages.isEmpty() && pages.get(pages.size() - 1).getTaskCount() < PAGE_SIZE) {
+                PageInfo last = pages.get(pages.size() - 1);
+                List<Task> content = readPage(last);
+                int room = PAGE_SIZE - content.size();
+                next = Math.min(room, tasks.size());
+                content.addAll(tasks.subList(0, next));
+                PageInfo filled = newPage();
+                writePage(filled, content);
+                written.add(filled);
+                pages.set(pages.size() - 1, filled);
+                replaced = last;
+            }
+
+            while (next < tasks.size()) {
+                int end = Math.min(next + PAGE_SIZE, tasks.size());
+                PageInfo page = newPage();
+                writePage(page, new ArrayList<>(tasks.subList(next, end)));
+                written.add(page);
+                pages.add(page);
+                next = end;
+            }
+
+            writeIndex();
+        } catch (IOException e) {
+            pages.clear();
+            pages.addAll(before);
+            index.nextPageId = nextPageId;
+            for (PageInfo page : written) {
+                try {
+                    Files.deleteIfExists(new File(directory, page.getFile()).toPath());
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            LOG.error("Failed to append to task archive", e);
+            throw e;
+        }
+
+        if (replaced != null) {
+            String file = pages.get(before.size() - 1).getFile();
+            for (Location location : locations.values()) {
+                if (location.file.equals(replaced.getFile())) location.file = file;
+            }
+            try {
+                Files.deleteIfExists(new File(directory, replaced.getFile()).toPath());
+            } catch (IOException e) {
+                // No longer in the index: only takes up space
+                LOG.warn("Failed to delete replaced archive page " + replaced.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true if the given task object was materialized from this archive.
+     */
+    public synchronized boolean contains(Task task) {
+        return locations.containsKey(task);
+    }
+
+    /**
+     * Removes a materialized task from its page (used when it is restored or deleted).
+     */
+    public synchronized boolean remove(Task task) {
+        Location location = locations.remove(task);
+        if (location == null) return false;
+
+        PageInfo page = findPage(location.file);
+        if (page == null) return false;
+        try {
+            List<Task> content = readPage(page);
+            if (location.position >= content.size()) return false;
+            content.remove(location.position);
+
+            // Later tasks of the same page shift down by one
+            for (Location other : locations.values()) {
+                if (other.file.equals(location.file) && other.position > location.position) {
+                    other.position--;
+                }
+            }
+
+            if (content.isEmpty()) {
+                Files.deleteIfExists(new File(directory, page.getFile()).toPath());
+                index.getPages().remove(page);
+            } else {
+                writePage(page, content);
+            }
+            writeIndex();
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to remove task from archive", e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes every archived task. The pages are moved to the trash folder, so the clear
+     * can be undone with restore(); call purge() once that is no longer possible.
+     *
+     * @return the removed pages (empty if the archive was empty).
+     * @throws IOException if a page could not be moved; pages already moved are put back
+     *         and the archive is left as it was.
+     */
+    public synchronized Trash clear() throws IOException {
+        Trash trash = new Trash(new ArrayList<>(index.getPages()));
+        File trashDir = new File(directory, TRASH_DIR);
+        List<PageInfo> moved = new ArrayList<>();
+        try {
+            if (!trash.pages.isEmpty()) {
+                Files.createDirectories(trashDir.toPath());
+            }
+            for (PageInfo page : trash.pages) {
+                File file = new File(directory, page.getFile());
+                if (file.exists()) {
+                    Files.move(file.toPath(), new File(trashDir, page.getFile()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    moved.add(page);
+                }
+            }
+            index.getPages().clear();
+            if (directory.exists()) {
+                writeIndex();
+            }
+        } catch (IOException e) {
+            rollBackClear(trash, moved, e);
+            throw e;
+        }
+        locations.clear();
+        return trash;
+    }
+
+    private void rollBackClear(Trash trash, List<PageInfo> moved, IOException failure) {
+        File trashDir = new File(directory, TRASH_DIR);
+        for (PageInfo page : moved) {
+            try {
+                Files.move(new File(trashDir, page.getFile()).toPath(), new File(directory, page.getFile()).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        if (index.getPages().isEmpty()) {
+            index.getPages().addAll(trash.pages);
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Puts pages removed by clear() back into the archive. Can be called again after a
+     * failure: pages already back are skipped.
+     *
+     * @throws IOException if a page could not be moved back; the pages restored so far stay
+     *         in the archive.
+     */
+    public synchronized void restore(Trash trash) throws IOException {
+        File trashDir = new File(directory, TRASH_DIR);
+        try {
+            for (PageInfo page : trash.pages) {
+                File file = new File(trashDir, page.getFile());
+                if (file.exists()) {
+                    Files.move(file.toPath(), new File(directory, page.getFile()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    index.getPages().add(page);
+                }
+            }
+        } finally {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Deletes the pages of a clear() for good.
+     *
+     * @throws IOException if a page could not be deleted (open() deletes it on the next start).
+     */
+    public synchronized void purge(Trash trash) throws IOException {
+        deleteTrash(trash);
+    }
+
+    private void deleteTrash(Trash trash) throws IOException {
+        File trashDir = new File(directory, TRASH_DIR);
+        File[] files = trashDir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (trash == null || trash.contains(file.getName())) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Forgets the disk location of tasks that are no longer shown.
+     */
+    public synchronized void release(Task task) {
+        locations.remove(task);
+    }
+
+    @Override
+    public synchronized int getPageCount() {
+        return index.getPages().size();
+    }
+
+    @Override
+    public synchronized int getPageTaskCount(int page) {
+        return index.getPages().get(page).getTaskCount();
+    }
+
+    /**
+     * Reads one page by position; the returned tasks can later be passed to remove().
+     * The page is read and decompressed without holding the lock, so a read on the FX
+     * thread does not wait for a prefetch; if the archive changed meanwhile, the page is
+     * read again under the lock.
+     */
+    @Override
+    public List<Task> readPageAt(int page) {
+        PageInfo info;
+        int seen;
+        synchronized (this) {
+            if (page < 0 || page >= index.getPages().size()) return new ArrayList<>();
+            info = index.getPages().get(page);
+            seen = changes;
+        }
+        List<Task> content = readPageOrEmpty(info);
+        synchronized (this) {
+            if (seen != changes) {
+                if (page >= index.getPages().size()) return new ArrayList<>();
+                info = index.getPages().get(page);
+                content = readPageOrEmpty(info);
+            }
+            for (int i = 0; i < content.size(); i++) {
+                locations.put(content.get(i), new Location(info.getFile(), i));
+            }
+            return content;
+        }
+    }
+
+    @Override
+    public synchronized void pageEvicted(List<Task> tasks) {
+        for (Task t : tasks) {
+            locations.remove(t);
+        }
+    }
+
+    /**
+     * Opens a lazy reader over archived tasks matching the filter.
+     * Pages are decompressed one at a time, only when more results are requested.
+     */
+    public Cursor cursor(Predicate<Task> filter) {
+        return new Cursor(filter);
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers
+    // ---------------------------------------------------------------------
+
+    private PageInfo findPage(String file) {
+        for (PageInfo page : index.getPages()) {
+            if (page.getFile().equals(file)) return page;
+        }
+        return null;
+    }
+
+    private List<Task> readPageOrEmpty(PageInfo page) {
+        try {
+            return readPage(page);
+        } catch (IOException e) {
+            LOG.error("Failed to read archive page " + page.getFile(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Task> readPage(PageInfo page) throws IOException {
+        File file = new File(directory, page.getFile());
+        if (!file.exists()) return new ArrayList<>();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            return TaskJson.TASKS_READER.readValue(in);
+        }
+    }
+
+    private PageInfo newPage() {
+        return new PageInfo(String.format("page-%05d.json.gz", index.nextPageId++));
+    }
+
+    private void writePage(PageInfo page, List<Task> content) throws IOException {
+        writeAtomically(new File(directory, page.getFile()), out -> {
+            try (OutputStream gzip = new GZIPOutputStream(out)) {
+                TaskJson.TASKS_WRITER.writeValue(gzip, content);
+            }
+        });
+        page.setTaskCount(content.size());
+    }
+
+    private void writeIndex() throws IOException {
+        changes++;
+        writeAtomically(new File(directory, INDEX_FILE), out -> indexWriter.writeValue(out, index));
+    }
+
+    /**
+     * Writes to a temporary file next to the target, then moves it over the target: a crash
+     * mid-write never leaves a partly written page or index behind.
+     */
+    private static void writeAtomically(File file, Content content) throws IOException {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+                content.writeTo(out);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tmp.toPath());
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Lazy, paged reader over the archive.
+     */
+    public class Cursor {
+        private final Predicate<Task> filter;
+        private final List<String> pageFiles = new ArrayList<>();
+        private final Deque<Task> buffered = new ArrayDeque<>();
+        private int nextPage = 0;
+
+        private Cursor(Predicate<Task> filter) {
+            this.filter = filter;
+            // Snapshot of the page list, so removals while paging do not skip pages
+            for (PageInfo page : index.getPages()) {
+                pageFiles.add(page.getFile());
+            }
+        }
+
+        public boolean hasMore() {
+            return !buffered.isEmpty() || nextPage < pageFiles.size();
+        }
+
+        /**
+         * @return up to max matching tasks; reads as few pages as possible.
+         */
+        public List<Task> next(int max) {
+            List<Task> result = new ArrayList<>();
+            synchronized (TaskArchive.this) {
+                while (result.size() < max) {
+                    if (buffered.isEmpty() && !fillBuffer()) break;
+                    result.add(buffered.poll());
+                }
+            }
+            return result;
+        }
+
+        private boolean fillBuffer() {
+            while (nextPage < pageFiles.size()) {
+                String file = pageFiles.get(nextPage++);
+                PageInfo page = findPage(file);
+                if (page == null) continue;
+                try {
+                    List<Task> content = readPage(page);
+                    for (int i = 0; i < content.size(); i++) {
+                        Task t = content.get(i);
+                        if (!filter.test(t)) continue;
+                        locations.put(t, new Location(file, i));
+                        buffered.add(t);
+                    }
+                } catch (IOException e) {
+                    LOG.error("Failed to read archive page " + file, e);
+                }
+                if (!buffered.isEmpty()) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Pages taken out of the archive by clear().
+     */
+    public static class Trash {
+        private final List<PageInfo> pages;
+
+        private Trash(List<PageInfo> pages) {
+            this.pages = pages;
+        }
+
+        public int getTaskCount() {
+            int count = 0;
+            for (PageInfo page : pages) count += page.getTaskCount();
+            return count;
+        }
+
+        private boolean contains(String file) {
+            for (PageInfo page : pages) {
+                if (page.getFile().equals(file)) return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Location {
+        String file;
+        int position;
+
+        Location(String file, int position) {
+            this.file = file;
+            this.position = position;
+        }
+    }
+
+    /**
+     * JSON shape of one entry in index.json. Indexes written by older versions also hold
+     * an importantCount, which is ignored.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PageInfo {
+        private String file;
+        private int taskCount;
+
+        public PageInfo() {
+        }
+
+        public PageInfo(String file) {
+            this.file = file;
+        }
+
+        public String getFile() { return file; }
+        public void setFile(String file) { this.file = file; }
+
+        public int getTaskCount() { return taskCount; }
+        public void setTaskCount(int taskCount) { this.taskCount = taskCount; }
+    }
+
+    /**
+     * JSON shape of index.json.
+     */
+    public static class Index {
+        private int nextPageId = 1;
+        private List<PageInfo> pages = new ArrayList<>();
+
+        public int getNextPageId() { return nextPageId; }
+        public void setNextPageId(int nextPageId) { this.nextPageId = nextPageId; }
+
+        public List<PageInfo> getPages() { return pages; }
+        public void setPages(List<PageInfo> pages) { this.pages = pages; }
+    }
+}
@@ -0,0 +1,178 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the segment directory and the lists file for changes made by another program
+ * (or another instance of the app), and reads them on its own thread.
+ *
+ * Events are collected until QUIET_MS pass without a new one (a writer saves several files
+ * in a row), then only the files that changed are read and parsed, and handed to the
+ * callback as one {@link Changes} batch. Files whose content this store itself last wrote
+ * or read are skipped after hashing, so the app's own saves are never parsed again.
+ * A file that cannot be parsed (caught half-written) is skipped; the writer's next event
+ * brings it back.
+ */
+public class TaskFileWatcher {
+
+    private static final Log LOG = Log.get(TaskFileWatcher.class);
+
+    private static final long QUIET_MS = 250;
+
+    private final SegmentedTaskStore store;
+    private final File listsFile;
+    private final Consumer<Changes> onChange;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param onChange called on the watcher thread.
+     */
+    public TaskFileWatcher(SegmentedTaskStore store, File listsFile, Consumer<Changes> onChange) {
+        this.store = store;
+        this.listsFile = listsFile.getAbsoluteFile();
+        this.onChange = onChange;
+    }
+
+    public synchronized void start() throws IOException {
+        if (thread != null) return;
+        Path segmentsDir = store.getDirectory().toPath().toAbsolutePath();
+        Files.createDirectories(segmentsDir);
+        watchService = FileSystems.getDefault().newWatchService();
+        WatchKey segmentsKey = register(segmentsDir);
+        WatchKey listsKey = register(listsFile.toPath().getParent());
+
+        thread = new Thread(() -> run(segmentsKey, listsKey), "task-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void close() {
+        if (thread == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close file watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+        thread = null;
+    }
+
+    private WatchKey register(Path dir) throws IOException {
+        return dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void run(WatchKey segmentsKey, WatchKey listsKey) {
+        Set<String> segmentFiles = new HashSet<>();
+        boolean listsChanged = false;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean pending = !segmentFiles.isEmpty() || listsChanged;
+                WatchKey key = pending ? watchService.poll(QUIET_MS, TimeUnit.MILLISECONDS) : watchService.take();
+                if (key == null) {
+                    // Quiet period over: read what changed
+                    Changes changes = read(segmentFiles, listsChanged);
+                    segmentFiles.clear();
+                    listsChanged = false;
+                    if (!changes.isEmpty()) onChange.accept(changes);
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    String name = event.context().toString();
+                    if (key == segmentsKey) segmentFiles.add(name);
+                    if (key == listsKey && name.equals(listsFile.getName())) listsChanged = true;
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        } catch (RuntimeException e) {
+            LOG.error("File watcher stopped", e);
+        }
+    }
+
+    private Changes read(Set<String> names, boolean listsChanged) {
+        Changes changes = new Changes();
+        for (String name : names) {
+            File file = new File(store.getDirectory(), name);
+            try {
+                if (!file.exists()) {
+                    if (!name.equals(SegmentedTaskStore.MANIFEST_FILE)) changes.segments.put(name, null);
+                    continue;
+                }
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                int hash = Arrays.hashCode(bytes);
+                if (store.isKnownContent(name, hash)) continue;
+                if (name.equals(SegmentedTaskStore.MANIFEST_FILE)) {
+                    changes.manifest = store.parseManifest(bytes);
+                } else if (name.endsWith(".json") || name.endsWith(".dz")) {
+                    changes.segments.put(name, store.parseSegment(bytes));
+                    changes.hashes.put(name, hash);
+                }
+            } catch (IOException e) {
+                LOG.warn("Skipping " + name + " (being written?): " + e.getMessage());
+            }
+        }
+        if (listsChanged) {
+            try {
+                changes.listLines = listsFile.exists() ? Files.readAllLines(listsFile.toPath()) : List.of();
+            } catch (IOException e) {
+                LOG.warn("Skipping " + listsFile.getName() + ": " + e.getMessage());
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Content of the files another writer changed, read and parsed.
+     */
+    public static final class Changes {
+        // file name -> tasks now in the file (null: file deleted)
+        private final Map<String, List<Task>> segments = new HashMap<>();
+        private final Map<String, Integer> hashes = new HashMap<>();
+        private SegmentedTaskStore.Manifest manifest;
+        private List<String> listLines;
+
+        public Map<String, List<Task>> getSegments() { return segments; }
+
+        /**
+         * @return content hash of a changed segment file (null if it was deleted).
+         */
+        public Integer getHash(String fileName) { return hashes.get(fileName); }
+
+        /**
+         * @return the new manifest, or null if it did not change.
+         */
+        public SegmentedTaskStore.Manifest getManifest() { return manifest; }
+
+        /**
+         * @return the new lines of the lists file, or null if it did not change.
+         */
+        public List<String> getListLines() { return listLines; }
+
+        public boolean isEmpty() {
+            return segments.isEmpty() && manifest == null && listLines == null;
+        }
+    }
+}
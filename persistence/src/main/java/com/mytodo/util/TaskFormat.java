@@ -0,0 +1,93 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * File formats tasks can be imported from and exported to.
+ *
+ * Readers and writers stream: a reader holds one record at a time and a writer writes each
+ * task as it is given, so memory does not grow with the file. Fields mapped both ways:
+ * title, description, dueDate, time, priority, listName, completed, important.
+ */
+public enum TaskFormat {
+    CSV("csv", "CSV"),
+    ICS("ics", "iCalendar");
+
+    private final String extension;
+    private final String displayName;
+
+    TaskFormat(String extension, String displayName) {
+        this.extension = extension;
+        this.displayName = displayName;
+    }
+
+    public String getExtension() { return extension; }
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * @return the format for the file's extension, or null if it is not one of ours.
+     */
+    public static TaskFormat forFile(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        for (TaskFormat f : values()) {
+            if (name.endsWith("." + f.extension)) return f;
+        }
+        return null;
+    }
+
+    public Reader reader(java.io.Reader in) {
+        return this == CSV ? new CsvTaskFormat.Reader(in) : new IcsTaskFormat.Reader(in);
+    }
+
+    public Writer writer(java.io.Writer out) {
+        return this == CSV ? new CsvTaskFormat.Writer(out) : new IcsTaskFormat.Writer(out);
+    }
+
+    public interface Reader extends Closeable {
+        /**
+         * @return the next task (no id yet), or null at the end of the input.
+         * @throws BadRecordException for a record that cannot be read; the next call
+         *         continues with the record after it.
+         */
+        Task read() throws IOException;
+    }
+
+    public interface Writer extends Closeable {
+        void write(Task task) throws IOException;
+    }
+
+    /**
+     * One record could not be mapped to a task. The input itself is still readable.
+     */
+    public static class BadRecordException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public BadRecordException(long line, String message) {
+            super("Line " + line + ": " + message);
+        }
+    }
+
+    // --- Field values shared by the formats ---
+
+    static String priorityOf(String value) {
+        if (value == null) return "Normal";
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "high": return "High";
+            case "low":  return "Low";
+            default:     return "Normal";
+        }
+    }
+
+    static boolean booleanOf(String value) {
+        if (value == null) return false;
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "y": case "1": case "x": return true;
+            default: return false;
+        }
+    }
+}
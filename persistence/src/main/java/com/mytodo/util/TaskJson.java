@@ -0,0 +1,368 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.mytodo.ListInfo;
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Jackson (de)serializers for Task and ListInfo, and the readers and writers
+ * built from them once and shared (ObjectReader / ObjectWriter are immutable and thread-safe).
+ *
+ * Tasks are streamed field by field instead of through bean introspection, and fields that
+ * hold their default are left out:
+ *
+ *   {"id":12,"revision":3,"title":"Pay rent","dueDate":"2024-05-31","time":"09:00",
+ *    "priority":"High","listName":"Home"}
+ *
+ * description ("") and priority ("Normal") are omitted when they have their default, and
+ * completed / important when false; null fields are omitted (an explicit null is written
+ * for a null description or priority, which are not null by default). Dates are ISO
+ * strings and times HH:mm[:ss]. The reader also accepts the bean layout written before
+ * (every field, dates as [2024,5,31] arrays), and the bean mapper reads this layout, so
+ * files stay readable in both directions.
+ */
+public final class TaskJson {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString REVISION = new SerializedString("revision");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializableString TIME = new SerializedString("time");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString IMPORTANT = new SerializedString("important");
+    private static final SerializableString LIST_NAME = new SerializedString("listName");
+    private static final SerializableString COMPLETED_DATE = new SerializedString("completedDate");
+    private static final SerializableString RECURRENCE = new SerializedString("recurrence");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString ICON_PATH = new SerializedString("iconPath");
+
+    private static final String DEFAULT_PRIORITY = "Normal";
+
+    // Dates and times are handled here; Recurrence brings its own annotations
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(module());
+    // Read into an ArrayList; write any List (sub lists, immutable lists)
+    private static final CollectionType TASK_ARRAY_LIST = MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, Task.class);
+    private static final CollectionType TASK_LIST = MAPPER.getTypeFactory().constructCollectionType(List.class, Task.class);
+
+    /** Reads a JSON array of tasks into an ArrayList. */
+    public static final ObjectReader TASKS_READER = MAPPER.readerFor(TASK_ARRAY_LIST);
+    /** Writes a list of tasks on one line (compressed blocks, archive pages). */
+    public static final ObjectWriter TASKS_WRITER = MAPPER.writerFor(TASK_LIST);
+    /** Writes a list of tasks indented, one field per line (plain files people may edit). */
+    public static final ObjectWriter TASKS_PRETTY_WRITER = TASKS_WRITER.withDefaultPrettyPrinter();
+
+    private TaskJson() {
+    }
+
+    /**
+     * @return a module with the Task and ListInfo (de)serializers, for other mappers.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("MyTodoJson");
+        module.addSerializer(Task.class, new TaskSerializer());
+        module.addDeserializer(Task.class, new TaskDeserializer());
+        module.addSerializer(ListInfo.class, new ListInfoSerializer());
+        module.addDeserializer(ListInfo.class, new ListInfoDeserializer());
+        return module;
+    }
+
+    static final class TaskSerializer extends StdSerializer<Task> {
+        private static final long serialVersionUID = 1L;
+
+        TaskSerializer() {
+            super(Task.class);
+        }
+
+        @Override
+        public void serialize(Task t, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(ID);
+            gen.writeNumber(t.getId());
+            gen.writeFieldName(REVISION);
+            gen.writeNumber(t.getRevision());
+            gen.writeFieldName(TITLE);
+            gen.writeString(t.getTitle());
+            if (t.getDescription() == null || !t.getDescription().isEmpty()) {
+                gen.writeFieldName(DESCRIPTION);
+                gen.writeString(t.getDescription());
+            }
+            if (t.getDueDate() != null) {
+                gen.writeFieldName(DUE_DATE);
+                writeDate(gen, t.getDueDate());
+            }
+            if (t.getTime() != null) {
+                gen.writeFieldName(TIME);
+                writeTime(gen, t.getTime());
+            }
+            if (!DEFAULT_PRIORITY.equals(t.getPriority())) {
+                gen.writeFieldName(PRIORITY);
+                gen.writeString(t.getPriority());
+            }
+            if (t.isCompleted()) {
+                gen.writeFieldName(COMPLETED);
+                gen.writeBoolean(true);
+            }
+            if (t.isImportant()) {
+                gen.writeFieldName(IMPORTANT);
+                gen.writeBoolean(true);
+            }
+            if (t.getListName() != null) {
+                gen.writeFieldName(LIST_NAME);
+                gen.writeString(t.getListName());
+            }
+            if (t.getCompletedDate() != null) {
+                gen.writeFieldName(COMPLETED_DATE);
+                writeDate(gen, t.getCompletedDate());
+            }
+            if (t.getRecurrence() != null) {
+                gen.writeFieldName(RECURRENCE);
+                provider.defaultSerializeValue(t.getRecurrence(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class TaskDeserializer extends StdDeserializer<Task> {
+        private static final long serialVersionUID = 1L;
+
+        TaskDeserializer() {
+            super(Task.class);
+        }
+
+        @Override
+        public Task deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (Task) ctxt.handleUnexpectedToken(Task.class, p);
+            }
+            Task t = new Task();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                JsonToken token = p.nextToken();
+                switch (name) {
+                    case "id" -> t.setId(p.getValueAsLong());
+                    case "revision" -> t.setRevision(p.getValueAsLong());
+                    case "title" -> t.setTitle(text(p));
+                    case "description" -> t.setDescription(text(p));
+                    case "dueDate" -> t.setDueDate(date(p, ctxt));
+                    case "time" -> t.setTime(time(p, ctxt));
+                    case "priority" -> t.setPriority(priority(p));
+                    case "completed" -> t.setCompleted(token == JsonToken.VALUE_TRUE);
+                    case "important" -> t.setImportant(token == JsonToken.VALUE_TRUE);
+                    case "listName" -> t.setListName(text(p));
+                    case "completedDate" -> t.setCompletedDate(date(p, ctxt));
+                    case "recurrence" -> t.setRecurrence(token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, Recurrence.class));
+                    default -> ctxt.handleUnknownProperty(p, this, Task.class, name);
+                }
+            }
+            return t;
+        }
+
+        // One instance per level instead of one string per task
+        private static String priority(JsonParser p) throws IOException {
+            String value = text(p);
+            if (value == null) return null;
+            return switch (value) {
+                case "High" -> "High";
+                case "Normal" -> "Normal";
+                case "Low" -> "Low";
+                default -> value;
+            };
+        }
+    }
+
+    static final class ListInfoSerializer extends StdSerializer<ListInfo> {
+        private static final long serialVersionUID = 1L;
+
+        ListInfoSerializer() {
+            super(ListInfo.class);
+        }
+
+        @Override
+        public void serialize(ListInfo list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(NAME);
+            gen.writeString(list.getName());
+            if (list.getIconPath() != null) {
+                gen.writeFieldName(ICON_PATH);
+                gen.writeString(list.getIconPath());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ListInfoDeserializer extends StdDeserializer<ListInfo> {
+        private static final long serialVersionUID = 1L;
+
+        ListInfoDeserializer() {
+            super(ListInfo.class);
+        }
+
+        @Override
+        public ListInfo deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (ListInfo) ctxt.handleUnexpectedToken(ListInfo.class, p);
+            }
+            ListInfo list = new ListInfo();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                switch (name) {
+                    case "name" -> list.setName(text(p));
+                    case "iconPath" -> list.setIconPath(text(p));
+                    default -> ctxt.handleUnknownProperty(p, this, ListInfo.class, name);
+                }
+            }
+            return list;
+        }
+    }
+
+    // Same text as LocalDate.toString() for years 0..9999, without building a String
+    private static void writeDate(JsonGenerator gen, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(date.toString());
+            return;
+        }
+        char[] c = new char[10];
+        put(c, 0, year, 4);
+        c[4] = '-';
+        put(c, 5, date.getMonthValue(), 2);
+        c[7] = '-';
+        put(c, 8, date.getDayOfMonth(), 2);
+        gen.writeString(c, 0, 10);
+    }
+
+    // HH:mm, or LocalTime.toString() if there are seconds
+    private static void writeTime(JsonGenerator gen, LocalTime time) throws IOException {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            gen.writeString(time.toString());
+            return;
+        }
+        char[] c = new char[5];
+        put(c, 0, time.getHour(), 2);
+        c[2] = ':';
+        put(c, 3, time.getMinute(), 2);
+        gen.writeString(c, 0, 5);
+    }
+
+    private static void put(char[] c, int at, int value, int width) {
+        for (int i = at + width - 1; i >= at; i--) {
+            c[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static String text(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+    }
+
+    // "2024-05-31", or [2024,5,31] as the bean mapper wrote it
+    private static LocalDate date(JsonParser p, DeserializationContext ctxt) throws IOException {
+        try {
+            switch (p.currentToken()) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_STRING:
+                    return parseDate(p);
+                case START_ARRAY:
+                    int[] v = numbers(p, 3, 3);
+                    return LocalDate.of(v[0], v[1], v[2]);
+                default:
+                    return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+            }
+        } catch (DateTimeException e) {
+            return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, p.getText(), e.getMessage());
+        }
+    }
+
+    // "09:30" / "09:30:15", or [9,30] / [9,30,15] / [9,30,15,nanos]
+    private static LocalTime time(JsonParser p, DeserializationContext ctxt) throws IOException {
+        try {
+            switch (p.currentToken()) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_STRING:
+                    return parseTime(p);
+                case START_ARRAY:
+                    int[] v = numbers(p, 2, 4);
+                    return LocalTime.of(v[0], v[1], v[2], v[3]);
+                default:
+                    return (LocalTime) ctxt.handleUnexpectedToken(LocalTime.class, p);
+            }
+        } catch (DateTimeException e) {
+            return (LocalTime) ctxt.handleWeirdStringValue(LocalTime.class, p.getText(), e.getMessage());
+        }
+    }
+
+    // yyyy-MM-dd read from the parser's buffer; DateTimeFormatter (LocalDate.parse) costs
+    // more than the rest of the task, so it is only the fallback for other spellings
+    private static LocalDate parseDate(JsonParser p) throws IOException {
+        char[] c = p.getTextCharacters();
+        int o = p.getTextOffset();
+        if (p.getTextLength() == 10 && c[o + 4] == '-' && c[o + 7] == '-') {
+            int year = digits(c, o, 4), month = digits(c, o + 5, 2), day = digits(c, o + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) return LocalDate.of(year, month, day);
+        }
+        return LocalDate.parse(p.getText().trim());
+    }
+
+    // HH:mm or HH:mm:ss, as parseDate
+    private static LocalTime parseTime(JsonParser p) throws IOException {
+        char[] c = p.getTextCharacters();
+        int o = p.getTextOffset(), n = p.getTextLength();
+        if ((n == 5 || (n == 8 && c[o + 5] == ':')) && c[o + 2] == ':') {
+            int hour = digits(c, o, 2), minute = digits(c, o + 3, 2), second = n == 8 ? digits(c, o + 6, 2) : 0;
+            if (hour >= 0 && minute >= 0 && second >= 0) return LocalTime.of(hour, minute, second);
+        }
+        return LocalTime.parse(p.getText().trim());
+    }
+
+    // Decimal value of n digits, or -1
+    private static int digits(char[] c, int from, int n) {
+        int value = 0;
+        for (int i = from; i < from + n; i++) {
+            int d = c[i] - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    // Array of min..max ints (missing ones are 0), parser left on its END_ARRAY
+    private static int[] numbers(JsonParser p, int min, int max) throws IOException {
+        int[] values = new int[4];
+        int n = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_INT || n == max) {
+                throw new DateTimeException("expected " + min + " to " + max + " numbers");
+            }
+            values[n++] = p.getIntValue();
+        }
+        if (n < min) throw new DateTimeException("expected " + min + " to " + max + " numbers");
+        return values;
+    }
+}
@@ -0,0 +1,284 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background import and export of task files ({@link TaskFormat}).
+ *
+ * Import is a two-stage pipeline: a parser thread reads the file into batches of
+ * batchSize tasks and a committer thread hands each batch to the caller's sink. At most
+ * QUEUED_BATCHES batches wait between the two, so a sink that commits slowly (e.g. on the
+ * FX thread) stops the parser instead of letting parsed tasks pile up: memory used by the
+ * pipeline does not depend on the file size. Export writes tasks as they are iterated.
+ *
+ * Both run until done, failed or cancelled; {@link Job} reports progress and is polled
+ * by the UI. A cancelled import keeps the batches already committed; a cancelled or
+ * failed export leaves no file behind (it is written to a temp file and moved in place).
+ */
+public final class TaskTransfer {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int QUEUED_BATCHES = 2;
+    // Bad records reported in detail; the rest are only counted
+    private static final int MAX_PROBLEMS = 20;
+    private static final long POLL_MS = 100;
+
+    private static final Metrics.Histogram IMPORT_RATE = Metrics.histogram("transfer.import.tasksPerSec");
+    private static final Metrics.Histogram EXPORT_RATE = Metrics.histogram("transfer.export.tasksPerSec");
+
+    private TaskTransfer() {
+    }
+
+    /**
+     * Receives imported tasks, on the committer thread. Blocking here holds back the parser.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        void accept(List<Task> batch) throws Exception;
+    }
+
+    /**
+     * Imports the file in the background. Tasks have no id when they reach the sink.
+     */
+    public static Job startImport(File file, TaskFormat format, int batchSize, BatchSink sink) {
+        Job job = new Job(file.length(), 2);
+        BlockingQueue<List<Task>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+
+        Thread parser = new Thread(() -> {
+            try (CountingInputStream counted = new CountingInputStream(Files.newInputStream(file.toPath()), job.done);
+                 TaskFormat.Reader reader = format.reader(new InputStreamReader(
+                         new BufferedInputStream(counted, 64 * 1024), StandardCharsets.UTF_8))) {
+                List<Task> batch = new ArrayList<>(batchSize);
+                while (!job.cancelled) {
+                    Task t;
+                    try {
+                        t = reader.read();
+                    } catch (TaskFormat.BadRecordException e) {
+                        job.skipped(e.getMessage());
+                        continue;
+                    }
+                    if (t == null) break;
+                    batch.add(t);
+                    if (batch.size() == batchSize) {
+                        if (!put(queue, batch, job)) return;
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) put(queue, batch, job);
+            } catch (IOException | RuntimeException e) {
+                job.fail(e);
+            } catch (InterruptedException e) {
+                job.cancel();
+            } finally {
+                job.parsed = true;
+                job.threadDone();
+            }
+        }, "task-import-parser");
+
+        Thread committer = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                while (!job.cancelled && job.error == null) {
+                    // Checked before polling: a batch put before the flag is set is still taken
+                    boolean parsed = job.parsed;
+                    List<Task> batch = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (batch == null) {
+                        if (parsed) break;
+                        continue;
+                    }
+                    sink.accept(batch);
+                    job.tasks.addAndGet(batch.size());
+                }
+                if (job.error == null && !job.cancelled) recordRate(IMPORT_RATE, job.tasks.get(), start);
+            } catch (Exception e) {
+                job.fail(e);
+            } finally {
+                // Unblocks the parser if it is waiting for room
+                job.finished = true;
+                queue.clear();
+                job.threadDone();
+            }
+        }, "task-import-commit");
+
+        parser.setDaemon(true);
+        committer.setDaemon(true);
+        parser.start();
+        committer.start();
+        return job;
+    }
+
+    // Waits for room in the queue; false if the job ended meanwhile
+    private static boolean put(BlockingQueue<List<Task>> queue, List<Task> batch, Job job) throws InterruptedException {
+        while (!job.cancelled && !job.finished) {
+            if (queue.offer(batch, POLL_MS, TimeUnit.MILLISECONDS)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the tasks to the file in the background.
+     * @param tasks iterated once on the export thread: must not change meanwhile (e.g. a
+     *              {@link TaskSnapshot}).
+     * @param count number of tasks, for progress.
+     */
+    public static Job startExport(Iterable<Task> tasks, long count, File file, TaskFormat format) {
+        Job job = new Job(count, 1);
+        Thread exporter = new Thread(() -> {
+            long start = System.nanoTime();
+            File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+            try {
+                try (TaskFormat.Writer writer = format.writer(new OutputStreamWriter(
+                        new BufferedOutputStream(Files.newOutputStream(tmp.toPath()), 64 * 1024), StandardCharsets.UTF_8))) {
+                    for (Task t : tasks) {
+                        if (job.cancelled) break;
+                        writer.write(t);
+                        job.tasks.incrementAndGet();
+                        job.done.incrementAndGet();
+                    }
+                }
+                if (job.cancelled) {
+                    Files.deleteIfExists(tmp.toPath());
+                } else {
+                    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    recordRate(EXPORT_RATE, job.tasks.get(), start);
+                }
+            } catch (IOException | RuntimeException e) {
+                job.fail(e);
+                try {
+                    Files.deleteIfExists(tmp.toPath());
+                } catch (IOException ignored) {
+                    // Nothing more to clean up
+                }
+            } finally {
+                job.finished = true;
+                job.threadDone();
+            }
+        }, "task-export");
+        exporter.setDaemon(true);
+        exporter.start();
+        return job;
+    }
+
+    private static void recordRate(Metrics.Histogram histogram, long tasks, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (tasks > 0 && seconds > 0) histogram.record((long) (tasks / seconds));
+    }
+
+    /**
+     * A running or finished import/export. Counters are safe to read from any thread.
+     */
+    public static final class Job {
+        private final long total;
+        // Import: bytes read; export: tasks written
+        private final AtomicLong done = new AtomicLong();
+        private final AtomicLong tasks = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final List<String> problems = Collections.synchronizedList(new ArrayList<>());
+        private final CompletableFuture<Job> completion = new CompletableFuture<>();
+        private final AtomicInteger running;
+        private volatile boolean cancelled;
+        // Import: the parser read everything it will read
+        private volatile boolean parsed;
+        // Nothing more is taken from the pipeline
+        private volatile boolean finished;
+        private volatile Throwable error;
+
+        private Job(long total, int threads) {
+            this.total = total;
+            this.running = new AtomicInteger(threads);
+        }
+
+        public void cancel() { cancelled = true; }
+        public boolean isCancelled() { return cancelled; }
+        public boolean isDone() { return completion.isDone(); }
+
+        /**
+         * @return 0..1, or -1 if the size is not known.
+         */
+        public double getProgress() {
+            if (total <= 0) return -1;
+            return Math.min(1.0, done.get() / (double) total);
+        }
+
+        /**
+         * @return tasks committed (import) or written (export) so far.
+         */
+        public long getTaskCount() { return tasks.get(); }
+        public long getSkippedCount() { return skipped.get(); }
+
+        /**
+         * @return the first bad records (line and reason).
+         */
+        public List<String> getProblems() {
+            synchronized (problems) {
+                return new ArrayList<>(problems);
+            }
+        }
+
+        /**
+         * @return what stopped the job, or null if it finished or was cancelled.
+         */
+        public Throwable getError() { return error; }
+
+        /**
+         * Completes (never exceptionally) when both threads are done.
+         */
+        public CompletableFuture<Job> whenDone() { return completion; }
+
+        private void skipped(String problem) {
+            if (skipped.incrementAndGet() <= MAX_PROBLEMS) problems.add(problem);
+        }
+
+        private void fail(Throwable e) {
+            if (error == null) error = e;
+        }
+
+        private void threadDone() {
+            if (running.decrementAndGet() == 0) completion.complete(this);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count.addAndGet(n);
+            return n;
+        }
+    }
+}
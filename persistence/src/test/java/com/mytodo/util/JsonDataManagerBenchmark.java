@@ -0,0 +1,104 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load and save cost of the {@link JsonDataManager} formats: plain JSON, Deflate-compressed
+ * JSON blocks and Smile blocks.
+ *
+ *   java -cp &lt;persistence test classpath&gt; com.mytodo.util.JsonDataManagerBenchmark [tasks] [rounds]
+ *
+ * Defaults: 100000 tasks (the TaskTransferBenchmark generator), 10 measured rounds after
+ * as many warm-up rounds. Each format is written to a temporary file once; "load" is
+ * load(File), including the read from disk, "save" is toBytes(). Snapshot blocks are
+ * parsed on the common fork-join pool, so the load times depend on the core count (printed).
+ * Prints the median and best time (the median includes collections of the previous rounds'
+ * garbage, the best mostly does not), the bytes allocated per call on the calling thread and the file
+ * size. Checks that every format gives the tasks back unchanged; exits with status 1 if not.
+ */
+public final class JsonDataManagerBenchmark {
+
+    private JsonDataManagerBenchmark() {
+    }
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task t = TaskTransferBenchmark.task(i);
+            t.setRevision(i % 5 + 1);
+            if (t.isCompleted()) t.setCompletedDate(LocalDate.of(2024, 6, 1).plusDays(i % 200));
+            tasks.add(t);
+        }
+        JsonDataManager manager = new JsonDataManager();
+        File dir = Files.createTempDirectory("mytodo-snapshots").toFile();
+        List<String> failures = new ArrayList<>();
+
+        System.out.printf("Snapshot format benchmark: %d tasks, %d measured rounds, %d cores%n",
+                count, rounds, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-20s %10s %10s %14s %10s%n", "", "median", "best", "allocated", "size");
+        try {
+            for (JsonDataManager.Format format : JsonDataManager.Format.values()) {
+                File file = new File(dir, format.name().toLowerCase());
+                byte[] bytes = manager.toBytes(tasks, format);
+                Files.write(file.toPath(), bytes);
+                check(failures, format.name(), tasks, manager.load(file));
+
+                measure("save " + format.name().toLowerCase(), rounds, bytes.length,
+                        () -> manager.toBytes(tasks, format));
+                measure("load " + format.name().toLowerCase(), rounds, bytes.length, () -> manager.load(file));
+                file.delete();
+            }
+        } finally {
+            dir.delete();
+        }
+
+        failures.forEach(f -> System.out.println("FAILED: " + f));
+        if (!failures.isEmpty()) System.exit(1);
+        System.out.println("OK");
+    }
+
+    private static void check(List<String> failures, String what, List<Task> expected, List<Task> actual) {
+        if (actual.size() != expected.size()) {
+            failures.add(what + ": " + actual.size() + " tasks instead of " + expected.size());
+            return;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Task e = expected.get(i), a = actual.get(i);
+            if (!a.sameContent(e) || a.getId() != e.getId() || a.getRevision() != e.getRevision()) {
+                failures.add(what + ": task " + i + " differs");
+                return;
+            }
+        }
+    }
+
+    private static void measure(String name, int rounds, long size, Op op) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < rounds; i++) op.run();
+        long[] times = new long[rounds];
+        long allocated = 0;
+        for (int i = 0; i < rounds; i++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            op.run();
+            times[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        Arrays.sort(times);
+        System.out.printf("%-20s %7.1f ms %7.1f ms %11.1f MB %7.1f MB%n",
+                name, times[rounds / 2] / 1e6, times[0] / 1e6, allocated / (double) rounds / (1 << 20), size / (double) (1 << 20));
+    }
+}
@@ -0,0 +1,103 @@
+package com.mytodo.util;
+
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonDataManagerTest {
+
+    private final JsonDataManager manager = new JsonDataManager();
+
+    @TempDir
+    File dir;
+
+    @ParameterizedTest
+    @EnumSource(JsonDataManager.Format.class)
+    void everyFormatRoundTripsAcrossBlocks(JsonDataManager.Format format) throws Exception {
+        // More than two blocks, the last one partly filled
+        List<Task> tasks = tasks(JsonDataManager.BLOCK_SIZE * 2 + 17);
+        File file = new File(dir, "tasks." + format);
+        Files.write(file.toPath(), manager.toBytes(tasks, format));
+
+        List<Task> loaded = manager.load(file);
+
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertTrue(loaded.get(i).sameContent(tasks.get(i)), "task " + i);
+            assertEquals(tasks.get(i).getId(), loaded.get(i).getId());
+        }
+    }
+
+    @Test
+    void snapshotsAreSmallerThanPlainJson() throws Exception {
+        List<Task> tasks = tasks(5000);
+        int json = manager.toBytes(tasks, JsonDataManager.Format.JSON).length;
+
+        assertTrue(manager.toBytes(tasks, JsonDataManager.Format.COMPRESSED).length < json / 4);
+        assertTrue(manager.toBytes(tasks, JsonDataManager.Format.BINARY).length < json / 2);
+    }
+
+    @Test
+    void emptyListRoundTrips() throws Exception {
+        for (JsonDataManager.Format format : JsonDataManager.Format.values()) {
+            assertEquals(List.of(), manager.fromBytes(manager.toBytes(List.of(), format)));
+        }
+    }
+
+    @Test
+    void corruptBlockIsReported() throws Exception {
+        for (JsonDataManager.Format format : List.of(JsonDataManager.Format.COMPRESSED, JsonDataManager.Format.BINARY)) {
+            byte[] bytes = manager.toBytes(tasks(10), format);
+            for (int i = 20; i < bytes.length; i++) bytes[i] ^= 0x5a;
+            assertThrows(IOException.class, () -> manager.fromBytes(bytes), format.name());
+        }
+    }
+
+    @Test
+    void unreadableFileFailsReadButLoadsEmpty() throws Exception {
+        File file = new File(dir, "tasks.json");
+        Files.writeString(file.toPath(), "[{\"title\": \"cut off");
+
+        assertThrows(IOException.class, () -> manager.read(file));
+        assertEquals(List.of(), manager.load(file));
+    }
+
+    @Test
+    void failedSnapshotSaveIsReported() throws Exception {
+        File missing = new File(dir, "missing/tasks.bin");
+
+        assertThrows(IOException.class, () -> manager.saveCompressed(missing, tasks(3)));
+        assertThrows(IOException.class, () -> manager.saveBinary(missing, tasks(3)));
+    }
+
+    private static List<Task> tasks(int count) {
+        String[] lists = {null, "Work", "Home"};
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task t = new Task("Task " + i, i % 3 == 0 ? "" : "Details for task " + i,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 400), i % 2 == 0 ? LocalTime.of(i % 24, 30) : null,
+                    i % 5 == 0 ? "High" : "Normal");
+            t.setId(i + 1);
+            t.setListName(lists[i % lists.length]);
+            t.setImportant(i % 7 == 0);
+            if (i % 11 == 0) t.setRecurrence(Recurrence.weekly());
+            tasks.add(t);
+        }
+        return tasks;
+    }
+}
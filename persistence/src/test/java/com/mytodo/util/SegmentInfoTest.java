@@ -0,0 +1,91 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mytodo.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The oldest completion recorded per segment, which lets startup skip segments with no
+ * task old enough to archive.
+ */
+class SegmentInfoTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 6, 1);
+
+    @TempDir
+    File dir;
+
+    @Test
+    void onlySegmentsWithOldCompletionsAreLoaded() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(completed("old", LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 12)));
+        tasks.add(task("old", LocalDate.of(2024, 1, 20)));
+        tasks.add(completed("recent", LocalDate.of(2024, 2, 3), LocalDate.of(2024, 7, 1)));
+        // Completed before completion dates were tracked: the due date counts
+        tasks.add(completed("legacy", LocalDate.of(2024, 3, 5), null));
+        tasks.add(task("pending", LocalDate.of(2024, 4, 1)));
+        SegmentedTaskStore store = store();
+        store.importTasks(tasks);
+
+        List<Task> loaded = store.loadSegments(s -> s.hasCompletionBefore(CUTOFF));
+
+        assertEquals(List.of("old", "old", "legacy"), loaded.stream().map(Task::getListName).toList());
+        for (SegmentInfo info : store.getUnloadedSegments()) {
+            if ("recent".equals(info.getListName())) assertEquals("2024-07-01", info.getOldestCompletion());
+            if ("pending".equals(info.getListName())) assertNull(info.getOldestCompletion());
+        }
+    }
+
+    @Test
+    void segmentsOfAnOlderManifestAreReadUntilSaved() throws Exception {
+        SegmentedTaskStore store = store();
+        store.importTasks(List.of(completed("recent", LocalDate.of(2024, 2, 3), LocalDate.of(2024, 7, 1))));
+        // As written before the oldest completion was recorded
+        File manifest = new File(dir, SegmentedTaskStore.MANIFEST_FILE);
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode json = (ObjectNode) mapper.readTree(manifest);
+        json.withArray("segments").forEach(segment -> ((ObjectNode) segment).remove("oldestCompletion"));
+        mapper.writeValue(manifest, json);
+        store.open();
+        assertEquals(SegmentInfo.UNKNOWN, store.getUnloadedSegments().get(0).getOldestCompletion());
+
+        List<Task> loaded = store.loadSegments(s -> s.hasCompletionBefore(CUTOFF));
+        assertEquals(1, loaded.size());
+        store.save(loaded);
+        store.open();
+
+        assertFalse(store.getUnloadedSegments().get(0).hasCompletionBefore(CUTOFF));
+        assertTrue(store.getUnloadedSegments().get(0).hasCompletionBefore(CUTOFF.plusMonths(2)));
+    }
+
+    private SegmentedTaskStore store() {
+        SegmentedTaskStore store = new SegmentedTaskStore(dir, new JsonDataManager(), false);
+        store.open();
+        return store;
+    }
+
+    private static Task task(String list, LocalDate due) {
+        Task t = new Task("task", "", due, null, "Normal");
+        t.setListName(list);
+        return t;
+    }
+
+    private static Task completed(String list, LocalDate due, LocalDate completedDate) {
+        Task t = task(list, due);
+        t.setCompletedDate(completedDate);
+        t.setCompleted(true);
+        return t;
+    }
+}
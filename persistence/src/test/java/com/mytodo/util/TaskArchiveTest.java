@@ -0,0 +1,122 @@
+package com.mytodo.util;
+
+import com.mytodo.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskArchiveTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void clearCanBeRestoredUntilPurged() throws Exception {
+        TaskArchive archive = archive(TaskArchive.PAGE_SIZE + 10);
+
+        TaskArchive.Trash trash = archive.clear();
+        assertEquals(TaskArchive.PAGE_SIZE + 10, trash.getTaskCount());
+        assertEquals(0, archive.getTaskCount());
+
+        archive.restore(trash);
+        assertEquals(TaskArchive.PAGE_SIZE + 10, archive.getTaskCount());
+        assertEquals(TaskArchive.PAGE_SIZE, archive.readPageAt(0).size());
+
+        trash = archive.clear();
+        archive.purge(trash);
+        archive.restore(trash);
+        assertEquals(0, archive.getTaskCount());
+        assertEquals(0, new File(dir, "trash").listFiles().length);
+    }
+
+    @Test
+    void failedClearLeavesArchiveUnchanged() throws Exception {
+        TaskArchive archive = archive(30);
+        // The trash folder cannot be created
+        Files.writeString(new File(dir, "trash").toPath(), "in the way");
+
+        assertThrows(IOException.class, archive::clear);
+        assertEquals(30, archive.getTaskCount());
+        assertEquals(30, archive.readPageAt(0).size());
+
+        TaskArchive reopened = new TaskArchive(dir);
+        reopened.open();
+        assertEquals(30, reopened.getTaskCount());
+    }
+
+    @Test
+    void appendFillsTheLastPageUnderANewName() throws Exception {
+        TaskArchive archive = archive(10);
+        archive.append(tasks(100, 5));
+
+        assertEquals(1, archive.getPageCount());
+        assertEquals(15, archive.readPageAt(0).size());
+        assertEquals(List.of("index.json", "page-00002.json.gz"), files());
+    }
+
+    @Test
+    void failedAppendLeavesArchiveUnchanged() throws Exception {
+        TaskArchive archive = archive(10);
+        // The second new page cannot be written
+        Files.createDirectory(new File(dir, "page-00003.json.gz.tmp").toPath());
+
+        assertThrows(IOException.class, () -> archive.append(tasks(100, TaskArchive.PAGE_SIZE + 10)));
+        assertEquals(10, archive.getTaskCount());
+        assertEquals(10, archive.readPageAt(0).size());
+        assertEquals(List.of("index.json", "page-00001.json.gz"), files());
+
+        TaskArchive reopened = new TaskArchive(dir);
+        reopened.open();
+        assertEquals(10, reopened.getTaskCount());
+        assertEquals(10, reopened.readPageAt(0).size());
+    }
+
+    @Test
+    void indexOfAnOlderVersionIsRead() throws Exception {
+        archive(10);
+        File index = new File(dir, "index.json");
+        Files.writeString(index.toPath(), Files.readString(index.toPath())
+                .replace("\"taskCount\"", "\"importantCount\" : 3, \"taskCount\""));
+
+        TaskArchive reopened = new TaskArchive(dir);
+        reopened.open();
+        assertEquals(10, reopened.getTaskCount());
+    }
+
+    private List<String> files() {
+        return Arrays.stream(dir.list()).sorted().toList();
+    }
+
+    private TaskArchive archive(int tasks) {
+        TaskArchive archive = new TaskArchive(dir);
+        archive.open();
+        try {
+            archive.append(tasks(1, tasks));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        assertEquals(tasks, archive.getTaskCount());
+        return archive;
+    }
+
+    private static List<Task> tasks(long firstId, int count) {
+        List<Task> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task t = new Task("task " + (firstId + i), "", null, null, "Normal");
+            t.setId(firstId + i);
+            t.setCompleted(true);
+            list.add(t);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mytodo.Task;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Save and load cost of {@link TaskJson} next to the bean mapper it replaced.
+ *
+ *   java -cp &lt;persistence test classpath&gt; com.mytodo.util.TaskJsonBenchmark [tasks] [rounds]
+ *
+ * Defaults: 100000 tasks (the TaskTransferBenchmark generator), 10 measured rounds after
+ * as many warm-up rounds. Both pretty-printed (plain files) and one-line (compressed
+ * blocks, archive pages) output are timed. "bean" is an ObjectMapper with JavaTimeModule
+ * building a pretty writer per save, as JsonDataManager did. Prints the median time, the
+ * bytes allocated per call and the output size. Checks that every task round-trips
+ * through TaskJson, and that each side reads what the other wrote; exits with status 1 if
+ * not.
+ */
+public final class TaskJsonBenchmark {
+
+    private TaskJsonBenchmark() {
+    }
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task t = TaskTransferBenchmark.task(i);
+            t.setRevision(i % 5 + 1);
+            if (t.isCompleted()) t.setCompletedDate(LocalDate.of(2024, 6, 1).plusDays(i % 200));
+            tasks.add(t);
+        }
+        ObjectMapper bean = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        byte[] beanPretty = bean.writerWithDefaultPrettyPrinter().writeValueAsBytes(tasks);
+        byte[] beanCompact = bean.writeValueAsBytes(tasks);
+        byte[] pretty = TaskJson.TASKS_PRETTY_WRITER.writeValueAsBytes(tasks);
+        byte[] compact = TaskJson.TASKS_WRITER.writeValueAsBytes(tasks);
+
+        List<String> failures = new ArrayList<>();
+        check(failures, "TaskJson round trip", tasks, TaskJson.TASKS_READER.readValue(compact));
+        check(failures, "TaskJson reading bean output", tasks, TaskJson.TASKS_READER.readValue(beanPretty));
+        check(failures, "bean mapper reading TaskJson output", tasks, Arrays.asList(bean.readValue(pretty, Task[].class)));
+
+        System.out.printf("Task JSON benchmark: %d tasks, median of %d rounds%n", count, rounds);
+        System.out.printf("%-28s %10s %14s %10s%n", "", "time", "allocated", "size");
+        measure("save pretty   bean", rounds, beanPretty.length,
+                () -> bean.writerWithDefaultPrettyPrinter().writeValueAsBytes(tasks));
+        measure("save pretty   TaskJson", rounds, pretty.length,
+                () -> TaskJson.TASKS_PRETTY_WRITER.writeValueAsBytes(tasks));
+        measure("save compact  bean", rounds, beanCompact.length, () -> bean.writeValueAsBytes(tasks));
+        measure("save compact  TaskJson", rounds, compact.length, () -> TaskJson.TASKS_WRITER.writeValueAsBytes(tasks));
+        measure("load pretty   bean", rounds, beanPretty.length, () -> bean.readValue(beanPretty, Task[].class));
+        measure("load pretty   TaskJson", rounds, pretty.length, () -> TaskJson.TASKS_READER.readValue(pretty));
+        measure("load compact  bean", rounds, beanCompact.length, () -> bean.readValue(beanCompact, Task[].class));
+        measure("load compact  TaskJson", rounds, compact.length, () -> TaskJson.TASKS_READER.readValue(compact));
+
+        failures.forEach(f -> System.out.println("FAILED: " + f));
+        if (!failures.isEmpty()) System.exit(1);
+        System.out.println("OK");
+    }
+
+    private static void check(List<String> failures, String what, List<Task> expected, List<Task> actual) {
+        if (actual.size() != expected.size()) {
+            failures.add(what + ": " + actual.size() + " tasks instead of " + expected.size());
+            return;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Task e = expected.get(i), a = actual.get(i);
+            if (!a.sameContent(e) || a.getId() != e.getId() || a.getRevision() != e.getRevision()) {
+                failures.add(what + ": task " + i + " differs");
+                return;
+            }
+        }
+    }
+
+    private static void measure(String name, int rounds, long size, Op op) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < rounds; i++) op.run();
+        long[] times = new long[rounds];
+        long allocated = 0;
+        for (int i = 0; i < rounds; i++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            op.run();
+            times[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        Arrays.sort(times);
+        System.out.printf("%-28s %7.1f ms %11.1f MB %7.1f MB%n",
+                name, times[rounds / 2] / 1e6, allocated / (double) rounds / (1 << 20), size / (double) (1 << 20));
+    }
+}
@@ -0,0 +1,118 @@
+package com.mytodo.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mytodo.ListInfo;
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJsonTest {
+
+    // The mapper JsonDataManager used before TaskJson: bean layout, dates as [y,m,d] arrays
+    private final ObjectMapper bean = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void readsLegacyArrayLayout() throws Exception {
+        String legacy = """
+                [{"id":7,"revision":2,"title":"Pay rent","description":"","dueDate":[2024,5,31],
+                  "time":[9,30],"priority":"High","completed":true,"important":false,
+                  "listName":"Home","completedDate":[2024,6,1]},
+                 {"id":8,"revision":1,"title":"Backup","description":"weekly","dueDate":[2024,1,2],
+                  "time":[23,59,30],"priority":"Normal","completed":false,"important":true,
+                  "listName":null,"completedDate":null}]""";
+
+        List<Task> tasks = TaskJson.TASKS_READER.readValue(legacy);
+
+        Task rent = tasks.get(0);
+        assertEquals(7, rent.getId());
+        assertEquals(2, rent.getRevision());
+        assertEquals(LocalDate.of(2024, 5, 31), rent.getDueDate());
+        assertEquals(LocalTime.of(9, 30), rent.getTime());
+        assertEquals(LocalDate.of(2024, 6, 1), rent.getCompletedDate());
+        assertTrue(rent.isCompleted());
+        assertEquals("Home", rent.getListName());
+        Task backup = tasks.get(1);
+        assertEquals(LocalTime.of(23, 59, 30), backup.getTime());
+        assertTrue(backup.isImportant());
+        assertEquals("weekly", backup.getDescription());
+
+        // Written back in the new layout, the same tasks come out again
+        assertSameTasks(tasks, TaskJson.TASKS_READER.readValue(TaskJson.TASKS_WRITER.writeValueAsBytes(tasks)));
+    }
+
+    @Test
+    void legacyMapperOutputRoundTrips() throws Exception {
+        List<Task> tasks = sampleTasks();
+        byte[] legacy = bean.writerWithDefaultPrettyPrinter().writeValueAsBytes(tasks);
+        assertTrue(new String(legacy).contains("2024,"), "bean mapper should write date arrays");
+
+        List<Task> read = TaskJson.TASKS_READER.readValue(legacy);
+        assertSameTasks(tasks, read);
+        assertSameTasks(tasks, TaskJson.TASKS_READER.readValue(TaskJson.TASKS_PRETTY_WRITER.writeValueAsBytes(read)));
+    }
+
+    @Test
+    void oldMapperReadsNewLayout() throws Exception {
+        List<Task> tasks = sampleTasks();
+        String json = TaskJson.TASKS_WRITER.writeValueAsString(tasks);
+        assertTrue(json.contains("\"dueDate\":\"2024-05-31\""));
+        assertFalse(json.contains("\"important\":false"), "defaults are left out");
+
+        assertSameTasks(tasks, Arrays.asList(bean.readValue(json, Task[].class)));
+    }
+
+    @Test
+    void listInfoRoundTripsBothWays() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(TaskJson.module());
+        ListInfo[] lists = {new ListInfo("Work", "icons/work.png"), new ListInfo("Home", null)};
+
+        String json = mapper.writeValueAsString(lists);
+        ListInfo[] read = bean.readValue(json, ListInfo[].class);
+        ListInfo[] back = mapper.readValue(bean.writeValueAsString(lists), ListInfo[].class);
+        for (int i = 0; i < lists.length; i++) {
+            assertEquals(lists[i].getName(), read[i].getName());
+            assertEquals(lists[i].getIconPath(), read[i].getIconPath());
+            assertEquals(lists[i].getName(), back[i].getName());
+            assertEquals(lists[i].getIconPath(), back[i].getIconPath());
+        }
+    }
+
+    private static List<Task> sampleTasks() {
+        Task rent = new Task("Pay rent", "", LocalDate.of(2024, 5, 31), LocalTime.of(9, 0), "High");
+        rent.setId(1);
+        rent.setRevision(3);
+        rent.setListName("Home");
+        rent.setCompleted(true);
+        rent.setCompletedDate(LocalDate.of(2024, 6, 1));
+
+        Task note = new Task("Quotes \"and\" ünïcode\nsecond line", null, null, null, "Normal");
+        note.setId(2);
+        note.setImportant(true);
+
+        Task standup = new Task("Standup", "daily sync", LocalDate.of(2024, 3, 4), LocalTime.of(9, 30, 15), "Low");
+        standup.setId(3);
+        standup.setRecurrence(Recurrence.parse("FREQ=WEEKLY;BYDAY=MO,TH")
+                .withDoneThrough(LocalDate.of(2024, 3, 7)));
+        return List.of(rent, note, standup);
+    }
+
+    private static void assertSameTasks(List<Task> expected, List<Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Task e = expected.get(i), a = actual.get(i);
+            assertTrue(a.sameContent(e), "task " + i + " differs: " + e.getTitle());
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getRevision(), a.getRevision());
+        }
+    }
+}
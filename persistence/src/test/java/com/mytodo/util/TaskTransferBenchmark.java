@@ -0,0 +1,147 @@
+package com.mytodo.util;
+
+import com.mytodo.Recurrence;
+import com.mytodo.Task;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@link TaskTransfer} export and import, in tasks per second, per format.
+ *
+ *   java -Xmx32m -cp &lt;persistence test classpath&gt; com.mytodo.util.TaskTransferBenchmark [tasks] [batchSize]
+ *
+ * Defaults: 200000 tasks, batches of TaskTransfer.DEFAULT_BATCH_SIZE. Tasks are generated
+ * while they are written and compared with the generator while they are imported, so
+ * nothing holds more than the pipeline itself: with a small -Xmx the run only completes if
+ * memory stays flat. Titles and descriptions contain separators, quotes, line breaks and
+ * non-ASCII text, and some tasks repeat. Prints the peak heap sampled during each run. Exits with status 1 if a
+ * task does not come back unchanged.
+ */
+public final class TaskTransferBenchmark {
+
+    private static final String[] LISTS = {null, "Work", "Home, garden", "Ideas; later"};
+    private static final String[] PRIORITIES = {"High", "Normal", "Low"};
+    private static final String[] RULES = {"FREQ=DAILY", "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH", "FREQ=MONTHLY;BYMONTHDAY=-1;COUNT=12"};
+
+    private TaskTransferBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : TaskTransfer.DEFAULT_BATCH_SIZE;
+        File dir = Files.createTempDirectory("mytodo-transfer").toFile();
+
+        System.out.printf("Task transfer benchmark: %d tasks, batches of %d, max heap %d MB%n",
+                count, batchSize, Runtime.getRuntime().maxMemory() >> 20);
+        boolean ok = true;
+        for (TaskFormat format : TaskFormat.values()) {
+            File file = new File(dir, "tasks." + format.getExtension());
+            ok &= run(format, file, count, batchSize);
+            Files.deleteIfExists(file.toPath());
+        }
+        Files.deleteIfExists(dir.toPath());
+        if (!ok) System.exit(1);
+    }
+
+    private static boolean run(TaskFormat format, File file, int count, int batchSize) throws Exception {
+        HeapSampler heap = new HeapSampler();
+        long start = System.nanoTime();
+        TaskTransfer.Job export = TaskTransfer.startExport(generated(count), count, file, format).whenDone().get();
+        report(format, "export", export, start, heap.peakAndReset(), file.length());
+        if (export.getError() != null) {
+            heap.stop();
+            return false;
+        }
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        start = System.nanoTime();
+        TaskTransfer.Job imported = TaskTransfer.startImport(file, format, batchSize, batch -> {
+            for (Task t : batch) {
+                if (!t.sameContent(task(next.getAndIncrement())) && mismatches.incrementAndGet() == 1) {
+                    System.out.println("  first mismatch at task " + (next.get() - 1) + ": " + t);
+                }
+            }
+        }).whenDone().get();
+        report(format, "import", imported, start, heap.peakAndReset(), file.length());
+        heap.stop();
+
+        boolean ok = imported.getError() == null && imported.getTaskCount() == count
+                && imported.getSkippedCount() == 0 && mismatches.get() == 0;
+        if (!ok) {
+            System.out.printf("  FAILED: %d of %d tasks imported, %d skipped, %d changed%n",
+                    imported.getTaskCount(), count, imported.getSkippedCount(), mismatches.get());
+            imported.getProblems().forEach(p -> System.out.println("  " + p));
+        }
+        return ok;
+    }
+
+    private static void report(TaskFormat format, String direction, TaskTransfer.Job job, long startNanos,
+                               long peakHeap, long bytes) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-10s %-6s %9d tasks %7.2fs %10.0f tasks/s %6.1f MB/s  peak heap %4d MB%s%n",
+                format.getDisplayName(), direction, job.getTaskCount(), seconds, job.getTaskCount() / seconds,
+                bytes / seconds / (1 << 20), peakHeap >> 20,
+                job.getError() != null ? "  ERROR " + job.getError() : "");
+    }
+
+    private static Iterable<Task> generated(int count) {
+        return () -> new Iterator<>() {
+            private int i;
+            @Override public boolean hasNext() { return i < count; }
+            @Override public Task next() { return task(i++); }
+        };
+    }
+
+    static Task task(long i) {
+        LocalDate due = i % 7 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(i % 900);
+        LocalTime time = due == null || i % 3 == 0 ? null : LocalTime.of((int) (i % 24), (int) (i * 7 % 60));
+        Task t = new Task("Task " + i + (i % 5 == 0 ? ", with \"quotes\"" : "") + (i % 11 == 0 ? " – café ✓" : ""),
+                i % 4 == 0 ? "" : "Notes for " + i + (i % 6 == 0 ? "\nsecond line; more, text\\" : ""),
+                due, time, PRIORITIES[(int) (i % PRIORITIES.length)]);
+        t.setListName(LISTS[(int) (i % LISTS.length)]);
+        t.setCompleted(i % 4 == 1);
+        t.setImportant(i % 10 == 0);
+        if (due != null && i % 13 == 0) {
+            Recurrence r = Recurrence.parse(RULES[(int) (i % RULES.length)]);
+            t.setRecurrence(i % 2 == 0 ? r : r.withDoneThrough(due.plusDays(i % 40)));
+        }
+        t.setId(i + 1);
+        return t;
+    }
+
+    // Peak used heap, sampled every few milliseconds
+    private static final class HeapSampler {
+        private final AtomicLong peak = new AtomicLong();
+        private final Thread thread;
+
+        HeapSampler() {
+            thread = new Thread(() -> {
+                Runtime rt = Runtime.getRuntime();
+                while (!Thread.currentThread().isInterrupted()) {
+                    peak.accumulateAndGet(rt.totalMemory() - rt.freeMemory(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "heap-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long peakAndReset() {
+            return peak.getAndSet(0);
+        }
+
+        void stop() {
+            thread.interrupt();
+        }
+    }
+}
@@ -21,24 +21,30 @@ public class AboutDialogController {
     @FXML private HBox separatorBox;
     @FXML private Button okButton;
 
+    // Built on first use and reused afterwards (content never changes)
+    private static Stage aboutStage;
+
     // New static method for MainController to call
     public static void showAboutDialog(Window owner) {
         try {
-            FXMLLoader loader = new FXMLLoader(AboutDialogController.class.getResource("/com/mytodo/AboutDialogView.fxml"));
-            DialogPane aboutPane = loader.load();
+            if (aboutStage == null) {
+                FXMLLoader loader = new FXMLLoader(AboutDialogController.class.getResource("/com/mytodo/AboutDialogView.fxml"));
+                DialogPane aboutPane = loader.load();
 
-            AboutDialogController controller = loader.getController();
-            controller.setMessage(
-                    "CAT201 Integrated Software Development Workshop Assignment I",
-                    "Version: v1.0.0 (JavaFX)\nFeatures: Task Management, Search & Filter, JSON I/O\nTeam: \nCHEN ZEKAI 23101653\nZHANG JUN 23101903\nZHANG YIFEI 23101912"
-            );
+                AboutDialogController controller = loader.getController();
+                controller.setMessage(
+                        "CAT201 Integrated Software Development Workshop Assignment I",
+                        "Version: v1.0.0 (JavaFX)\nFeatures: Task Management, Search & Filter, JSON I/O\nTeam: \nCHEN ZEKAI 23101653\nZHANG JUN 23101903\nZHANG YIFEI 23101912"
+                );
 
-            Stage aboutStage = new Stage();
-            aboutStage.setTitle("About MyTodo App");
-            aboutStage.setScene(new Scene(aboutPane));
-            aboutStage.initOwner(owner);
-            aboutStage.initModality(Modality.APPLICATION_MODAL);
-            aboutStage.setResizable(false);
+                Stage stage = new Stage();
+                stage.setTitle("About MyTodo App");
+                stage.setScene(new Scene(aboutPane));
+                stage.initOwner(owner);
+                stage.initModality(Modality.APPLICATION_MODAL);
+                stage.setResizable(false);
+                aboutStage = stage;
+            }
             aboutStage.showAndWait();
 
         } catch (IOException e) {
@@ -105,6 +105,19 @@ public class AddNewListDialogController {
 
     // --- Methods for MainController to call ---
 
+    /**
+     * Clear the previous input; the dialog instance is reused (see DialogFactory).
+     */
+    public void reset() {
+        okClicked = false;
+        newListName = null;
+        listNameField.clear();
+        selectedIconPath = "/com/mytodo/icons/user1.png";
+        Arrays.asList(iconBtn1, iconBtn2, iconBtn3, iconBtn4, iconBtn5)
+                .forEach(b -> b.getStyleClass().remove("selected"));
+        iconBtn1.getStyleClass().add("selected");
+    }
+
     public boolean isOkClicked() {
         return okClicked;
     }
@@ -78,8 +78,10 @@ public class CustomAlertController {
 
     /**
      * Set the alert header and content message
+     * (also resets the result, since the dialog instance is reused)
      */
     public void setMessage(String header, String content) {
+        this.result = ButtonType.CANCEL;
         if (header != null && !header.isEmpty()) {
             headerLabel.setText(header);
             headerLabel.setVisible(true);
@@ -0,0 +1,132 @@
+package com.mytodo;
+
+import com.mytodo.util.Log;
+import com.mytodo.util.Metrics;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.DialogPane;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses every dialog FXML once and reuses the Dialog, its DialogPane and its controller.
+ *
+ * preload() parses the FXML files on a background thread after startup; only the Dialog
+ * window itself is created on the FX thread. Controllers must reset their state in their
+ * load/set methods, because the same instance is shown again and again.
+ *
+ * The open-to-visible latency of every showing is recorded in the dialog.open.us histogram
+ * and per dialog in dialog.&lt;FXML name&gt;.open.us (e.g. dialog.TaskDetailDialog.open.us);
+ * DialogBenchmark measures it repeatably, next to parsing each dialog on every open.
+ */
+public class DialogFactory {
+
+    private static final Log LOG = Log.get(DialogFactory.class);
+    private static final Metrics.Histogram OPEN_LATENCY = Metrics.histogram("dialog.open.us");
+
+    public static final String TASK_DETAIL = "/com/mytodo/TaskDetailDialog.fxml";
+    public static final String CUSTOM_ALERT = "/com/mytodo/CustomAlertDialogView.fxml";
+    public static final String ADD_NEW_LIST = "/com/mytodo/AddNewListDialogView.fxml";
+
+    private static final String CSS_PATH = "/com/mytodo/Main.css";
+
+    // FXML path -> ready dialog (FX thread only)
+    private final Map<String, CachedDialog<?>> cache = new HashMap<>();
+
+    /**
+     * Returns the cached dialog for the FXML file, parsing it now if preloading has not reached it yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <C> CachedDialog<C> get(String fxmlPath) throws IOException {
+        CachedDialog<?> cached = cache.get(fxmlPath);
+        if (cached == null) {
+            cached = wrap(fxmlPath, parse(fxmlPath));
+            cache.put(fxmlPath, cached);
+        }
+        return (CachedDialog<C>) cached;
+    }
+
+    /**
+     * Parses the given dialogs on a background thread, off the startup critical path.
+     */
+    public void preload(String... fxmlPaths) {
+        Thread preloader = new Thread(() -> {
+            for (String fxmlPath : fxmlPaths) {
+                try {
+                    FXMLLoader loader = parse(fxmlPath);
+                    Platform.runLater(() -> cache.computeIfAbsent(fxmlPath, k -> wrap(fxmlPath, loader)));
+                } catch (Exception e) {
+                    LOG.warn("Failed to preload dialog " + fxmlPath + ": " + e.getMessage());
+                }
+            }
+        }, "dialog-preloader");
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+
+    private FXMLLoader parse(String fxmlPath) throws IOException {
+        URL url = DialogFactory.class.getResource(fxmlPath);
+        if (url == null) {
+            throw new IOException("Dialog FXML not found: " + fxmlPath);
+        }
+        FXMLLoader loader = new FXMLLoader(url);
+        loader.load();
+        return loader;
+    }
+
+    private <C> CachedDialog<C> wrap(String fxmlPath, FXMLLoader loader) {
+        DialogPane pane = loader.getRoot();
+        URL cssUrl = DialogFactory.class.getResource(CSS_PATH);
+        if (cssUrl != null && !pane.getStylesheets().contains(cssUrl.toExternalForm())) {
+            pane.getStylesheets().add(cssUrl.toExternalForm());
+        }
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setDialogPane(pane);
+        pane.getButtonTypes().clear(); // Use our own OK/Cancel buttons
+        String name = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1).replace(".fxml", "");
+        return new CachedDialog<>(name, dialog, loader.getController());
+    }
+
+    /**
+     * A parsed dialog together with its controller.
+     */
+    public static class CachedDialog<C> {
+        private final Dialog<ButtonType> dialog;
+        private final C controller;
+        private final Metrics.Histogram openLatency;
+        private long showRequestedAt;
+
+        CachedDialog(String name, Dialog<ButtonType> dialog, C controller) {
+            this.dialog = dialog;
+            this.controller = controller;
+            this.openLatency = Metrics.histogram("dialog." + name + ".open.us");
+            // Open-to-visible latency of every showing
+            dialog.setOnShown(e -> {
+                OPEN_LATENCY.recordSince(showRequestedAt);
+                openLatency.recordSince(showRequestedAt);
+                long latencyMs = (System.nanoTime() - showRequestedAt) / 1_000_000;
+                LOG.debug(() -> "Dialog '" + dialog.getTitle() + "' visible in " + latencyMs + " ms");
+            });
+        }
+
+        public C getController() {
+            return controller;
+        }
+
+        Dialog<ButtonType> getDialog() {
+            return dialog;
+        }
+
+        public void showAndWait(String title) {
+            dialog.setTitle(title);
+            showRequestedAt = System.nanoTime();
+            dialog.showAndWait();
+        }
+    }
+}
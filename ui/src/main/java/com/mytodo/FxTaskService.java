@@ -0,0 +1,150 @@
+package com.mytodo;
+
+import com.mytodo.api.TaskPatch;
+import com.mytodo.api.TaskService;
+import com.mytodo.util.TaskListSnapshots;
+import javafx.application.Platform;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * {@link TaskService} for the running app.
+ *
+ * Writes run on the FX thread against the task list the UI shows, so API writes are
+ * serialized with each other and with the user's edits, show up immediately and can be
+ * undone with Edit > Undo. Reads use the controller's task snapshots and never wait for
+ * the FX thread, except once per filter to load the segments it needs. A write fails
+ * after TIMEOUT_SECONDS if the FX thread stays busy. Bulk calls load all segments first.
+ */
+class FxTaskService implements TaskService {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final MainController controller;
+    private final TaskListSnapshots snapshots;
+    // Filters whose segments are loaded (segments are never unloaded)
+    private final Set<String> loadedFor = ConcurrentHashMap.newKeySet();
+
+    FxTaskService(MainController controller, TaskListSnapshots snapshots) {
+        this.controller = controller;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        String key = query.getFilterType() + "\u0000" + query.getListName();
+        if (!loadedFor.contains(key)) {
+            onFxThread(() -> {
+                controller.loadSegmentsFor(query);
+                return null;
+            });
+            loadedFor.add(key);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return snapshots.snapshot().find(t -> query.matches(t, now));
+    }
+
+    @Override
+    public Task get(long id) {
+        return snapshots.snapshot().get(id);
+    }
+
+    @Override
+    public Task create(TaskPatch fields) {
+        return onFxThread(() -> {
+            Task task = fields.newTask();
+            controller.addTask(task);
+            return snapshots.snapshot().get(task.getId());
+        });
+    }
+
+    @Override
+    public Task update(long id, TaskPatch patch) {
+        return onFxThread(() -> {
+            Task t = controller.findTask(id);
+            if (t == null) return null;
+            controller.editTasks(List.of(t), patch::applyTo);
+            return snapshots.snapshot().get(id);
+        });
+    }
+
+    @Override
+    public boolean delete(long id) {
+        return onFxThread(() -> {
+            Task t = controller.findTask(id);
+            if (t == null) return false;
+            controller.removeTasks(List.of(t));
+            return true;
+        });
+    }
+
+    @Override
+    public int updateAll(Predicate<Task> filter, TaskPatch patch) {
+        return onFxThread(() -> {
+            List<Task> tasks = selected(filter);
+            controller.editTasks(tasks, patch::applyTo);
+            return tasks.size();
+        });
+    }
+
+    @Override
+    public int deleteAll(Predicate<Task> filter) {
+        return onFxThread(() -> {
+            List<Task> tasks = selected(filter);
+            controller.removeTasks(tasks);
+            return tasks.size();
+        });
+    }
+
+    // On the FX thread: the snapshot is current, its tasks map to the live ones by id
+    private List<Task> selected(Predicate<Task> filter) {
+        controller.loadSegmentsFor(TaskQuery.ALL);
+        List<Task> tasks = new ArrayList<>();
+        for (Task frozen : snapshots.snapshot().find(filter)) {
+            Task live = controller.findTask(frozen.getId());
+            if (live != null) tasks.add(live);
+        }
+        return tasks;
+    }
+
+    private static <T> T onFxThread(Callable<T> action) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return action.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("The UI did not respond within " + TIMEOUT_SECONDS + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.mytodo;
+
+import com.mytodo.util.FrameMonitor;
+import com.mytodo.util.Log;
+import com.mytodo.util.Metrics;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a recorded interaction script against the running UI and checks frame budgets.
+ *
+ * Started with -Dmytodo.replay=script.txt once the data is loaded. One command per line,
+ * '#' starts a comment:
+ *
+ *   add &lt;title&gt;      quick-add a task
+ *   toggle &lt;row&gt;     toggle completion of the task in that visible row
+ *   delete &lt;row&gt;     delete the task in that visible row (no confirmation)
+ *   filter &lt;TYPE&gt;    ALL, TODAY, IMPORTANT, PENDING, OVERDUE, FINISHED
+ *   search &lt;text&gt;    search (empty text clears)
+ *   scroll &lt;row&gt;     scroll the list to a row
+ *   wait &lt;ms&gt;        let frames render
+ *   repeat &lt;n&gt; ... end   repeat the enclosed commands n times
+ *
+ * Each command is followed by STEP_DELAY so the resulting frames are rendered and measured.
+ * At the end the frame-time percentiles are printed and the application exits with status 1
+ * if p99 frame time exceeds -Dmytodo.frameBudgetMs (default 50), more stalls than
+ * -Dmytodo.maxStalls (default 0) were detected, or a command failed. The script changes and
+ * saves data: run it from a scratch working directory (ReplayCheck in src/test does).
+ */
+public class InteractionReplay {
+
+    private static final Log LOG = Log.get(InteractionReplay.class);
+
+    private static final Duration STEP_DELAY = Duration.millis(50);
+    private static final long FRAME_BUDGET_MS = Long.getLong("mytodo.frameBudgetMs", 50);
+    private static final long MAX_STALLS = Long.getLong("mytodo.maxStalls", 0);
+
+    private final MainController controller;
+    private final FrameMonitor frameMonitor;
+    private final List<String> commands;
+    private int position = 0;
+    private int failedCommands = 0;
+
+    public InteractionReplay(MainController controller, FrameMonitor frameMonitor, File script) throws IOException {
+        this.controller = controller;
+        this.frameMonitor = frameMonitor;
+        this.commands = expand(Files.readAllLines(script.toPath(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Runs the script on the FX thread, one command per step.
+     */
+    public void start() {
+        LOG.info("Replaying " + commands.size() + " commands");
+        Metrics.reset();
+        frameMonitor.start();
+        next();
+    }
+
+    private void next() {
+        if (position >= commands.size()) {
+            finish();
+            return;
+        }
+        String line = commands.get(position++);
+        Duration delay = STEP_DELAY;
+        try {
+            delay = delay.add(execute(line));
+        } catch (RuntimeException ex) {
+            failedCommands++;
+            LOG.error("Replay command failed: " + line, ex);
+        }
+        PauseTransition pause = new PauseTransition(delay);
+        pause.setOnFinished(e -> next());
+        pause.play();
+    }
+
+    /**
+     * @return extra time to wait before the next command.
+     */
+    private Duration execute(String line) {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String arg = space < 0 ? "" : line.substring(space + 1).trim();
+
+        switch (command) {
+            case "add"    -> controller.quickAdd(arg);
+            case "toggle" -> controller.toggleCompletion(visibleTask(arg));
+            case "delete" -> controller.removeTask(visibleTask(arg));
+            case "filter" -> controller.showFilter(arg);
+            case "search" -> controller.search(arg);
+            case "scroll" -> controller.scrollTo(Integer.parseInt(arg));
+            case "wait"   -> { return Duration.millis(Long.parseLong(arg)); }
+            default -> throw new IllegalArgumentException("Unknown replay command");
+        }
+        return Duration.ZERO;
+    }
+
+    private Task visibleTask(String row) {
+        Task task = controller.visibleTask(Integer.parseInt(row));
+        if (task == null) throw new IllegalArgumentException("No task in visible row " + row);
+        return task;
+    }
+
+    private void finish() {
+        frameMonitor.stop();
+        Metrics.Histogram frames = Metrics.histogram(FrameMonitor.FRAME_TIME);
+        long stalls = Metrics.counter(FrameMonitor.STALLS).get();
+        long p99Ms = frames.getPercentile(99) / 1_000;
+        boolean passed = p99Ms <= FRAME_BUDGET_MS && stalls <= MAX_STALLS && failedCommands == 0;
+
+        LOG.info(String.format("Replay done: frames=%d p50=%.1fms p99=%dms max=%.1fms jank=%d stalls=%d"
+                        + " failed=%d budget=%dms maxStalls=%d -> %s",
+                frames.getCount(), frames.getPercentile(50) / 1000.0, p99Ms, frames.getMax() / 1000.0,
+                Metrics.counter(FrameMonitor.JANK_FRAMES).get(), stalls, failedCommands, FRAME_BUDGET_MS,
+                MAX_STALLS, passed ? "PASS" : "FAIL"));
+        LOG.info(Metrics::snapshotJson);
+
+        Platform.exit();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Strips comments and blank lines, and unrolls repeat blocks.
+     */
+    private static List<String> expand(List<String> lines) {
+        List<String> result = new ArrayList<>();
+        expand(lines, 0, result);
+        return result;
+    }
+
+    private static int expand(List<String> lines, int start, List<String> out) {
+        int i = start;
+        while (i < lines.size()) {
+            String line = lines.get(i).strip();
+            i++;
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            if (line.equals("end")) return i;
+            if (line.startsWith("repeat ")) {
+                int times = Integer.parseInt(line.substring(7).trim());
+                List<String> body = new ArrayList<>();
+                int next = expand(lines, i, body);
+                for (int n = 0; n < times; n++) out.addAll(body);
+                i = next;
+                continue;
+            }
+            out.add(line);
+        }
+        return i;
+    }
+}
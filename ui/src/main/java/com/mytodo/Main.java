@@ -1,35 +1,61 @@
 package com.mytodo;
 
+import com.mytodo.api.HeadlessServer;
+import com.mytodo.util.StartupProfiler;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.Arrays;
 import java.util.Locale;
 
 public class Main extends Application {
     @Override
     public void start(Stage stage) throws Exception {
+        StartupProfiler.mark("fx-start");
         // Force application-wide locale to English so JavaFX built-in dialogs use English labels
         Locale.setDefault(Locale.ENGLISH);
 
         FXMLLoader loader = new FXMLLoader(getClass().getResource("Main.fxml"));
         Scene scene = new Scene(loader.load(), 1000, 650);
+        StartupProfiler.mark("fxml-loaded");
 
         // ===== Load the new gradient theme stylesheet (Main.css) =====
         scene.getStylesheets().add(getClass().getResource("Main.css").toExternalForm());
+        StartupProfiler.mark("css-loaded");
+
+        // Record the first rendered frame (one-shot)
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                StartupProfiler.mark("first-frame");
+                scene.removePostLayoutPulseListener(this);
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
 
         // Window title
         stage.setTitle("MyTodo");
         stage.setScene(scene);
         stage.show();
+        StartupProfiler.mark("stage-shown");
 
         // Ensure data is saved on exit
         MainController controller = loader.getController();
         stage.setOnCloseRequest(e -> controller.saveAndExit());
+
+        // The window shell is visible: read tasks and lists in the background
+        controller.loadDataAsync();
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        StartupProfiler.mark("main");
+        // Task API only, no window (see HeadlessServer)
+        if (Arrays.asList(args).contains("--headless")) {
+            HeadlessServer.run();
+            return;
+        }
         launch();
     }
-}
\ No newline at end of file
+}
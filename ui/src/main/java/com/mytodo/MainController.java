@@ -0,0 +1,1815 @@
+package com.mytodo;
+
+// ---------------------------------------------------------------------
+// Imports
+// ---------------------------------------------------------------------
+
+// JavaFX core
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.fxml.FXML;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.stage.FileChooser;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.geometry.Pos;
+import javafx.util.Duration;
+
+// Java Standard Library
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Project-specific classes
+import com.mytodo.api.TaskApiServer;
+import com.mytodo.util.ChunkedTaskList;
+import com.mytodo.util.DueTaskScheduler;
+import com.mytodo.util.FrameMonitor;
+import com.mytodo.util.JsonDataManager;
+import com.mytodo.util.Log;
+import com.mytodo.util.Metrics;
+import com.mytodo.util.PagedTaskList;
+import com.mytodo.util.SegmentInfo;
+import com.mytodo.util.SegmentedTaskStore;
+import com.mytodo.util.StartupProfiler;
+import com.mytodo.util.TaskArchive;
+import com.mytodo.util.TaskFileWatcher;
+import com.mytodo.util.TaskIndex;
+import com.mytodo.util.TaskFormat;
+import com.mytodo.util.TaskListSnapshots;
+import com.mytodo.util.TaskSnapshot;
+import com.mytodo.util.TaskTransfer;
+import com.mytodo.AddNewListDialogController;
+
+
+/**
+ * Main screen controller (MainController).
+ * Responsible for handling all user interactions, data management, and UI updates.
+ */
+public class MainController {
+
+    private static final Log LOG = Log.get(MainController.class);
+
+    // Instrumentation (see Metrics; shown by Help > Performance Overlay)
+    private static final Metrics.Histogram FILTER_TIME = Metrics.histogram("applyFilters.time.us");
+    private static final Metrics.Histogram FILTER_RESULTS = Metrics.histogram("applyFilters.results");
+    private static final Metrics.Histogram SAVE_TIME = Metrics.histogram("saveTasks.time.us");
+    private static final Metrics.Histogram SAVE_BYTES = Metrics.histogram("saveTasks.bytes");
+    private static final Metrics.Histogram LOAD_TIME = Metrics.histogram("load.time.us");
+    private static final Metrics.Histogram SIDEBAR_TIME = Metrics.histogram("updateListSidebar.time.us");
+    private static final Metrics.Histogram COUNTS_TIME = Metrics.histogram("updateFixedCategoryCounts.time.us");
+    private static final File METRICS_SNAPSHOT_FILE = new File("metrics-snapshot.json");
+
+    // ==== FXML bindings ====
+    @FXML private VBox root;
+    @FXML private VBox sidebar;
+    @FXML private Button btnToday, btnImportant, btnAll, btnFinished, btnPending, btnOverdue;
+    @FXML private VBox listContainer;
+    @FXML private Button addNewListButton;
+    @FXML private ListView<Task> taskList;
+    @FXML private TextField searchField;
+    @FXML private Button filterBtn;
+    @FXML private Button searchClearBtn;
+    @FXML private HBox floatingAddBox;
+    @FXML private TextField quickAddField;
+    @FXML private Button quickAddBtn;
+    @FXML private Button detailAddBtn;
+    @FXML private VBox loadingBox;
+    @FXML private Label loadingLabel;
+    @FXML private CheckMenuItem debugLoggingItem;
+    @FXML private StackPane contentStack;
+    @FXML private CheckMenuItem metricsOverlayItem;
+    @FXML private RadioMenuItem layoutCardsItem, layoutCompactItem, layoutTableItem;
+    @FXML private MenuItem undoItem, redoItem;
+    @FXML private MenuItem importItem, exportItem;
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+    // Layout (View menu). Compact rows: fixed height, no text measurement.
+    // Card rows: heights cached per task id and width. Table: created on first use.
+    private static final double COMPACT_ROW_HEIGHT = 44;
+    private final TaskPresenter taskPresenter = new TaskPresenter();
+    private final RowHeightCache rowHeights = new RowHeightCache(taskPresenter);
+    private TaskLayout layout = TaskLayout.CARD;
+    private TaskTableView taskTable;
+    // Frame times + FX thread stalls; runs with the overlay, in replay mode or with -Dmytodo.frameMonitor=true
+    private final FrameMonitor frameMonitor = new FrameMonitor();
+    private static final boolean ALWAYS_MONITOR_FRAMES = Boolean.getBoolean("mytodo.frameMonitor");
+    // -Dmytodo.replay=script.txt replays an interaction script after startup (see InteractionReplay)
+    private static final String REPLAY_SCRIPT = System.getProperty("mytodo.replay");
+
+    // Top category number labels
+    private Label todayCountLabel;
+    private Label importantCountLabel;
+    private Label allCountLabel;
+    private Label pendingCountLabel;
+    private Label overdueCountLabel;
+    private Label completedCountLabel;
+
+    // Chunked list: inserts/removes shift one chunk, bulk removes fire one compact change.
+    // Like an extractor, a property change is reported as an update of that one element, so
+    // filteredTasks re-tests only that task and no global refresh()/refilter is needed
+    private final ObservableList<Task> masterTasks = new ChunkedTaskList();
+    // Store all custom lists (name + icon path)
+    private final ObservableList<ListInfo> masterLists = FXCollections.observableArrayList();
+    private final FilteredList<Task> filteredTasks = new FilteredList<>(masterTasks, t -> true);
+    // id -> task for every task in masterTasks (ids are allocated by taskStore)
+    private final TaskIndex taskIndex = new TaskIndex(masterTasks);
+    // Versioned snapshots of masterTasks for readers on other threads (created on first use)
+    private TaskListSnapshots taskSnapshots;
+    private String currentFilterType = "ALL";
+    private String activeListFilter = null;
+
+    private static final File DATA_FILE = new File("tasks.json");
+    private static final File LISTS_DATA_FILE = new File("lists.json");
+    private static final File SEGMENTS_DIR = new File("tasks-data");
+    private final JsonDataManager dataManager = new JsonDataManager();
+    // Dialogs are parsed once (preloaded after startup) and reused
+    private final DialogFactory dialogFactory = new DialogFactory();
+    // Non-blocking "Task added/updated" notifications (replaces the modal success dialog)
+    private ToastNotifier toastNotifier;
+    // Start with -Dmytodo.compress=true to write segments as compressed snapshots
+    private static final boolean COMPRESS_SEGMENTS = Boolean.getBoolean("mytodo.compress");
+    // Tasks are persisted as segments (list + due month); DATA_FILE is only read once for migration
+    private final SegmentedTaskStore taskStore = new SegmentedTaskStore(SEGMENTS_DIR, dataManager, COMPRESS_SEGMENTS);
+
+    // Archive (cold storage) for tasks completed more than ARCHIVE_AFTER_DAYS ago
+    private static final File ARCHIVE_DIR = new File("tasks-archive");
+    private static final int ARCHIVE_AFTER_DAYS = 30;
+    private static final int ARCHIVE_FETCH_SIZE = 100;
+    private static final int ARCHIVE_CACHED_PAGES = 6;
+    private final TaskArchive taskArchive = new TaskArchive(ARCHIVE_DIR);
+    // Archived tasks currently shown (Completed view / search); never saved to segments
+    private final Set<Task> archivedInView = new HashSet<>();
+    private TaskArchive.Cursor archiveCursor = null;
+    private boolean archivePageRequested = false;
+    // Completed view without search: live tasks followed by archive pages read on demand
+    private PagedTaskList archivePagedView = null;
+    // After each layout pass while the paged view is shown: pins the pages of the rows on screen
+    private final Runnable pinVisibleArchivePages = this::pinVisibleArchivePages;
+    private Scene pinningScene;
+    private Task spacerTask;
+
+    // Undo/redo of task and list changes (Edit menu, Ctrl+Z / Ctrl+Y)
+    private final UndoLog undoLog = new UndoLog(new TaskOp.Target() {
+        @Override public ObservableList<Task> tasks() { return masterTasks; }
+        @Override public ObservableList<ListInfo> lists() { return masterLists; }
+        @Override public TaskArchive archive() { return taskArchive; }
+        @Override public Task findTask(long id) { return taskIndex.get(id); }
+    });
+    private final LocalTime DEFAULT_END_OF_DAY_TIME = LocalTime.of(23, 59);
+    private static final String SPACER_TITLE = "(SPACER_ITEM)";
+    // Start with -Dmytodo.exitAfterStartup=true to quit once data is shown (CDS training run)
+    private static final boolean EXIT_AFTER_STARTUP = Boolean.getBoolean("mytodo.exitAfterStartup");
+    private boolean dataLoaded = false;
+    // tasks.json could not be read for migration: nothing is saved, so it is not replaced by an empty store
+    private volatile boolean migrationFailed = false;
+    // -Dmytodo.api.port=8765 serves the local task API while the app runs (see FxTaskService)
+    private static final Integer API_PORT = Integer.getInteger("mytodo.api.port");
+    private static final Duration API_REFRESH_DELAY = Duration.millis(200);
+    private TaskApiServer apiServer;
+    private boolean apiRefreshPending = false;
+    // Segment and list files changed by another program or app instance are merged in
+    // (-Dmytodo.liveReload=false turns this off)
+    private static final boolean LIVE_RELOAD = !"false".equals(System.getProperty("mytodo.liveReload"));
+    private TaskFileWatcher fileWatcher;
+    // True while changes read from disk are applied: they are not local edits
+    private boolean applyingExternal = false;
+    // Import or export running in the background (one at a time), with its progress bar
+    private TaskTransfer.Job transferJob;
+    private final TransferProgress transferProgress = new TransferProgress();
+    // Notifies when pending tasks come due and moves them into Overdue at that moment
+    private DueTaskScheduler dueScheduler;
+    private static final int MAX_DUE_TOASTS = 3;
+
+
+    // =========================================================================
+    // 4. Initialization
+    // =========================================================================
+
+    /**
+     * Builds the window shell only. Data is read later by loadDataAsync(),
+     * so the first frame does not wait for disk I/O.
+     */
+    @FXML
+    private void initialize() {
+        LOG.debug(() -> "MainController initializing...");
+
+        // ListView binding
+        taskList.setItems(filteredTasks);
+        // Per-task render caches forget tasks that leave the list
+        taskIndex.addRemoveListener(id -> {
+            rowHeights.remove(id);
+            taskPresenter.remove(id);
+        });
+        installCellFactory();
+        VBox.setVgrow(taskList, Priority.ALWAYS);
+        HBox.setHgrow(taskList, Priority.ALWAYS);
+
+        // Wrap top category buttons as "icon + text + right-side number"
+        setupFixedCategoryButtons();
+
+        // Bind various events
+        bindActionEvents();
+
+        // Every local edit bumps the task's revision (see applyExternalChanges)
+        masterTasks.addListener((ListChangeListener<Task>) c -> {
+            if (applyingExternal) return;
+            while (c.next()) {
+                if (!c.wasUpdated()) continue;
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    Task t = masterTasks.get(i);
+                    t.setRevision(t.getRevision() + 1);
+                }
+            }
+        });
+
+        toastNotifier = new ToastNotifier(root);
+        if (undoItem != null) undoItem.disableProperty().bind(undoLog.canUndoProperty().not());
+        if (redoItem != null) redoItem.disableProperty().bind(undoLog.canRedoProperty().not());
+        if (debugLoggingItem != null) debugLoggingItem.setSelected(LOG.isDebugEnabled());
+        if (contentStack != null) contentStack.getChildren().addAll(metricsOverlay, transferProgress);
+        Metrics.registerMBean();
+        if (ALWAYS_MONITOR_FRAMES) frameMonitor.start();
+
+        // Nothing can be edited until the data is in memory
+        setLoading(true, "Loading...");
+
+        LOG.debug(() -> "Shell initialization complete.");
+    }
+
+    /**
+     * [PUBLIC] Called by Main once the stage is shown.
+     * Reads lists and tasks (segments, archive pass) on a background thread,
+     * then applies them on the FX thread.
+     */
+    public void loadDataAsync() {
+        Thread loader = new Thread(() -> {
+            List<ListInfo> lists = new ArrayList<>();
+            List<Task> tasks = new ArrayList<>();
+            long start = System.nanoTime();
+            try {
+                Platform.runLater(() -> setLoading(true, "Loading lists..."));
+                lists = readLists();
+                StartupProfiler.mark("lists-read");
+
+                Platform.runLater(() -> setLoading(true, "Loading tasks..."));
+                tasks = readTasks();
+                StartupProfiler.mark("tasks-read");
+                LOAD_TIME.recordSince(start);
+            } catch (Exception ex) {
+                LOG.error("Loading data failed", ex);
+            }
+            List<ListInfo> loadedLists = lists;
+            List<Task> loadedTasks = tasks;
+            Platform.runLater(() -> applyLoadedData(loadedLists, loadedTasks));
+        }, "task-data-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void applyLoadedData(List<ListInfo> lists, List<Task> tasks) {
+        masterLists.setAll(lists);
+        masterTasks.setAll(tasks);
+        LOG.debug(() -> "Tasks loaded. Count: " + masterTasks.size());
+
+        // Ensure the ghost spacer item exists
+        ensureSpacerExists();
+
+        // Update list area + category statistics
+        updateFixedCategoryCounts();
+        updateListSidebar();
+
+        // Select "All" by default
+        setNavFilter("ALL", btnAll);
+
+        dataLoaded = true;
+        setLoading(false, null);
+        if (migrationFailed) {
+            showCustomAlert("Load Error", "Failed to read tasks.json",
+                    "Your tasks could not be imported. Changes are not saved until tasks.json can be read: "
+                            + "repair or restore the file and restart.");
+        }
+        StartupProfiler.mark("data-shown");
+        StartupProfiler.report();
+
+        // Off the critical path: parse the dialogs now so the first open is fast
+        dialogFactory.preload(DialogFactory.CUSTOM_ALERT, DialogFactory.TASK_DETAIL, DialogFactory.ADD_NEW_LIST);
+        LOG.debug(() -> "Initialization complete.");
+
+        if (API_PORT != null) startApiServer();
+        if (LIVE_RELOAD) startFileWatcher();
+        startDueScheduler();
+
+        if (EXIT_AFTER_STARTUP) {
+            Platform.exit();
+        } else if (REPLAY_SCRIPT != null) {
+            try {
+                new InteractionReplay(this, frameMonitor, new File(REPLAY_SCRIPT)).start();
+            } catch (IOException ex) {
+                LOG.error("Cannot read replay script " + REPLAY_SCRIPT, ex);
+            }
+        }
+    }
+
+    /**
+     * Show/hide the loading overlay and lock the controls that change data.
+     */
+    private void setLoading(boolean loading, String message) {
+        if (loadingBox != null) loadingBox.setVisible(loading);
+        if (loadingLabel != null && message != null) loadingLabel.setText(message);
+        if (sidebar != null) sidebar.setDisable(loading);
+        if (floatingAddBox != null) floatingAddBox.setDisable(loading);
+        if (searchField != null) searchField.setDisable(loading);
+    }
+
+    /**
+     * Top 6 category buttons, unified into:
+     * [icon] [title] ....... [count]
+     */
+    private void setupFixedCategoryButtons() {
+        todayCountLabel     = buildNavButtonWithCount(btnToday,     "Today");
+        importantCountLabel = buildNavButtonWithCount(btnImportant, "Important");
+        allCountLabel       = buildNavButtonWithCount(btnAll,       "All");
+        pendingCountLabel   = buildNavButtonWithCount(btnPending,   "Pending");
+        overdueCountLabel   = buildNavButtonWithCount(btnOverdue,   "Overdue");
+        completedCountLabel = buildNavButtonWithCount(btnFinished,  "Completed");
+    }
+
+    /**
+     * Transform one Button into:
+     *  [icon] [title] (spacer) [countLabel]
+     */
+    private Label buildNavButtonWithCount(Button btn, String title) {
+        if (btn == null) return null;
+
+        Node icon = btn.getGraphic();   // ImageView already put in FXML
+        btn.setText("");                // Do not use the Button's own text
+
+        HBox row = new HBox(8);
+        row.setAlignment(Pos.CENTER_LEFT);
+
+        if (icon != null) {
+            row.getChildren().add(icon);
+        }
+
+        Label titleLabel = new Label(title);
+        // Optionally add a CSS class
+        titleLabel.getStyleClass().add("nav-label");
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        Label countLabel = new Label("0");
+        countLabel.getStyleClass().add("list-count"); // Style via CSS
+
+        row.getChildren().addAll(titleLabel, spacer, countLabel);
+        btn.setGraphic(row);
+
+        return countLabel;
+    }
+
+    /**
+     * Helper method: centralize all event bindings for FXML elements.
+     * (Keep your original logic, just add Overdue)
+     */
+    private void bindActionEvents() {
+        if (searchField != null) searchField.setOnAction(e -> performSearch());
+        if (filterBtn != null) filterBtn.setOnAction(e -> performSearch());
+        if (searchClearBtn != null) {
+            searchClearBtn.setOnAction(e -> {
+                searchField.clear();
+                refreshArchiveView();
+                applyFilters();
+                LOG.debug(() -> "Search cleared.");
+            });
+        }
+        if (btnAll != null)       btnAll.setOnAction(e -> setNavFilter("ALL", btnAll));
+        if (btnToday != null)     btnToday.setOnAction(e -> setNavFilter("TODAY", btnToday));
+        if (btnImportant != null) btnImportant.setOnAction(e -> setNavFilter("IMPORTANT", btnImportant));
+        if (btnFinished != null)  btnFinished.setOnAction(e -> setNavFilter("FINISHED", btnFinished));
+        if (btnPending != null)   btnPending.setOnAction(e -> setNavFilter("PENDING", btnPending));
+        if (btnOverdue != null)   btnOverdue.setOnAction(e -> setNavFilter("OVERDUE", btnOverdue));
+
+        if (quickAddBtn != null)   quickAddBtn.setOnAction(e -> addQuickTask());
+        if (quickAddField != null) quickAddField.setOnAction(e -> addQuickTask());
+        if (detailAddBtn != null)  detailAddBtn.setOnAction(e -> openTaskDetailDialog(null));
+        if (addNewListButton != null) addNewListButton.setOnAction(e -> handleAddNewList());
+    }
+
+
+    // =========================================================================
+    // 5. Core task operations (Create / Delete / Update)
+    // =========================================================================
+
+    /**
+     * Quick add task (from floating bar at the bottom)
+     */
+    private void addQuickTask() {
+        String text = quickAddField.getText();
+        if (text == null || text.isBlank()) return;
+
+        Task task = new Task(
+                text.trim(), "", LocalDate.now(), DEFAULT_END_OF_DAY_TIME, "Normal"
+        );
+
+        if ("LIST".equals(currentFilterType) && activeListFilter != null) {
+            task.setListName(activeListFilter);
+        }
+
+        insertNewTask(task);
+        quickAddField.clear();
+        saveTasks();
+        updateFixedCategoryCounts();
+        updateListSidebar();
+    }
+
+    /**
+     * Adds a new task before the spacer, with an id and an undo record (caller saves).
+     */
+    private void insertNewTask(Task task) {
+        task.setId(taskStore.allocateId());
+        // Unsaved until the next save, so a reload in between keeps it
+        task.setRevision(1);
+        masterTasks.add(Math.max(0, masterTasks.size() - 1), task);
+        undoLog.record(new TaskOp.AddTasks("Add Task", List.of(task), masterTasks));
+    }
+
+    /**
+     * [PUBLIC] Delete a task.
+     */
+    public void deleteTask(Task task) {
+        if (task == null || SPACER_TITLE.equals(task.getTitle())) return;
+
+        ButtonType confirmResult = showCustomAlert(
+                "Delete Confirmation",
+                "Are you sure to delete: " + task.getTitle() + " ?",
+                "You can undo this with Edit > Undo until you quit."
+        );
+
+        if (confirmResult == ButtonType.OK) {
+            removeTask(task);
+            toastNotifier.show("Task deleted (Ctrl+Z to undo)");
+        }
+    }
+
+    /**
+     * Delete a task without asking (confirmation already done, or replay).
+     */
+    void removeTask(Task task) {
+        if (task == null || SPACER_TITLE.equals(task.getTitle())) return;
+        restoreFromArchive(task);
+        if (!taskIndex.contains(task)) return;
+        TaskOp.Positions removed = TaskOp.Positions.of(List.of(task), masterTasks);
+        masterTasks.remove(task);
+        undoLog.record(new TaskOp.RemoveTasks("Delete Task", removed, null));
+        saveTasks();
+        updateFixedCategoryCounts();
+        updateListSidebar();
+        LOG.debug(() -> "Task deleted: " + task.getTitle());
+    }
+
+    /**
+     * [PUBLIC] Toggle completion status for a task.
+     */
+    public void toggleCompletion(Task task) {
+        if (task == null || SPACER_TITLE.equals(task.getTitle())) return;
+        restoreFromArchive(task);
+        TaskOp.Fields before = TaskOp.Fields.of(task);
+        boolean completed = !task.isCompleted();
+        if (task.isRecurring()) {
+            // Checks off one occurrence; the row moves on to the next one
+            if (completed) {
+                LocalDate done = task.completeOccurrence();
+                LocalDate next = task.currentOccurrence();
+                if (done != null && next != null) toastNotifier.show("Done for " + done + ", next on " + next);
+            } else {
+                task.reopenOccurrence();
+            }
+        } else {
+            task.setCompletedDate(completed ? LocalDate.now() : null);
+            task.setCompleted(completed);
+        }
+        undoLog.record(new TaskOp.EditTask(completed ? "Complete Task" : "Reopen Task", task, before));
+        saveTasks();
+        updateFixedCategoryCounts();
+        updateListSidebar();
+    }
+
+    /**
+     * [PUBLIC] Open task detail dialog (for add or edit).
+     */
+    public void openTaskDetailDialog(Task taskToEdit) {
+        try {
+            DialogFactory.CachedDialog<TaskDetailController> dialog = dialogFactory.get(DialogFactory.TASK_DETAIL);
+            TaskDetailController controller = dialog.getController();
+
+            // Pass masterLists to the dialog
+            controller.loadData(taskToEdit, masterLists);
+            TaskOp.Fields before = taskToEdit == null ? null : TaskOp.Fields.of(taskToEdit);
+            dialog.showAndWait(taskToEdit == null ? "Add Task" : "Edit Task");
+
+            if (controller.isOkClicked()) {
+                Task updatedTask = controller.getTask();
+                if (updatedTask != null) {
+                    String msg = (taskToEdit == null) ? "Task added: " : "Task updated: ";
+                    toastNotifier.show(msg + updatedTask.getTitle());
+
+                    if (taskToEdit == null) {
+                        insertNewTask(updatedTask);
+                    } else {
+                        // An edited archived task becomes a regular task again
+                        restoreFromArchive(updatedTask);
+                        undoLog.record(new TaskOp.EditTask("Edit Task", updatedTask, before));
+                    }
+                    saveTasks();
+                    updateFixedCategoryCounts();
+                    updateListSidebar();
+                }
+            }
+        } catch (IOException ex) {
+            LOG.error("Failed to open task dialog", ex);
+            showCustomAlert("Error", "Unexpected error", "Failed to open task dialog: " + ex.getMessage());
+        } catch (Exception ex) {
+            LOG.error("Unexpected error in task dialog", ex);
+            showCustomAlert("Error", "Unexpected error", "Unexpected error: " + ex.getMessage());
+        }
+    }
+
+
+    // =========================================================================
+    // 6. Alerts & dialog management
+    // =========================================================================
+
+    private ButtonType showCustomAlert(String title, String header, String content) {
+        try {
+            DialogFactory.CachedDialog<CustomAlertController> dialog = dialogFactory.get(DialogFactory.CUSTOM_ALERT);
+            CustomAlertController controller = dialog.getController();
+            controller.setMessage(header, content);
+            dialog.showAndWait(title);
+            return controller.getResult();
+        } catch (IOException ex) {
+            LOG.error("Failed to load custom dialog", ex);
+            Alert fallback = new Alert(AlertType.ERROR, "Failed to load custom dialog: " + ex.getMessage());
+            fallback.showAndWait();
+            return ButtonType.CANCEL;
+        }
+    }
+
+    /**
+     * Create a new list using a custom FXML dialog (with icon selection)
+     */
+    @FXML
+    private void handleAddNewList() {
+        try {
+            DialogFactory.CachedDialog<AddNewListDialogController> dialog = dialogFactory.get(DialogFactory.ADD_NEW_LIST);
+            AddNewListDialogController controller = dialog.getController();
+            controller.reset();
+            dialog.showAndWait("New List");
+
+            if (controller.isOkClicked()) {
+                String newName  = controller.getNewListName();
+                String iconPath = controller.getSelectedIconPath();
+
+                boolean exists = masterLists.stream()
+                        .anyMatch(li -> li.getName().equalsIgnoreCase(newName));
+                if (exists) {
+                    showCustomAlert("Error", "List already exists.", "A list with this name already exists.");
+                    return;
+                }
+
+                ListInfo info = new ListInfo(newName, iconPath);
+                masterLists.add(info);
+
+                saveLists();
+                updateListSidebar();
+                LOG.debug(() -> "New list added: " + info);
+            }
+        } catch (IOException ex) {
+            LOG.error("Failed to load the 'Add New List' dialog", ex);
+            showCustomAlert("Error", "Load Error", "Failed to load the 'Add New List' dialog.");
+        }
+    }
+
+
+    // =========================================================================
+    // 7. Filtering & search logic
+    // =========================================================================
+
+    private void performSearch() {
+        refreshArchiveView();
+        applyFilters();
+        LOG.debug(() -> "performSearch done. results=" + filteredTasks.size());
+    }
+
+    private void setNavFilter(String filterType, Button selectedButton) {
+        activeListFilter = null;
+        currentFilterType = filterType;
+        clearAllSidebarSelections();
+        if (selectedButton != null) {
+            selectedButton.getStyleClass().add("selected");
+        }
+        loadSegmentsFor(currentQuery());
+        refreshArchiveView();
+        applyFilters();
+    }
+
+    private void setListFilter(String listName, Button selectedButton) {
+        currentFilterType = "LIST";
+        activeListFilter = listName;
+        clearAllSidebarSelections();
+        if (selectedButton != null) {
+            selectedButton.getStyleClass().add("selected");
+        }
+        loadSegmentsFor(currentQuery());
+        refreshArchiveView();
+        applyFilters();
+        LOG.debug(() -> "List filter set: " + listName);
+    }
+
+    private void clearAllSidebarSelections() {
+        sidebar.getChildren().stream()
+                .filter(node -> node instanceof Button)
+                .map(node -> (Button) node)
+                .forEach(btn -> btn.getStyleClass().remove("selected"));
+
+        if (listContainer != null) {
+            listContainer.getChildren().stream()
+                    .filter(node -> node instanceof Button)
+                    .map(node -> (Button) node)
+                    .forEach(btn -> btn.getStyleClass().remove("selected"));
+        }
+    }
+
+    private void applyFilters() {
+        long start = System.nanoTime();
+        TaskQuery query = currentQuery();
+        LocalDateTime now = LocalDateTime.now();
+        filteredTasks.setPredicate(task -> {
+            if (task == null) return false;
+            if (SPACER_TITLE.equals(task.getTitle())) return true;
+            return query.matches(task, now);
+        });
+        FILTER_TIME.recordSince(start);
+        FILTER_RESULTS.record(filteredTasks.size());
+        LOG.debug(() -> "applyFilters -> " + query + " remaining=" + filteredTasks.size());
+    }
+
+    private String currentSearchText() {
+        return (searchField != null && searchField.getText() != null)
+                ? searchField.getText().toLowerCase().trim() : "";
+    }
+
+    /**
+     * Navigation filter + search box as a query (see TaskQuery for the filter logic).
+     */
+    private TaskQuery currentQuery() {
+        return new TaskQuery(currentFilterType, activeListFilter, currentSearchText());
+    }
+
+
+    // =========================================================================
+    // 8. Data persistence (Load / Save)
+    // =========================================================================
+
+    /**
+     * Reads the startup task set. Runs on the loader thread: must not touch UI or masterTasks.
+     */
+    private List<Task> readTasks() {
+        List<Task> tasks = new ArrayList<>();
+        try {
+            // One-time migration from the old single-file format
+            if (!taskStore.exists() && DATA_FILE.exists()) {
+                List<Task> migrated;
+                try {
+                    migrated = dataManager.read(DATA_FILE);
+                } catch (IOException e) {
+                    // tasks-data/ is not created, so the migration runs again on the next start
+                    LOG.error("Failed to read tasks.json, migration aborted", e);
+                    migrationFailed = true;
+                    return tasks;
+                }
+                taskStore.importTasks(migrated);
+                LOG.debug(() -> "tasks.json migrated to segment storage.");
+            }
+            taskStore.open();
+            // Only segments with pending or recent tasks are read at startup
+            tasks.addAll(taskStore.loadHotSegments());
+
+            taskArchive.open();
+            archiveOldCompletedTasks(tasks);
+        } catch (Exception ex) {
+            LOG.error("taskStore.load failed", ex);
+        }
+        return tasks;
+    }
+
+    /**
+     * Load the segments a nav/list filter needs but that are still on disk.
+     * Today, Pending and Overdue are fully covered by the segments loaded at startup.
+     */
+    void loadSegmentsFor(TaskQuery query) {
+        String listName = query.getListName();
+        Predicate<SegmentInfo> needed;
+        switch (query.getFilterType()) {
+            case "ALL":
+            case "FINISHED":
+                needed = s -> true;
+                break;
+            case "IMPORTANT":
+                needed = s -> s.getImportantCount() > 0;
+                break;
+            case "LIST":
+                if (listName == null) return;
+                needed = s -> listName.equals(s.getListName());
+                break;
+            default:
+                return;
+        }
+        addLoadedTasks(taskStore.loadSegments(needed));
+    }
+
+    /**
+     * Insert tasks read from newly loaded segments or archive pages (keeps the spacer as last item).
+     */
+    private void addLoadedTasks(List<Task> loaded) {
+        if (loaded.isEmpty()) return;
+        // Archived tasks written before ids existed get one when they come back
+        taskStore.assignIds(loaded);
+        int insertPos = Math.max(0, masterTasks.size() - 1);
+        masterTasks.addAll(insertPos, loaded);
+        LOG.debug(() -> "Tasks loaded on demand. Count: " + loaded.size());
+    }
+
+    /**
+     * Move tasks completed more than ARCHIVE_AFTER_DAYS ago into the archive.
+     * Tasks completed before completion dates were tracked fall back to their due date.
+     */
+    private void archiveOldCompletedTasks(List<Task> tasks) {
+        LocalDate cutoff = LocalDate.now().minusDays(ARCHIVE_AFTER_DAYS);
+        // Only cold segments whose oldest completion is before the cutoff (or not recorded yet)
+        List<Task> loaded = taskStore.loadSegments(s -> s.hasCompletionBefore(cutoff));
+        tasks.addAll(loaded);
+
+        List<Task> toArchive = tasks.stream()
+                .filter(t -> isRealTask(t) && t.isCompleted())
+                .filter(t -> {
+                    LocalDate done = SegmentInfo.completionDay(t);
+                    return done != null && done.isBefore(cutoff);
+                })
+                .collect(Collectors.toList());
+        if (toArchive.isEmpty()) {
+            // Records the oldest completion of segments from an older manifest, so they are
+            // not read again on the next start (no segment content changes)
+            if (!loaded.isEmpty()) taskStore.save(tasks);
+            return;
+        }
+
+        // Write the archive first: tasks only leave their segments once they are archived
+        try {
+            taskArchive.append(toArchive);
+        } catch (IOException e) {
+            // Logged by the archive; the tasks stay in their segments until a later start
+            return;
+        }
+        tasks.removeAll(new HashSet<>(toArchive));
+        // Every segment touched here is loaded, so a direct save is safe
+        taskStore.save(tasks);
+        LOG.debug(() -> "Archived completed tasks: " + toArchive.size());
+    }
+
+    /**
+     * Show archived tasks for the Completed view and for searches.
+     *  - Completed without search: the ListView gets a paged data source that only
+     *    materializes the archive pages in the visible window (plus prefetch)
+     *  - Search: matches are paged in through a cursor when the end of the list is reached
+     * Archived tasks shown for the previous view are dropped first.
+     */
+    private void refreshArchiveView() {
+        if (!archivedInView.isEmpty()) {
+            masterTasks.removeAll(archivedInView);
+            archivedInView.forEach(taskArchive::release);
+            archivedInView.clear();
+        }
+        archiveCursor = null;
+        if (archivePagedView != null) {
+            taskList.setItems(filteredTasks);
+            archivePagedView.dispose();
+            archivePagedView = null;
+            if (pinningScene != null) {
+                pinningScene.removePostLayoutPulseListener(pinVisibleArchivePages);
+                pinningScene = null;
+            }
+        }
+
+        String searchText = currentSearchText();
+        if (!"FINISHED".equals(currentFilterType) && searchText.isEmpty()) return;
+        if (taskArchive.getTaskCount() == 0) return;
+
+        if (searchText.isEmpty()) {
+            FilteredList<Task> liveTasks = new FilteredList<>(filteredTasks, t -> t != spacerTask);
+            archivePagedView = new PagedTaskList(liveTasks, taskArchive, spacerTask, ARCHIVE_CACHED_PAGES);
+            taskList.setItems(archivePagedView);
+            pinningScene = taskList.getScene();
+            if (pinningScene != null) pinningScene.addPostLayoutPulseListener(pinVisibleArchivePages);
+            return;
+        }
+
+        TaskQuery query = currentQuery();
+        archiveCursor = taskArchive.cursor(query::matches);
+        loadNextArchivePage();
+    }
+
+    /**
+     * Keeps the archive pages of the rows on screen cached, so the tasks the cells show are
+     * the ones the archive knows: an edit of such a row must restore that task, not a copy
+     * read again after its page was evicted (e.g. by a scan over the whole list).
+     */
+    private void pinVisibleArchivePages() {
+        if (archivePagedView == null || taskList.getItems() != archivePagedView) return;
+        if (!(taskList.lookup(".virtual-flow") instanceof VirtualFlow<?> flow)) return;
+        IndexedCell<?> first = flow.getFirstVisibleCell();
+        IndexedCell<?> last = flow.getLastVisibleCell();
+        if (first == null || last == null) {
+            archivePagedView.setVisibleRange(0, -1);
+        } else {
+            archivePagedView.setVisibleRange(first.getIndex(), last.getIndex());
+        }
+    }
+
+    private void loadNextArchivePage() {
+        if (archiveCursor == null || !archiveCursor.hasMore()) return;
+        List<Task> page = archiveCursor.next(ARCHIVE_FETCH_SIZE);
+        archivedInView.addAll(page);
+        addLoadedTasks(page);
+    }
+
+    /**
+     * [PUBLIC] Called by TaskListCell when the bottom spacer becomes visible:
+     * fetch the next archive page, if the current view has one.
+     */
+    public void onListEndVisible() {
+        if (archiveCursor == null || !archiveCursor.hasMore() || archivePageRequested) return;
+        archivePageRequested = true;
+        Platform.runLater(() -> {
+            archivePageRequested = false;
+            loadNextArchivePage();
+        });
+    }
+
+    /**
+     * An archived task that is edited, un-completed or deleted leaves the archive.
+     */
+    private void restoreFromArchive(Task task) {
+        if (!taskArchive.contains(task)) return;
+        taskArchive.remove(task);
+        if (!archivedInView.remove(task)) {
+            // Came from the paged Completed view: it becomes a regular in-memory task
+            addLoadedTasks(List.of(task));
+            if (archivePagedView != null) archivePagedView.invalidate();
+        } else if (taskSnapshots != null) {
+            // Already in masterTasks, but no longer hidden from snapshots
+            taskSnapshots.refresh(task);
+        }
+    }
+
+    private void saveTasks() {
+        if (migrationFailed) {
+            LOG.warn("Tasks not saved: tasks.json has not been migrated");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            var toSave = masterTasks.stream()
+                    .filter(t -> isRealTask(t) && !archivedInView.contains(t))
+                    .collect(Collectors.toList());
+            // A task may have moved into a segment that is still on disk: load it first
+            List<Task> pulledIn = taskStore.loadSegmentsFor(toSave);
+            addLoadedTasks(pulledIn);
+            toSave.addAll(pulledIn);
+            long bytes = taskStore.save(toSave);
+            SAVE_TIME.recordSince(start);
+            SAVE_BYTES.record(bytes);
+            LOG.debug(() -> "Tasks saved. Count: " + toSave.size());
+        } catch (Exception ex) {
+            LOG.error("dataManager.save failed", ex);
+            showCustomAlert("Save Error", "Failed to save tasks", "Your changes might be lost. Error: " + ex.getMessage());
+        }
+    }
+
+    private void ensureSpacerExists() {
+        masterTasks.removeIf(t -> t != null && SPACER_TITLE.equals(t.getTitle()));
+        spacerTask = new Task(SPACER_TITLE, "", null, null, "Normal");
+        masterTasks.add(spacerTask);
+    }
+
+    /**
+     * Read custom lists from lists.json (each line: name|iconPath).
+     * Runs on the loader thread: returns the lists instead of touching masterLists.
+     */
+    private List<ListInfo> readLists() {
+        List<ListInfo> lists = new ArrayList<>();
+        if (!LISTS_DATA_FILE.exists()) {
+            LOG.debug(() -> "lists.json not found. No lists loaded.");
+            return lists;
+        }
+
+        try {
+            lists.addAll(parseLists(Files.readAllLines(LISTS_DATA_FILE.toPath())));
+            LOG.debug(() -> "Lists loaded from lists.json. Count: " + lists.size());
+        } catch (IOException e) {
+            LOG.error("Failed to load lists.json", e);
+        }
+        return lists;
+    }
+
+    private static List<ListInfo> parseLists(List<String> lines) {
+        List<ListInfo> lists = new ArrayList<>();
+        for (String line : lines) {
+            if (line == null || line.isBlank()) continue;
+            String[] parts = line.split("\\|", 2);
+            String name = parts[0];
+            String iconPath = (parts.length > 1 && !parts[1].isBlank()) ? parts[1] : null;
+            lists.add(new ListInfo(name, iconPath));
+        }
+        return lists;
+    }
+
+    /**
+     * Save lists.json: one list per line -> name|iconPath
+     */
+    private void saveLists() {
+        try {
+            List<String> lines = masterLists.stream()
+                    .map(li -> li.getName() + "|" + (li.getIconPath() == null ? "" : li.getIconPath()))
+                    .collect(Collectors.toList());
+
+            Files.write(LISTS_DATA_FILE.toPath(), lines);
+            LOG.debug(() -> "Lists saved to lists.json.");
+        } catch (IOException e) {
+            LOG.error("Failed to save lists.json", e);
+        }
+    }
+
+    // --- Live reload (files changed by another program or app instance) ---
+
+    private void startFileWatcher() {
+        fileWatcher = new TaskFileWatcher(taskStore, LISTS_DATA_FILE,
+                changes -> Platform.runLater(() -> applyExternalChanges(changes)));
+        try {
+            fileWatcher.start();
+        } catch (IOException ex) {
+            LOG.error("Cannot watch data files for external changes", ex);
+            fileWatcher = null;
+        }
+    }
+
+    /**
+     * Merges files another writer changed (read and parsed by the watcher thread).
+     * Only tasks of loaded segments are compared, by id:
+     *   - unchanged on this side since the last save: the disk version is taken,
+     *     unless it is older than what was saved here (a stale copy; ours is written back);
+     *   - changed on both sides: a conflict, ours is kept with a higher revision, so the
+     *     other writer takes ours when it reloads;
+     *   - gone from disk: removed here, unless changed here since the last save.
+     */
+    private void applyExternalChanges(TaskFileWatcher.Changes changes) {
+        if (!dataLoaded) return;
+        if (changes.getManifest() != null) taskStore.mergeManifest(changes.getManifest());
+
+        Map<Long, Task> onDisk = new HashMap<>();
+        Set<String> files = new HashSet<>();
+        changes.getSegments().forEach((file, tasks) -> {
+            if (!taskStore.isLoadedFile(file)) return;
+            files.add(file);
+            taskStore.acceptExternal(file, changes.getHash(file));
+            if (tasks != null) {
+                taskStore.assignIds(tasks);
+                for (Task t : tasks) onDisk.put(t.getId(), t);
+            }
+        });
+
+        int changed = 0;
+        int conflicts = 0;
+        applyingExternal = true;
+        try {
+            if (!files.isEmpty()) {
+                Set<Task> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (Task t : masterTasks) {
+                    if (!isRealTask(t) || archivedInView.contains(t) || onDisk.containsKey(t.getId())) continue;
+                    if (!t.hasUnsavedChanges() && files.contains(taskStore.fileOf(t))) gone.add(t);
+                }
+                List<Task> added = new ArrayList<>();
+                for (Task disk : onDisk.values()) {
+                    Task local = taskIndex.get(disk.getId());
+                    if (local == null) {
+                        added.add(disk);
+                    } else if (local.sameContent(disk)) {
+                        local.setRevision(disk.getRevision());
+                        local.markSaved();
+                    } else if (local.hasUnsavedChanges()) {
+                        conflicts++;
+                        local.setRevision(Math.max(local.getRevision(), disk.getRevision()) + 1);
+                    } else if (disk.getRevision() >= local.savedRevision()) {
+                        TaskOp.Fields.of(disk).applyTo(local);
+                        local.setRevision(disk.getRevision());
+                        local.markSaved();
+                        changed++;
+                    }
+                }
+                if (!gone.isEmpty()) masterTasks.removeIf(gone::contains);
+                addLoadedTasks(added);
+                changed += gone.size() + added.size();
+            }
+
+            if (changes.getListLines() != null) {
+                List<ListInfo> lists = parseLists(changes.getListLines());
+                if (!sameLists(lists, masterLists)) {
+                    masterLists.setAll(lists);
+                    changed++;
+                }
+            }
+        } finally {
+            applyingExternal = false;
+        }
+
+        // Segments the other writer created may be needed by startup rules or the current view
+        addLoadedTasks(taskStore.loadHotSegments());
+        loadSegmentsFor(currentQuery());
+        if (files.isEmpty() && changed == 0) return;
+
+        // Writes back conflicts, stale copies and ids given to new tasks
+        saveTasks();
+        updateFixedCategoryCounts();
+        updateListSidebar();
+        if (changed == 0 && conflicts == 0) return;
+        int changedCount = changed;
+        int conflictCount = conflicts;
+        LOG.info("Reloaded external changes: " + changedCount + " tasks/lists changed, " + conflictCount + " conflicts");
+        toastNotifier.show(conflictCount == 0
+                ? "Reloaded changes made outside the app"
+                : "Reloaded outside changes; kept your version of " + conflictCount + " task(s)");
+    }
+
+    private static boolean sameLists(List<ListInfo> a, List<ListInfo> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            ListInfo x = a.get(i);
+            ListInfo y = b.get(i);
+            if (!x.getName().equals(y.getName()) || !Objects.equals(x.getIconPath(), y.getIconPath())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Update the left LISTS area (use ListInfo: icon + name + right-side count)
+     */
+    private void updateListSidebar() {
+        long start = System.nanoTime();
+        if (listContainer == null) {
+            LOG.error("listContainer is null. Cannot update list.");
+            return;
+        }
+
+        listContainer.getChildren().clear();
+
+        for (ListInfo li : masterLists) {
+            Button listButton = new Button();
+            listButton.setMaxWidth(Double.MAX_VALUE);
+            listButton.getStyleClass().add("nav-item");
+
+            HBox row = new HBox(8);
+            row.setAlignment(Pos.CENTER_LEFT);
+
+            // Icon
+            if (li.getIconPath() != null && !li.getIconPath().isBlank()) {
+                try {
+                    var url = getClass().getResource(li.getIconPath());
+                    if (url != null) {
+                        ImageView iconView = new ImageView(new Image(url.toExternalForm()));
+                        iconView.setFitWidth(18);
+                        iconView.setFitHeight(18);
+                        iconView.setPreserveRatio(true);
+                        row.getChildren().add(iconView);
+                    }
+                } catch (Exception ex) {
+                    LOG.warn("Failed to load icon for list: " + li + " -> " + ex.getMessage());
+                }
+            }
+
+            // Name
+            Label nameLabel = new Label(li.getName());
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            // Count
+            int count = getTaskCountForList(li.getName());
+            Label countLabel = new Label(String.valueOf(count));
+            countLabel.getStyleClass().add("list-count");
+
+            row.getChildren().addAll(nameLabel, spacer, countLabel);
+            listButton.setGraphic(row);
+
+            listButton.setOnAction(event -> setListFilter(li.getName(), listButton));
+
+            // Context menu: delete list
+            ContextMenu contextMenu = new ContextMenu();
+            MenuItem deleteItem = new MenuItem("Delete List");
+            deleteItem.setOnAction(event -> deleteList(li));
+            contextMenu.getItems().add(deleteItem);
+            listButton.setContextMenu(contextMenu);
+
+            listContainer.getChildren().add(listButton);
+        }
+
+        SIDEBAR_TIME.recordSince(start);
+        LOG.debug(() -> "List sidebar updated. Found " + masterLists.size() + " lists.");
+    }
+
+    private int getTaskCountForList(String listName) {
+        int count = 0;
+        for (Task t : masterTasks) {
+            if (!isRealTask(t) || archivedInView.contains(t)) continue;
+            if (listName.equals(t.getListName())) {
+                count++;
+            }
+        }
+        // Segments still on disk are counted from the manifest
+        for (SegmentInfo s : taskStore.getUnloadedSegments()) {
+            if (listName.equals(s.getListName())) {
+                count += s.getTaskCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Delete a custom list
+     */
+    private void deleteList(ListInfo listInfo) {
+        String listName = listInfo.getName();
+
+        ButtonType confirmResult = showCustomAlert(
+                "Delete List",
+                "Are you sure to delete the list: " + listName + "?",
+                "All tasks in this list will be moved to 'Unlisted'."
+        );
+
+        if (confirmResult != ButtonType.OK) {
+            return;
+        }
+
+        int listPosition = masterLists.indexOf(listInfo);
+        masterLists.remove(listInfo);
+
+        // Every task of the list must be in memory before it can be moved to 'Unlisted'
+        addLoadedTasks(taskStore.loadSegments(s -> listName.equals(s.getListName())));
+        List<Task> moved = new ArrayList<>();
+        for (Task task : masterTasks) {
+            if (archivedInView.contains(task)) continue;
+            if (listName.equals(task.getListName())) {
+                task.setListName(null);
+                moved.add(task);
+            }
+        }
+        undoLog.record(new TaskOp.DeleteList(listInfo, listPosition, moved));
+
+        saveLists();
+        saveTasks();
+        updateListSidebar();
+
+        if (listName.equals(activeListFilter)) {
+            setNavFilter("ALL", btnAll);
+        } else {
+            applyFilters();
+        }
+
+        LOG.debug(() -> "List deleted: " + listName);
+    }
+
+
+    // === Top category number statistics ===
+
+    private boolean isRealTask(Task t) {
+        return t != null && !SPACER_TITLE.equals(t.getTitle());
+    }
+
+    private void updateFixedCategoryCounts() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        int allCount = 0;
+        int todayCount = 0;
+        int importantCount = 0;
+        int pendingCount = 0;
+        int overdueCount = 0;
+        int finishedCount = 0;
+
+        for (Task t : masterTasks) {
+            if (!isRealTask(t) || archivedInView.contains(t)) continue;
+
+            allCount++;
+
+            if (TaskQuery.isDueOn(t, today)) {
+                todayCount++;
+            }
+            if (t.isImportant()) {
+                importantCount++;
+            }
+            if (t.isCompleted()) {
+                finishedCount++;
+            } else {
+                pendingCount++;
+            }
+            if (TaskQuery.isOverdue(t, now)) {
+                overdueCount++;
+            }
+        }
+
+        // Segments still on disk only hold completed tasks of past months (see loadHotSegments),
+        // so they never add to Today / Pending / Overdue
+        for (SegmentInfo s : taskStore.getUnloadedSegments()) {
+            allCount += s.getTaskCount();
+            importantCount += s.getImportantCount();
+            finishedCount += s.getCompletedCount();
+        }
+        // Archived tasks are counted from the archive index, never loaded. Only Completed
+        // shows them (and searches), so they are left out of All and Important
+        finishedCount += taskArchive.getTaskCount();
+
+        if (todayCountLabel != null)     todayCountLabel.setText(String.valueOf(todayCount));
+        if (importantCountLabel != null) importantCountLabel.setText(String.valueOf(importantCount));
+        if (allCountLabel != null)       allCountLabel.setText(String.valueOf(allCount));
+        if (pendingCountLabel != null)   pendingCountLabel.setText(String.valueOf(pendingCount));
+        if (overdueCountLabel != null)   overdueCountLabel.setText(String.valueOf(overdueCount));
+        if (completedCountLabel != null) completedCountLabel.setText(String.valueOf(finishedCount));
+
+
+        // ============================================================
+        // Number colors — fully aligned with icon colors
+        // ============================================================
+
+        if (todayCountLabel != null)
+            todayCountLabel.setStyle("-fx-text-fill: #FFCC00;");     // Today yellow
+
+        if (importantCountLabel != null)
+            importantCountLabel.setStyle("-fx-text-fill: #AF52DE;"); // Important purple
+
+        if (allCountLabel != null)
+            allCountLabel.setStyle("-fx-text-fill: #007AFF;");       // All blue
+
+        if (pendingCountLabel != null)
+            pendingCountLabel.setStyle("-fx-text-fill: #FF3B30;");   // Pending red
+
+        if (overdueCountLabel != null)
+            overdueCountLabel.setStyle("-fx-text-fill: #FFCC00;");   // Overdue yellow
+
+        if (completedCountLabel != null)
+            completedCountLabel.setStyle("-fx-text-fill: #8E8E93;"); // Completed gray
+
+        COUNTS_TIME.recordSince(start);
+    }
+
+
+    // =========================================================================
+    // 9. FXML event handlers (menu bar & shortcuts)
+    // =========================================================================
+
+    @FXML private void handleExit() {
+        saveAndExit();
+    }
+
+    @FXML
+    private void handleDeleteCompleted() {
+        ButtonType confirmResult = showCustomAlert(
+                "Clear Completed Tasks",
+                "Delete all completed tasks?",
+                "You can undo this with Edit > Undo until you quit."
+        );
+
+        if (confirmResult == ButtonType.OK) {
+            // Archived pages go to the archive's trash until the delete can no longer be undone.
+            // Cleared first: if that fails, nothing is deleted
+            TaskArchive.Trash archived;
+            try {
+                archived = taskArchive.clear();
+            } catch (IOException ex) {
+                LOG.error("Failed to clear task archive", ex);
+                refreshArchiveView();
+                showCustomAlert("Error", "Completed tasks were not deleted",
+                        "The archive could not be cleared: " + ex.getMessage());
+                return;
+            }
+            addLoadedTasks(taskStore.loadSegments(s -> s.getCompletedCount() > 0));
+            refreshArchiveView();
+            List<Task> completed = masterTasks.stream()
+                    .filter(t -> isRealTask(t) && t.isCompleted())
+                    .collect(Collectors.toList());
+            TaskOp.Positions removed = TaskOp.Positions.of(completed, masterTasks);
+            masterTasks.removeIf(t -> t != null && t.isCompleted() && !SPACER_TITLE.equals(t.getTitle()));
+            undoLog.record(new TaskOp.RemoveTasks("Delete Completed", removed, archived));
+            refreshArchiveView();
+            applyFilters();
+            saveTasks();
+            updateFixedCategoryCounts();
+            updateListSidebar();
+            LOG.debug(() -> "All completed tasks deleted.");
+        }
+    }
+
+    @FXML
+    private void handleToggleTheme() {
+        Scene scene = root.getScene();
+        if (scene == null) return;
+
+        String gradientPath = getClass().getResource("/com/mytodo/Main.css").toExternalForm();
+        if (scene.getStylesheets().contains(gradientPath)) {
+            scene.getStylesheets().remove(gradientPath);
+            rowHeights.clear();
+            LOG.info("Switched to Classic Theme (Default JavaFX)");
+        } else {
+            scene.getStylesheets().add(gradientPath);
+            rowHeights.clear();
+            LOG.info("Switched to Custom Theme (Main.css)");
+        }
+    }
+
+    @FXML
+    private void handleHelp() {
+        if (root != null && root.getScene() != null && root.getScene().getWindow() != null) {
+            AboutDialogController.showAboutDialog(root.getScene().getWindow());
+        } else {
+            Alert tempAlert = new Alert(AlertType.INFORMATION);
+            tempAlert.setTitle("About");
+            tempAlert.setHeaderText(null);
+            tempAlert.setContentText("MyTodo Application v1.0");
+            tempAlert.showAndWait();
+        }
+    }
+
+    /**
+     * Switch debug logging on/off at runtime (Help menu).
+     */
+    @FXML
+    private void handleToggleDebugLogging() {
+        boolean enable = debugLoggingItem != null && debugLoggingItem.isSelected();
+        Log.setLevel(enable ? System.Logger.Level.DEBUG : System.Logger.Level.INFO);
+        LOG.info("Log level set to " + Log.getLevel());
+    }
+
+    // --- Undo / redo (Edit menu) ---
+    @FXML
+    private void handleUndo() {
+        try {
+            applyUndoResult(undoLog.undo(), "Undone: ");
+        } catch (UncheckedIOException ex) {
+            LOG.error("Undo failed", ex);
+            showCustomAlert("Error", "Undo failed", ex.getMessage() + ": " + ex.getCause().getMessage());
+        }
+    }
+
+    @FXML
+    private void handleRedo() {
+        try {
+            applyUndoResult(undoLog.redo(), "Redone: ");
+        } catch (UncheckedIOException ex) {
+            LOG.error("Redo failed", ex);
+            showCustomAlert("Error", "Redo failed", ex.getMessage() + ": " + ex.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Saves and redraws after an undo/redo. Only segments whose tasks changed are rewritten.
+     */
+    private void applyUndoResult(TaskOp op, String message) {
+        if (op == null) return;
+        // Tasks that came back may belong to a segment that is still on disk
+        saveTasks();
+        saveLists();
+        refreshArchiveView();
+        applyFilters();
+        updateFixedCategoryCounts();
+        updateListSidebar();
+        toastNotifier.show(message + op.getDescription());
+    }
+
+    // --- Layout (View menu) ---
+    @FXML private void onLayoutCards()   { setLayout(TaskLayout.CARD); }
+    @FXML private void onLayoutCompact() { setLayout(TaskLayout.COMPACT); }
+    @FXML private void onLayoutTable()   { setLayout(TaskLayout.TABLE); }
+
+    /**
+     * Switch between wrapping cards, compact fixed-height rows and the dense table.
+     */
+    private void setLayout(TaskLayout newLayout) {
+        layout = newLayout;
+        boolean table = newLayout == TaskLayout.TABLE;
+        if (table && taskTable == null) {
+            taskTable = new TaskTableView(this);
+            taskTable.setTasks(filteredTasks, this::isRealTask);
+            VBox.setVgrow(taskTable, Priority.ALWAYS);
+            VBox parent = (VBox) taskList.getParent();
+            parent.getChildren().add(parent.getChildren().indexOf(taskList) + 1, taskTable);
+        }
+        if (taskTable != null) {
+            taskTable.setVisible(table);
+            taskTable.setManaged(table);
+        }
+        taskList.setVisible(!table);
+        taskList.setManaged(!table);
+        if (!table) installCellFactory();
+    }
+
+    /**
+     * Sets the cell factory for the current list layout; the ListView recreates its cells.
+     */
+    private void installCellFactory() {
+        boolean compact = layout == TaskLayout.COMPACT;
+        taskList.setFixedCellSize(compact ? COMPACT_ROW_HEIGHT : Region.USE_COMPUTED_SIZE);
+        taskList.setCellFactory(list -> new TaskListCell(this, layout, taskPresenter, rowHeights));
+    }
+
+    /**
+     * Show/hide the live performance overlay (Help menu).
+     */
+    @FXML
+    private void handleToggleMetricsOverlay() {
+        boolean showing = metricsOverlayItem != null && metricsOverlayItem.isSelected();
+        metricsOverlay.setShowing(showing);
+        if (showing) {
+            frameMonitor.start();
+        } else if (!ALWAYS_MONITOR_FRAMES) {
+            frameMonitor.stop();
+        }
+    }
+
+    /**
+     * Write the current metrics to metrics-snapshot.json (Help menu).
+     */
+    @FXML
+    private void handleExportMetrics() {
+        try {
+            Metrics.writeSnapshot(METRICS_SNAPSHOT_FILE);
+            toastNotifier.show("Metrics exported to " + METRICS_SNAPSHOT_FILE.getName());
+        } catch (IOException ex) {
+            LOG.error("Metrics export failed", ex);
+            showCustomAlert("Export Error", "Failed to export metrics", "Error: " + ex.getMessage());
+        }
+    }
+
+    // --- Due times (DueTaskScheduler) ---
+
+    private void startDueScheduler() {
+        dueScheduler = new DueTaskScheduler(masterTasks, t -> isRealTask(t) && !archivedInView.contains(t),
+                this::onTasksDue, Platform::runLater);
+        dueScheduler.start();
+    }
+
+    /**
+     * Tasks just became overdue (empty at midnight, when Today changes).
+     */
+    private void onTasksDue(List<Task> due) {
+        updateFixedCategoryCounts();
+        // The filter was evaluated against the time it was applied
+        if ("OVERDUE".equals(currentFilterType) || "TODAY".equals(currentFilterType)) applyFilters();
+        if (due.size() > MAX_DUE_TOASTS) {
+            toastNotifier.show(String.format("%,d tasks are now overdue", due.size()));
+        } else {
+            due.forEach(t -> toastNotifier.show("Due now: " + t.getTitle()));
+        }
+    }
+
+    // --- Import / export (File menu, TaskTransfer) ---
+
+    /**
+     * Imports a CSV or iCalendar file in the background. Each batch is added on the FX
+     * thread while the parser waits, and the whole import is one undoable change.
+     */
+    @FXML
+    private void handleImportTasks() {
+        if (transferJob != null) return;
+        File file = transferChooser("Import Tasks").showOpenDialog(root.getScene().getWindow());
+        if (file == null) return;
+        TaskFormat format = TaskFormat.forFile(file);
+        if (format == null) {
+            showCustomAlert("Import Error", "Unsupported file type", "Choose a .csv or .ics file.");
+            return;
+        }
+
+        List<Task> imported = new ArrayList<>();
+        int listsBefore = masterLists.size();
+        // lower-case name -> list name, to put imported tasks into existing lists
+        Map<String, String> listNames = new HashMap<>();
+        masterLists.forEach(li -> listNames.put(li.getName().toLowerCase(), li.getName()));
+
+        transferJob = TaskTransfer.startImport(file, format, TaskTransfer.DEFAULT_BATCH_SIZE,
+                batch -> onFxThreadAndWait(() -> addImportedBatch(batch, imported, listNames)));
+        startTransfer("Importing " + file.getName());
+        transferJob.whenDone().thenAccept(job -> Platform.runLater(() -> {
+            endTransfer();
+            if (!imported.isEmpty()) {
+                undoLog.record(new TaskOp.AddTasks("Import " + imported.size() + " Tasks", imported, masterTasks));
+                saveTasks();
+                if (masterLists.size() != listsBefore) saveLists();
+                updateFixedCategoryCounts();
+                updateListSidebar();
+            }
+            job.getProblems().forEach(p -> LOG.warn("Import " + file.getName() + ": skipped " + p));
+            String skipped = job.getSkippedCount() == 0 ? "" : String.format(", %,d skipped", job.getSkippedCount());
+            if (job.getError() != null) {
+                LOG.error("Import of " + file.getName() + " failed", job.getError());
+                showCustomAlert("Import Error", "Import stopped",
+                        String.format("%,d tasks were imported before the error.%nError: %s",
+                                imported.size(), job.getError().getMessage()));
+            } else if (job.isCancelled()) {
+                toastNotifier.show(String.format("Import cancelled: %,d tasks kept%s", imported.size(), skipped));
+            } else {
+                toastNotifier.show(String.format("Imported %,d tasks%s", imported.size(), skipped));
+            }
+        }));
+    }
+
+    // On the FX thread, like insertNewTask for a whole batch (one list change)
+    private void addImportedBatch(List<Task> batch, List<Task> imported, Map<String, String> listNames) {
+        for (Task t : batch) {
+            t.setId(taskStore.allocateId());
+            t.setRevision(1);
+            if (t.getListName() == null) continue;
+            String existing = listNames.get(t.getListName().toLowerCase());
+            if (existing == null) {
+                masterLists.add(new ListInfo(t.getListName(), null));
+                listNames.put(t.getListName().toLowerCase(), t.getListName());
+            } else {
+                t.setListName(existing);
+            }
+        }
+        masterTasks.addAll(Math.max(0, masterTasks.size() - 1), batch);
+        imported.addAll(batch);
+    }
+
+    /**
+     * Exports every task (archived ones excepted) in the background, from a snapshot:
+     * edits made meanwhile are not part of the file and are not held up by the export.
+     */
+    @FXML
+    private void handleExportTasks() {
+        if (transferJob != null) return;
+        FileChooser chooser = transferChooser("Export Tasks");
+        chooser.setInitialFileName("tasks." + TaskFormat.CSV.getExtension());
+        File file = chooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) return;
+        TaskFormat format = TaskFormat.forFile(file);
+        if (format == null) {
+            // No known extension typed: use the selected file type
+            format = TaskFormat.values()[Math.max(0, chooser.getExtensionFilters().indexOf(chooser.getSelectedExtensionFilter()))];
+            file = new File(file.getPath() + "." + format.getExtension());
+        }
+
+        loadSegmentsFor(TaskQuery.ALL);
+        TaskSnapshot snapshot = taskSnapshots().snapshot();
+        File target = file;
+        transferJob = TaskTransfer.startExport(snapshot, snapshot.size(), target, format);
+        startTransfer("Exporting " + target.getName());
+        transferJob.whenDone().thenAccept(job -> Platform.runLater(() -> {
+            endTransfer();
+            if (job.getError() != null) {
+                LOG.error("Export to " + target.getName() + " failed", job.getError());
+                showCustomAlert("Export Error", "Failed to export tasks", "Error: " + job.getError().getMessage());
+            } else if (job.isCancelled()) {
+                toastNotifier.show("Export cancelled");
+            } else {
+                toastNotifier.show(String.format("Exported %,d tasks to %s", job.getTaskCount(), target.getName()));
+            }
+        }));
+    }
+
+    private static FileChooser transferChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        for (TaskFormat f : TaskFormat.values()) {
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                    f.getDisplayName() + " (*." + f.getExtension() + ")", "*." + f.getExtension()));
+        }
+        return chooser;
+    }
+
+    private void startTransfer(String action) {
+        transferProgress.show(action, transferJob);
+        if (importItem != null) importItem.setDisable(true);
+        if (exportItem != null) exportItem.setDisable(true);
+    }
+
+    private void endTransfer() {
+        transferJob = null;
+        transferProgress.hide();
+        if (importItem != null) importItem.setDisable(false);
+        if (exportItem != null) exportItem.setDisable(false);
+    }
+
+    // Runs the action on the FX thread and waits for it (holds back the import parser)
+    private static void onFxThreadAndWait(Runnable action) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                action.run();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    @FXML
+    public void saveAndExit() {
+        LOG.debug(() -> "Save and Exit requested...");
+        if (apiServer != null) apiServer.stop();
+        if (fileWatcher != null) fileWatcher.close();
+        // Batches already added are saved below; an export in progress leaves no file
+        if (transferJob != null) transferJob.cancel();
+        if (dueScheduler != null) dueScheduler.stop();
+        try {
+            // Closed while still loading: nothing in memory yet, so nothing to save
+            if (dataLoaded) {
+                saveTasks();
+                saveLists();
+            }
+            Platform.exit();
+            System.exit(0);
+        } catch (Exception e) {
+            Alert errorAlert = new Alert(AlertType.ERROR);
+            errorAlert.setTitle("Error");
+            errorAlert.setHeaderText("Failed to save tasks on exit");
+            errorAlert.setContentText("Error: " + e.getMessage());
+            errorAlert.showAndWait();
+            System.exit(1);
+        }
+    }
+
+    // --- FXML shortcuts (used by SceneBuilder 'onAction') ---
+    @FXML public void onQuickAdd()       { addQuickTask(); }
+    @FXML public void onAddDetails()     { openTaskDetailDialog(null); }
+    @FXML public void onSearchClicked()  { performSearch(); }
+    @FXML public void onClearSearch()    {
+        if (searchField != null) searchField.clear();
+        refreshArchiveView();
+        applyFilters();
+    }
+    // --- Scripted interactions (InteractionReplay) ---
+    void quickAdd(String title) {
+        quickAddField.setText(title);
+        addQuickTask();
+    }
+
+    /**
+     * @return the in-memory task with the given id, or null (O(1)).
+     */
+    Task findTask(long id) {
+        return taskIndex.get(id);
+    }
+
+    Task visibleTask(int row) {
+        return row >= 0 && row < filteredTasks.size() ? filteredTasks.get(row) : null;
+    }
+
+    void showFilter(String filterType) {
+        switch (filterType) {
+            case "TODAY"     -> onFilterToday();
+            case "IMPORTANT" -> onFilterImportant();
+            case "PENDING"   -> onFilterPending();
+            case "OVERDUE"   -> onFilterOverdue();
+            case "FINISHED"  -> onFilterFinished();
+            default          -> onFilterAll();
+        }
+    }
+
+    void search(String text) {
+        searchField.setText(text);
+        performSearch();
+    }
+
+    void scrollTo(int row) {
+        taskList.scrollTo(row);
+    }
+
+    // --- Local task API (FxTaskService, on the FX thread) ---
+
+    private void startApiServer() {
+        try {
+            apiServer = new TaskApiServer(new FxTaskService(this, taskSnapshots()));
+            apiServer.start(API_PORT);
+        } catch (IOException ex) {
+            LOG.error("Cannot start the task API on port " + API_PORT, ex);
+            apiServer = null;
+        }
+    }
+
+    /**
+     * Snapshots of the in-memory tasks (archived ones shown in a view are left out).
+     * Every change of masterTasks is committed as it happens, so a snapshot taken on any
+     * thread after an FX-thread change returns includes that change.
+     */
+    TaskListSnapshots taskSnapshots() {
+        if (taskSnapshots == null) {
+            taskSnapshots = new TaskListSnapshots(masterTasks, t -> isRealTask(t) && !archivedInView.contains(t));
+        }
+        return taskSnapshots;
+    }
+
+    void addTask(Task task) {
+        insertNewTask(task);
+        scheduleApiRefresh();
+    }
+
+    /**
+     * Applies the edit to each task as one undoable change.
+     */
+    void editTasks(List<Task> tasks, Consumer<Task> edit) {
+        if (tasks.isEmpty()) return;
+        List<TaskOp> ops = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            restoreFromArchive(t);
+            TaskOp.Fields before = TaskOp.Fields.of(t);
+            edit.accept(t);
+            ops.add(new TaskOp.EditTask("Edit Task", t, before));
+        }
+        undoLog.record(ops.size() == 1 ? ops.get(0) : new TaskOp.Batch("Edit " + ops.size() + " Tasks", ops));
+        scheduleApiRefresh();
+    }
+
+    /**
+     * Removes the tasks as one undoable change (one list change event).
+     */
+    void removeTasks(List<Task> tasks) {
+        if (tasks.isEmpty()) return;
+        tasks.forEach(this::restoreFromArchive);
+        TaskOp.Positions removed = TaskOp.Positions.of(tasks, masterTasks);
+        if (removed.isEmpty()) return;
+        Set<Task> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(removed.getTasks());
+        masterTasks.removeIf(gone::contains);
+        String description = gone.size() == 1 ? "Delete Task" : "Delete " + gone.size() + " Tasks";
+        undoLog.record(new TaskOp.RemoveTasks(description, removed, null));
+        scheduleApiRefresh();
+    }
+
+    /**
+     * Saves and updates counts/sidebar once for a burst of API changes.
+     */
+    private void scheduleApiRefresh() {
+        if (apiRefreshPending) return;
+        apiRefreshPending = true;
+        PauseTransition pause = new PauseTransition(API_REFRESH_DELAY);
+        pause.setOnFinished(e -> {
+            apiRefreshPending = false;
+            saveTasks();
+            updateFixedCategoryCounts();
+            updateListSidebar();
+        });
+        pause.play();
+    }
+
+    @FXML public void onFilterToday()     { setNavFilter("TODAY",    btnToday); }
+    @FXML public void onFilterImportant() { setNavFilter("IMPORTANT",btnImportant); }
+    @FXML public void onFilterAll()       { setNavFilter("ALL",      btnAll); }
+    @FXML public void onFilterPending()   { setNavFilter("PENDING",  btnPending); }
+    @FXML public void onFilterFinished()  { setNavFilter("FINISHED", btnFinished); }
+    @FXML public void onFilterOverdue()   { setNavFilter("OVERDUE",  btnOverdue); }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.mytodo;
+
+import com.mytodo.util.FrameMonitor;
+import com.mytodo.util.Metrics;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+/**
+ * Small live performance panel drawn over the task list (Help > Performance Overlay).
+ *
+ * Reads the Metrics registry once per second while visible; when hidden the timer is
+ * stopped, so the overlay costs nothing unless it is switched on.
+ */
+public class MetricsOverlay extends Label {
+
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+
+    // [label, histogram name, unit divisor, unit]
+    private static final String[][] ROWS = {
+            {"filter",   "applyFilters.time.us",            "1000", "ms"},
+            {"results",  "applyFilters.results",            "1",    ""},
+            {"save",     "saveTasks.time.us",               "1000", "ms"},
+            {"save KB",  "saveTasks.bytes",                 "1024", "KB"},
+            {"load",     "load.time.us",                    "1000", "ms"},
+            {"sidebar",  "updateListSidebar.time.us",       "1000", "ms"},
+            {"counts",   "updateFixedCategoryCounts.time.us", "1000", "ms"},
+            {"dialog",   "dialog.open.us",                  "1000", "ms"},
+            {"frame",    FrameMonitor.FRAME_TIME,           "1000", "ms"},
+            {"stall",    FrameMonitor.STALL_TIME,           "1000", "ms"},
+    };
+
+    private final Timeline refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+    private final Metrics.Counter cellUpdates = Metrics.counter(TaskListCell.UPDATE_ITEM_COUNTER);
+    private long lastCellUpdates;
+    private long lastRefreshNanos;
+
+    public MetricsOverlay() {
+        getStyleClass().add("metrics-overlay");
+        setMouseTransparent(true);
+        setVisible(false);
+        StackPane.setAlignment(this, Pos.TOP_RIGHT);
+        refresher.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public void setShowing(boolean showing) {
+        setVisible(showing);
+        if (showing) {
+            lastCellUpdates = cellUpdates.get();
+            lastRefreshNanos = System.nanoTime();
+            refresh();
+            refresher.play();
+        } else {
+            refresher.stop();
+        }
+    }
+
+    private void refresh() {
+        StringBuilder sb = new StringBuilder(String.format("%-8s %6s %6s %6s %6s", "", "n", "p50", "p99", "max"));
+        for (String[] row : ROWS) {
+            Metrics.Histogram h = Metrics.histogram(row[1]);
+            double divisor = Double.parseDouble(row[2]);
+            sb.append(String.format("%n%-8s %6d %6.1f %6.1f %6.1f %s", row[0], h.getCount(),
+                    h.getPercentile(50) / divisor, h.getPercentile(99) / divisor, h.getMax() / divisor, row[3]));
+        }
+
+        // Cell updates per second since the previous refresh
+        long now = System.nanoTime();
+        long updates = cellUpdates.get();
+        double seconds = Math.max(1e-3, (now - lastRefreshNanos) / 1e9);
+        sb.append(String.format("%ncells/s  %6.0f", (updates - lastCellUpdates) / seconds));
+        sb.append(String.format("%njank     %6d  stalls %d", Metrics.counter(FrameMonitor.JANK_FRAMES).get(),
+                Metrics.counter(FrameMonitor.STALLS).get()));
+        lastCellUpdates = updates;
+        lastRefreshNanos = now;
+
+        setText(sb.toString());
+    }
+}
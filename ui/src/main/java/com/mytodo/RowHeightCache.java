@@ -0,0 +1,89 @@
+package com.mytodo;
+
+import com.mytodo.util.LongHashMap;
+
+/**
+ * Remembers the measured height of wrapped task rows, so scrolling and resizing back
+ * to a known width do not measure the same text again.
+ *
+ * Keyed by task id and width bucket (the title's wrapping width in whole pixels). An entry
+ * is only valid for the display strings it was measured with: TaskPresenter rebuilds the
+ * strings of a task after an edit, so a reference comparison detects stale heights
+ * without any listener. Entries are dropped when their task leaves the list (remove,
+ * called from the TaskIndex remove listener) or, for archived tasks that are only paged
+ * through, when the cache outgrows MAX_ENTRIES.
+ */
+public class RowHeightCache {
+
+    // Widths remembered per task (e.g. normal window + maximized)
+    private static final int WIDTHS_PER_TASK = 4;
+
+    private static final int MAX_ENTRIES = 50_000;
+
+    private final LongHashMap<Entry> entries = new LongHashMap<>();
+    private final TaskPresenter presenter;
+
+    public RowHeightCache(TaskPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    /**
+     * @return the cached height, or -1 if the row must be measured.
+     */
+    public double get(Task task, int widthBucket) {
+        Entry e = entries.get(task.getId());
+        if (e == null || !e.matches(task, presenter)) return -1;
+        for (int i = 0; i < WIDTHS_PER_TASK; i++) {
+            if (e.widths[i] == widthBucket && e.heights[i] > 0) return e.heights[i];
+        }
+        return -1;
+    }
+
+    public void put(Task task, int widthBucket, double height) {
+        Entry e = entries.get(task.getId());
+        if (e == null) {
+            if (entries.size() >= MAX_ENTRIES) entries.clear();
+            e = new Entry();
+            entries.put(task.getId(), e);
+        }
+        if (!e.matches(task, presenter)) {
+            e.reset(task, presenter);
+        }
+        e.widths[e.next] = widthBucket;
+        e.heights[e.next] = height;
+        e.next = (e.next + 1) % WIDTHS_PER_TASK;
+    }
+
+    /**
+     * Drops the heights of a task that left the list.
+     */
+    public void remove(long id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Drops every height (font or stylesheet changed).
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private String title;
+        private String detail;
+        private final int[] widths = new int[WIDTHS_PER_TASK];
+        private final double[] heights = new double[WIDTHS_PER_TASK];
+        private int next = 0;
+
+        boolean matches(Task task, TaskPresenter presenter) {
+            return title == presenter.title(task) && detail == presenter.detail(task);
+        }
+
+        void reset(Task task, TaskPresenter presenter) {
+            title = presenter.title(task);
+            detail = presenter.detail(task);
+            for (int i = 0; i < WIDTHS_PER_TASK; i++) heights[i] = 0;
+            next = 0;
+        }
+    }
+}
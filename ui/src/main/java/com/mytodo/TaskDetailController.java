@@ -10,6 +10,7 @@ import javafx.util.StringConverter;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 public class TaskDetailController {
 
@@ -24,12 +25,24 @@ public class TaskDetailController {
     // listName selector
     @FXML private ChoiceBox<String> listSelectorBox;
 
+    // Repeat presets, or Custom for an RRULE typed into ruleField
+    @FXML private ChoiceBox<String> repeatBox;
+    @FXML private TextField ruleField;
+    @FXML private Label repeatHint;
+
     private Task resultTask;
     private boolean okClicked = false;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private final LocalTime DEFAULT_END_OF_DAY_TIME = LocalTime.of(23, 59);
     private static final String UNLISTED_PLACEHOLDER = "Unlisted";
+    private static final String REPEAT_NEVER = "Never";
+    private static final String REPEAT_CUSTOM = "Custom";
+    private static final Map<String, Recurrence> REPEAT_PRESETS = Map.of(
+            "Daily", Recurrence.daily(),
+            "Weekly", Recurrence.weekly(),
+            "Monthly", Recurrence.monthly(),
+            "Yearly", Recurrence.yearly());
 
     @FXML
     private void initialize() {
@@ -37,16 +50,29 @@ public class TaskDetailController {
         priorityBox.setValue("Normal");
         dueDatePicker.setValue(LocalDate.now());
 
+        repeatBox.setItems(FXCollections.observableArrayList(REPEAT_NEVER, "Daily", "Weekly", "Monthly", "Yearly", REPEAT_CUSTOM));
+        repeatBox.valueProperty().addListener((obs, old, choice) -> {
+            Recurrence preset = REPEAT_PRESETS.get(choice);
+            ruleField.setEditable(REPEAT_CUSTOM.equals(choice));
+            ruleField.setDisable(REPEAT_NEVER.equals(choice));
+            if (preset != null) ruleField.setText(preset.getRule());
+            else if (REPEAT_NEVER.equals(choice)) ruleField.clear();
+            updateRepeatHint();
+        });
+        ruleField.textProperty().addListener((obs, old, text) -> updateRepeatHint());
+
         okButton.setOnAction(event -> handleOk());
         cancelButton.setOnAction(event -> handleCancel());
     }
 
     /**
      * New version of loadData —— accepts ListInfo
+     * The dialog is reused (see DialogFactory), so every field is reset here.
      */
     public void loadData(Task task, ObservableList<ListInfo> listInfos) {
 
         this.resultTask = task;
+        this.okClicked = false;
 
         // -----------------------------
         // 1) Convert ListInfo → String (list names)
@@ -78,10 +104,48 @@ public class TaskDetailController {
                 listSelectorBox.setValue(UNLISTED_PLACEHOLDER);
             }
 
+            setRepeat(task.getRecurrence());
+
         } else {
             // New task
+            titleField.clear();
+            descArea.clear();
+            dueDatePicker.setValue(LocalDate.now());
+            priorityBox.setValue("Normal");
             listSelectorBox.setValue(UNLISTED_PLACEHOLDER);
             dueTimeSpinner.setValueFactory(createTimeValueFactory(DEFAULT_END_OF_DAY_TIME));
+            setRepeat(null);
+        }
+    }
+
+    private void setRepeat(Recurrence recurrence) {
+        String choice = REPEAT_NEVER;
+        if (recurrence != null) {
+            choice = REPEAT_CUSTOM;
+            for (Map.Entry<String, Recurrence> e : REPEAT_PRESETS.entrySet()) {
+                if (e.getValue().sameRule(recurrence)) choice = e.getKey();
+            }
+        }
+        repeatBox.setValue(choice);
+        if (recurrence != null) ruleField.setText(recurrence.getRule());
+        updateRepeatHint();
+    }
+
+    /**
+     * @return the rule chosen in the dialog, or null for Never.
+     * @throws IllegalArgumentException if the custom rule is invalid.
+     */
+    private Recurrence selectedRule() {
+        if (REPEAT_NEVER.equals(repeatBox.getValue())) return null;
+        return Recurrence.parse(ruleField.getText());
+    }
+
+    private void updateRepeatHint() {
+        try {
+            Recurrence rule = selectedRule();
+            repeatHint.setText(rule == null ? "" : rule.describe());
+        } catch (IllegalArgumentException e) {
+            repeatHint.setText(e.getMessage());
         }
     }
 
@@ -89,7 +153,24 @@ public class TaskDetailController {
     private void handleOk() {
         if (titleField.getText() == null || titleField.getText().isBlank()) return;
 
+        Recurrence rule;
+        try {
+            rule = selectedRule();
+        } catch (IllegalArgumentException e) {
+            // Keep the dialog open; the hint shows what is wrong
+            repeatHint.setText(e.getMessage());
+            return;
+        }
+        // A series needs a start
+        if (rule != null && dueDatePicker.getValue() == null) dueDatePicker.setValue(LocalDate.now());
+
         if (resultTask == null) resultTask = new Task();
+        Recurrence current = resultTask.getRecurrence();
+        if (rule == null && current != null && resultTask.currentOccurrence() != null
+                && dueDatePicker.getValue().equals(resultTask.getDueDate())) {
+            // No longer repeating: keep the occurrence that was due, not the series start
+            dueDatePicker.setValue(resultTask.currentOccurrence());
+        }
 
         resultTask.setTitle(titleField.getText());
         resultTask.setDescription(descArea.getText());
@@ -97,6 +178,8 @@ public class TaskDetailController {
         resultTask.setTime(getSelectedTime());
         resultTask.setPriority(priorityBox.getValue());
         resultTask.setImportant("High".equalsIgnoreCase(priorityBox.getValue()));
+        // An edited rule keeps the occurrences already done in order (see Recurrence.withRule)
+        resultTask.setRecurrence(rule == null ? null : current == null ? rule : current.withRule(rule));
 
         String selectedList = listSelectorBox.getValue();
         if (UNLISTED_PLACEHOLDER.equals(selectedList)) {
@@ -0,0 +1,14 @@
+package com.mytodo;
+
+/**
+ * How the task list is drawn (View menu). All layouts render through the same update
+ * protocol (TaskObserver + the display strings cached by TaskPresenter).
+ */
+public enum TaskLayout {
+    /** Wrapping cards in the ListView; row heights cached in RowHeightCache. */
+    CARD,
+    /** Single-line rows of fixed height in the ListView. */
+    COMPACT,
+    /** Dense TableView with sortable columns, for very long lists. */
+    TABLE
+}
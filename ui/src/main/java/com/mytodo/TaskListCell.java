@@ -0,0 +1,252 @@
+package com.mytodo; // <-- Correct package declaration
+
+// ---------------------------------------------------------------------
+// Imports
+// ---------------------------------------------------------------------
+
+// JavaFX core
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+//  FlowPane has been removed
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+// Project-specific classes
+import com.mytodo.util.Metrics;
+
+
+/**
+ * Custom list cell (TaskListCell), used to display a single Task in a ListView.
+ */
+public class TaskListCell extends ListCell<Task> {
+
+    // --- Layout and controls (Fields) ---
+    private final HBox rootLayout = new HBox(10); // Root HBox with spacing = 10
+    private final CheckBox completedCheckbox = new CheckBox();
+    private final Text titleText = new Text();
+    private final Label detailLabel = new Label();
+    // Compact mode: single-line, ellipsized title instead of the wrapping Text
+    private final Label compactTitle = new Label();
+
+    //  tagContainer has been removed
+
+    //  Vertical text stack now only contains title and detail
+    private final VBox textStack = new VBox(2, titleText, detailLabel);
+
+    // --- State and constants ---
+    private final MainController controller; // Reference to the main controller
+    private final boolean compact;           // TaskLayout.COMPACT (ListView uses fixedCellSize)
+    private final TaskPresenter presenter;   // Cached display strings, shared by all cells
+    private final RowHeightCache rowHeights; // Measured heights of wrapped rows (card mode)
+    private boolean bindingDone = false;     // Flag for width binding
+
+    // The cell re-renders itself when a property of its task changes (no ListView.refresh())
+    private final TaskObserver taskObserver = new TaskObserver(() -> {
+        RERENDERS.increment();
+        render(getItem());
+    });
+
+    private static final double SIDE_MARGIN = 50;
+    private static final double SPACER_HEIGHT = 100;
+
+    // Counts every updateItem call (rate shown in the performance overlay)
+    static final String UPDATE_ITEM_COUNTER = "cell.updateItem";
+    private static final Metrics.Counter UPDATE_ITEM_CALLS = Metrics.counter(UPDATE_ITEM_COUNTER);
+    // Counts redraws of a cell because a property of its task changed (see CellUpdateCheck)
+    static final String RERENDER_COUNTER = "cell.rerender";
+    private static final Metrics.Counter RERENDERS = Metrics.counter(RERENDER_COUNTER);
+
+    // Visual states are switched with pseudo-classes (see Main.css, section 3.5), not inline styles
+    private static final PseudoClass COMPLETED = PseudoClass.getPseudoClass("completed");
+    private static final PseudoClass SPACER = PseudoClass.getPseudoClass("spacer");
+
+    // One spacer node per cell, reused for every spacer row
+    private final Region spacer = new Region();
+
+    /**
+     * Constructor
+     * @param controller the MainController instance passed in
+     * @param layout     CARD (wrapping) or COMPACT (single line, fixed height)
+     * @param presenter  shared display strings of the tasks
+     * @param rowHeights shared height cache for wrapping rows (may be null)
+     */
+    public TaskListCell(MainController controller, TaskLayout layout, TaskPresenter presenter,
+                        RowHeightCache rowHeights) {
+        this.controller = controller;
+        this.compact = layout == TaskLayout.COMPACT;
+        this.presenter = presenter;
+        this.rowHeights = rowHeights;
+
+        // (Load CSS... )
+        try {
+            rootLayout.getStylesheets().add(
+                    getClass().getResource("/com/mytodo/Main.css").toExternalForm()
+            );
+        } catch (Exception e) {
+            System.err.println("Could not load stylesheet: Main.css");
+            e.printStackTrace();
+        }
+
+        // (Layout setup... )
+        completedCheckbox.setAllowIndeterminate(false);
+        completedCheckbox.setStyle("-fx-mark-color: transparent;");
+        completedCheckbox.setGraphic(null);
+        rootLayout.setAlignment(Pos.CENTER_LEFT);
+        rootLayout.setMaxWidth(Double.MAX_VALUE);
+        this.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(textStack, Priority.ALWAYS);
+        VBox.setVgrow(textStack, Priority.ALWAYS);
+
+        // (Event listeners... )
+        completedCheckbox.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            Task task = getItem();
+            if (task != null && task.isCompleted() != newVal) {
+                controller.toggleCompletion(task);
+            }
+        });
+
+        // (Edit button... )
+        Button editBtn = new Button("Edit");
+        // CSS styleClasses for edit button color have already been defined
+        editBtn.getStyleClass().addAll("flat-ghost", "edit");
+        editBtn.setOnAction(e -> {
+            Task t = getItem();
+            if (t != null) controller.openTaskDetailDialog(t);
+        });
+
+        // (Delete button... )
+        Button deleteBtn = new Button("Delete");
+        // CSS styleClasses for delete button color have already been defined
+        deleteBtn.getStyleClass().addAll("flat-ghost", "delete");
+        deleteBtn.setOnAction(e -> {
+            Task t = getItem();
+            if (t != null) controller.deleteTask(t);
+        });
+
+        // (Assemble layout... )
+        HBox actionBox = new HBox(5, editBtn, deleteBtn);
+        actionBox.setAlignment(Pos.CENTER_RIGHT);
+        if (compact) {
+            // [checkbox] [title.........] [detail] [Edit] [Delete], all on one line
+            compactTitle.setTextOverrun(OverrunStyle.ELLIPSIS);
+            compactTitle.setMaxWidth(Double.MAX_VALUE);
+            compactTitle.setMinWidth(0);
+            detailLabel.setTextOverrun(OverrunStyle.ELLIPSIS);
+            detailLabel.setMinWidth(0);
+            HBox.setHgrow(compactTitle, Priority.ALWAYS);
+            rootLayout.getChildren().addAll(completedCheckbox, compactTitle, detailLabel, actionBox);
+        } else {
+            rootLayout.getChildren().addAll(completedCheckbox, textStack, actionBox);
+        }
+
+        // (Style settings... )
+        titleText.setFont(Font.font("System", FontWeight.NORMAL, 16));
+        getStyleClass().add("task-cell");
+        if (compact) {
+            getStyleClass().add("compact");
+            rootLayout.getStyleClass().add("compact");
+        }
+        titleText.getStyleClass().add("task-title");
+        compactTitle.getStyleClass().add("task-title-compact");
+        detailLabel.getStyleClass().add("task-detail");
+        rootLayout.getStyleClass().add("task-card");
+        spacer.setMinHeight(SPACER_HEIGHT);
+        spacer.setPrefHeight(SPACER_HEIGHT);
+        spacer.setMaxHeight(SPACER_HEIGHT);
+        this.setPrefWidth(Region.USE_COMPUTED_SIZE);
+    }
+
+    /**
+     * Core method: called when the cell is reused or when its data is updated.
+     */
+    @Override
+    protected void updateItem(Task task, boolean empty) {
+        super.updateItem(task, empty);
+        UPDATE_ITEM_CALLS.increment();
+        taskObserver.observe(empty ? null : task);
+        render(empty ? null : task);
+    }
+
+    /**
+     * Draws the given task (or an empty cell) into this cell.
+     */
+    private void render(Task task) {
+        boolean isSpacer = task != null && "(SPACER_ITEM)".equals(task.getTitle());
+        pseudoClassStateChanged(SPACER, isSpacer);
+
+        // 1. Empty cell handling (Bug fix)
+        if (task == null) {
+            setGraphic(null);
+            setText(null);
+            pseudoClassStateChanged(COMPLETED, false);
+            return;
+        }
+
+        // 2. "Ghost" item (Spacer Item)
+        if (isSpacer) {
+            setGraphic(spacer);
+            setText(null);
+            pseudoClassStateChanged(COMPLETED, false);
+            // End of list reached: let the controller page in more archived tasks
+            controller.onListEndVisible();
+            return;
+        }
+
+        // 3. Normal task rendering (strings are cached by the presenter)
+        if (compact) {
+            compactTitle.setText(presenter.title(task));
+        } else {
+            titleText.setText(presenter.title(task));
+        }
+        detailLabel.setText(presenter.detail(task));
+
+        // (Checkbox and strikethrough: :completed in Main.css)
+        completedCheckbox.setSelected(task.isCompleted());
+        pseudoClassStateChanged(COMPLETED, task.isCompleted());
+
+        // (Final setup... )
+        setGraphic(rootLayout);
+
+        // (Width binding logic...)
+        if (!bindingDone && getListView() != null) {
+            Platform.runLater(() -> {
+                try {
+                    double totalMargin = SIDE_MARGIN * 2;
+                    this.prefWidthProperty().bind(getListView().widthProperty().subtract(totalMargin));
+                    rootLayout.prefWidthProperty().bind(getListView().widthProperty().subtract(totalMargin));
+                    if (!compact) {
+                        titleText.wrappingWidthProperty().bind(getListView().widthProperty().subtract(totalMargin + 200));
+                    }
+                } catch (Exception ignored) {}
+            });
+            bindingDone = true;
+        }
+    }
+
+    /**
+     * Wrapped rows: reuse the height measured for this task at this wrapping width.
+     * Only cached once the wrapping width is bound, so unwrapped first layouts are never stored.
+     */
+    @Override
+    protected double computePrefHeight(double width) {
+        Task task = getItem();
+        if (compact || rowHeights == null || task == null || getGraphic() != rootLayout
+                || titleText.getWrappingWidth() <= 0) {
+            return super.computePrefHeight(width);
+        }
+        int widthBucket = (int) Math.round(titleText.getWrappingWidth());
+        double height = rowHeights.get(task, widthBucket);
+        if (height < 0) {
+            height = super.computePrefHeight(width);
+            rowHeights.put(task, widthBucket, height);
+        }
+        return height;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mytodo;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+
+/**
+ * Update protocol shared by every task renderer (list cells, table rows).
+ *
+ * A renderer observes the displayed properties of the one task it shows and redraws
+ * only itself when one changes, so no view ever needs a global refresh() for a
+ * single-task edit. The listener is weak: a renderer dropped by its virtual flow must
+ * not be kept alive by the last task it showed.
+ */
+public final class TaskObserver {
+
+    private final InvalidationListener listener;
+    private final WeakInvalidationListener weakListener;
+    private Task observed;
+
+    /**
+     * @param onChange called on the FX thread after a displayed property of the task changed
+     */
+    public TaskObserver(Runnable onChange) {
+        this.listener = obs -> onChange.run();
+        this.weakListener = new WeakInvalidationListener(listener);
+    }
+
+    /**
+     * Moves the listener from the previous task to the new one (null = observe nothing).
+     */
+    public void observe(Task task) {
+        if (observed == task) return;
+        if (observed != null) {
+            for (Observable p : observed.displayedProperties()) p.removeListener(weakListener);
+        }
+        observed = task;
+        if (task != null) {
+            for (Observable p : task.displayedProperties()) p.addListener(weakListener);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.mytodo;
+
+import com.mytodo.util.Log;
+import com.mytodo.util.TaskArchive;
+import javafx.collections.ObservableList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A reversible change to the task model, as kept by {@link UndoLog}.
+ *
+ * Records are small: they refer to tasks by id where the task stays in memory, and keep
+ * only the data the change destroyed (old field values, list positions, removed tasks).
+ * They are plain data with no UI state, so the same records can be written to a journal
+ * later. Applying one changes the in-memory model only; the caller saves afterwards,
+ * which rewrites just the segments that actually changed.
+ *
+ * An operation that fails to undo or redo (archive pages could not be moved) throws
+ * UncheckedIOException before it changes the in-memory model, so it can be tried again.
+ */
+public abstract class TaskOp {
+
+    private static final Log LOG = Log.get(TaskOp.class);
+
+    /**
+     * What an operation works on (implemented by MainController).
+     */
+    public interface Target {
+        ObservableList<Task> tasks();
+
+        ObservableList<ListInfo> lists();
+
+        TaskArchive archive();
+
+        /** Looks a task up by id; null if it is not in memory. */
+        Task findTask(long id);
+    }
+
+    private final String description;
+
+    protected TaskOp(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Short label for the Edit menu, e.g. "Delete Task".
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    public abstract void undo(Target target);
+
+    public abstract void redo(Target target);
+
+    /**
+     * Rough retained size, for the undo memory budget.
+     */
+    public abstract long estimatedBytes();
+
+    /**
+     * Called when the operation leaves the undo history for good.
+     */
+    public void discard(Target target) {
+    }
+
+    // ---------------------------------------------------------------------
+    // Operations
+    // ---------------------------------------------------------------------
+
+    /**
+     * Tasks added at the given positions.
+     */
+    public static final class AddTasks extends TaskOp {
+        private final Positions added;
+
+        public AddTasks(String description, List<Task> tasks, List<Task> all) {
+            super(description);
+            this.added = Positions.of(tasks, all);
+        }
+
+        @Override public void undo(Target target) { added.remove(target.tasks()); }
+        @Override public void redo(Target target) { added.insert(target.tasks()); }
+        @Override public long estimatedBytes() { return 32 + added.estimatedBytes(); }
+    }
+
+    /**
+     * Tasks removed (delete, delete completed). Archived tasks removed with them are kept
+     * in the archive's trash until the operation is discarded.
+     */
+    public static final class RemoveTasks extends TaskOp {
+        private final Positions removed;
+        private final boolean clearsArchive;
+        private TaskArchive.Trash archiveTrash;
+
+        public RemoveTasks(String description, Positions removed, TaskArchive.Trash archiveTrash) {
+            super(description);
+            this.removed = removed;
+            this.archiveTrash = archiveTrash;
+            this.clearsArchive = archiveTrash != null;
+        }
+
+        @Override
+        public void undo(Target target) {
+            // Archive first: if its pages cannot be moved back, nothing else changes
+            if (archiveTrash != null) {
+                try {
+                    target.archive().restore(archiveTrash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to restore archived tasks", e);
+                }
+                archiveTrash = null;
+            }
+            removed.insert(target.tasks());
+        }
+
+        @Override
+        public void redo(Target target) {
+            if (clearsArchive) {
+                try {
+                    archiveTrash = target.archive().clear();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to clear the task archive", e);
+                }
+            }
+            removed.remove(target.tasks());
+        }
+
+        @Override
+        public void discard(Target target) {
+            if (archiveTrash != null) {
+                try {
+                    target.archive().purge(archiveTrash);
+                } catch (IOException e) {
+                    // Left in the trash folder, which the archive empties on the next start
+                    LOG.warn("Failed to delete archived tasks: " + e.getMessage());
+                }
+                archiveTrash = null;
+            }
+        }
+
+        @Override public long estimatedBytes() { return 48 + removed.estimatedBytes(); }
+    }
+
+    /**
+     * Field values of one task changed (edit dialog, completion toggle).
+     */
+    public static final class EditTask extends TaskOp {
+        private final long taskId;
+        private final Fields before;
+        private final Fields after;
+
+        public EditTask(String description, Task task, Fields before) {
+            super(description);
+            this.taskId = task.getId();
+            this.before = before;
+            this.after = Fields.of(task);
+        }
+
+        @Override
+        public void undo(Target target) {
+            Task task = target.findTask(taskId);
+            if (task != null) before.applyTo(task);
+        }
+
+        @Override
+        public void redo(Target target) {
+            Task task = target.findTask(taskId);
+            if (task != null) after.applyTo(task);
+        }
+
+        @Override public long estimatedBytes() { return 32 + before.estimatedBytes() + after.estimatedBytes(); }
+    }
+
+    /**
+     * A custom list removed; its tasks were moved to "Unlisted".
+     */
+    public static final class DeleteList extends TaskOp {
+        private final ListInfo list;
+        private final int position;
+        private final long[] movedTaskIds;
+
+        public DeleteList(ListInfo list, int position, List<Task> movedTasks) {
+            super("Delete List");
+            this.list = list;
+            this.position = position;
+            this.movedTaskIds = movedTasks.stream().mapToLong(Task::getId).toArray();
+        }
+
+        @Override
+        public void undo(Target target) {
+            target.lists().add(Math.min(position, target.lists().size()), list);
+            setListName(target, list.getName());
+        }
+
+        @Override
+        public void redo(Target target) {
+            target.lists().remove(list);
+            setListName(target, null);
+        }
+
+        private void setListName(Target target, String name) {
+            for (long id : movedTaskIds) {
+                Task t = target.findTask(id);
+                if (t != null) t.setListName(name);
+            }
+        }
+
+        @Override public long estimatedBytes() { return 64 + 8L * movedTaskIds.length; }
+    }
+
+    /**
+     * Several operations done as one change (bulk edits from the task API).
+     */
+    public static final class Batch extends TaskOp {
+        private final List<TaskOp> ops;
+
+        public Batch(String description, List<TaskOp> ops) {
+            super(description);
+            this.ops = List.copyOf(ops);
+        }
+
+        @Override
+        public void undo(Target target) {
+            for (int i = ops.size() - 1; i >= 0; i--) ops.get(i).undo(target);
+        }
+
+        @Override
+        public void redo(Target target) {
+            for (TaskOp op : ops) op.redo(target);
+        }
+
+        @Override
+        public void discard(Target target) {
+            for (TaskOp op : ops) op.discard(target);
+        }
+
+        @Override
+        public long estimatedBytes() {
+            long bytes = 32 + 8L * ops.size();
+            for (TaskOp op : ops) bytes += op.estimatedBytes();
+            return bytes;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Record parts
+    // ---------------------------------------------------------------------
+
+    /**
+     * Tasks together with their positions in the task list (ascending).
+     */
+    public static final class Positions {
+        private final List<Task> tasks;
+        private final int[] indices;
+
+        private Positions(List<Task> tasks, int[] indices) {
+            this.tasks = tasks;
+            this.indices = indices;
+        }
+
+        /**
+         * Records where the given tasks currently are in the list (tasks not found are skipped).
+         */
+        public static Positions of(List<Task> tasks, List<Task> all) {
+            if (tasks.size() == 1) {
+                // indexOf is cheap on ChunkedTaskList (the task knows its chunk)
+                int at = all.indexOf(tasks.get(0));
+                return at < 0 ? new Positions(List.of(), new int[0])
+                              : new Positions(List.of(tasks.get(0)), new int[]{at});
+            }
+            Set<Task> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+            wanted.addAll(tasks);
+            List<Task> found = new ArrayList<>(tasks.size());
+            int[] at = new int[tasks.size()];
+            for (int i = 0; i < all.size() && found.size() < at.length; i++) {
+                if (wanted.contains(all.get(i))) {
+                    at[found.size()] = i;
+                    found.add(all.get(i));
+                }
+            }
+            int[] indices = new int[found.size()];
+            System.arraycopy(at, 0, indices, 0, indices.length);
+            return new Positions(found, indices);
+        }
+
+        public boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+
+        public List<Task> getTasks() {
+            return tasks;
+        }
+
+        /**
+         * Puts the tasks back at their old positions (ascending order rebuilds the original list).
+         */
+        void insert(ObservableList<Task> all) {
+            if (tasks.size() == 1) {
+                all.add(Math.min(indices[0], all.size()), tasks.get(0));
+                return;
+            }
+            List<Task> merged = new ArrayList<>(all.size() + tasks.size());
+            int next = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                while (merged.size() < indices[i] && next < all.size()) merged.add(all.get(next++));
+                merged.add(tasks.get(i));
+            }
+            while (next < all.size()) merged.add(all.get(next++));
+            all.setAll(merged);
+        }
+
+        void remove(ObservableList<Task> all) {
+            if (tasks.size() == 1) {
+                all.remove(tasks.get(0));
+                return;
+            }
+            Set<Task> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+            gone.addAll(tasks);
+            all.removeIf(gone::contains);
+        }
+
+        long estimatedBytes() {
+            return 32 + 12L * tasks.size();
+        }
+    }
+
+    /**
+     * Snapshot of the editable fields of a task.
+     */
+    public static final class Fields {
+        private final String title;
+        private final String description;
+        private final LocalDate dueDate;
+        private final LocalTime time;
+        private final String priority;
+        private final boolean completed;
+        private final boolean important;
+        private final String listName;
+        private final LocalDate completedDate;
+        // Immutable, so sharing it is a snapshot
+        private final Recurrence recurrence;
+
+        private Fields(Task t) {
+            title = t.getTitle();
+            description = t.getDescription();
+            dueDate = t.getDueDate();
+            time = t.getTime();
+            priority = t.getPriority();
+            completed = t.isCompleted();
+            important = t.isImportant();
+            listName = t.getListName();
+            completedDate = t.getCompletedDate();
+            recurrence = t.getRecurrence();
+        }
+
+        public static Fields of(Task task) {
+            return new Fields(task);
+        }
+
+        void applyTo(Task t) {
+            t.setTitle(title);
+            t.setDescription(description);
+            t.setDueDate(dueDate);
+            t.setTime(time);
+            t.setPriority(priority);
+            t.setCompletedDate(completedDate);
+            t.setCompleted(completed);
+            t.setImportant(important);
+            t.setListName(listName);
+            t.setRecurrence(recurrence);
+        }
+
+        long estimatedBytes() {
+            return 96 + 2L * (length(title) + length(description) + length(listName));
+        }
+
+        private static int length(String s) {
+            return s == null ? 0 : s.length();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mytodo;
+
+import com.mytodo.util.LongHashMap;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Display strings of the task list rows, built once per task and reused while the task
+ * is unchanged.
+ *
+ * Keyed by task id, in a LongHashMap so a lookup does not box the id. An entry remembers
+ * the property values its strings were built from and is rebuilt when one of them is no
+ * longer the same instance, so an edit is picked up without any listener and a cache hit
+ * allocates nothing (TaskPresenterTest checks this with JFR). Entries are dropped when
+ * their task leaves the list (remove) or, for archived tasks that are only paged through,
+ * when the cache outgrows MAX_ENTRIES.
+ */
+public class TaskPresenter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final int MAX_ENTRIES = 50_000;
+
+    private final LongHashMap<Entry> entries = new LongHashMap<>();
+
+    /**
+     * @return "title • description" as shown in the task list.
+     */
+    public String title(Task task) {
+        Entry e = entry(task);
+        if (e.titleLine == null || e.title != task.getTitle() || e.description != task.getDescription()) {
+            e.title = task.getTitle();
+            e.description = task.getDescription();
+            String t = e.title == null ? "(No title)" : e.title.trim();
+            String d = e.description == null ? "" : e.description.trim();
+            e.titleLine = d.isEmpty() ? t : t + " • " + d;
+        }
+        return e.titleLine;
+    }
+
+    /**
+     * @return "Due: ... | Priority: ... | List: ... | Repeats: ..." as shown in the task list.
+     */
+    public String detail(Task task) {
+        Entry e = entry(task);
+        if (e.detailLine == null || e.dueDate != task.getDueDate() || e.time != task.getTime()
+                || e.priority != task.getPriority() || e.listName != task.getListName()
+                || e.recurrence != task.getRecurrence()) {
+            e.dueDate = task.getDueDate();
+            e.time = task.getTime();
+            e.priority = task.getPriority();
+            e.listName = task.getListName();
+            e.recurrence = task.getRecurrence();
+            LocalDate due = task.currentOccurrence();
+            String dateStr = due != null ? due.format(DATE_FORMATTER) : task.isRecurring() ? "Series ended" : "No due date";
+            String timeStr = e.time != null ? e.time.format(TIME_FORMATTER) : "No time";
+            String p = e.priority == null ? "Normal" : e.priority;
+            String line = "Due: " + dateStr + " " + timeStr + " | Priority: " + p;
+            if (e.listName != null && !e.listName.isBlank()) {
+                line += " | List: " + e.listName;
+            }
+            if (task.isRecurring()) {
+                line += " | Repeats: " + e.recurrence.describe();
+            }
+            e.detailLine = line;
+        }
+        return e.detailLine;
+    }
+
+    /**
+     * Drops the strings of a task that left the list.
+     */
+    public void remove(long id) {
+        entries.remove(id);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Entry entry(Task task) {
+        Entry e = entries.get(task.getId());
+        if (e == null) {
+            if (entries.size() >= MAX_ENTRIES) entries.clear();
+            e = new Entry();
+            entries.put(task.getId(), e);
+        }
+        return e;
+    }
+
+    private static final class Entry {
+        // Property values the lines were built from (compared by reference)
+        private String title;
+        private String description;
+        private LocalDate dueDate;
+        private LocalTime time;
+        private String priority;
+        private String listName;
+        private Recurrence recurrence;
+
+        private String titleLine;
+        private String detailLine;
+    }
+}
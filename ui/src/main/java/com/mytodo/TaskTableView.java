@@ -0,0 +1,180 @@
+package com.mytodo;
+
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.css.PseudoClass;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Dense table layout (View > Table) for power users with very long lists.
+ *
+ * Columns are bound to the Task properties, so edits show up without refresh(); rows use
+ * the same TaskObserver protocol as TaskListCell for the completed state. Sorting is done
+ * by a SortedList over the filtered tasks, so filtering and sorting stay incremental.
+ * Rows have a fixed height and the table is virtualized, which keeps tens of thousands
+ * of rows cheap. Only in-memory tasks are shown (archive pages are listed in the other layouts).
+ */
+public class TaskTableView extends TableView<Task> {
+
+    private static final double ROW_HEIGHT = 28;
+    private static final PseudoClass COMPLETED = PseudoClass.getPseudoClass("completed");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final List<String> PRIORITY_ORDER = List.of("Low", "Normal", "High");
+
+    private final MainController controller;
+    private SortedList<Task> sortedTasks;
+
+    public TaskTableView(MainController controller) {
+        this.controller = controller;
+        getStyleClass().add("task-table");
+        setFixedCellSize(ROW_HEIGHT);
+        setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        setPlaceholder(new Label("No tasks"));
+
+        TableColumn<Task, Boolean> doneCol = new TableColumn<>("✓");
+        doneCol.setCellValueFactory(c -> c.getValue().completedProperty());
+        doneCol.setCellFactory(col -> new CompletedCell());
+        doneCol.setPrefWidth(36);
+        doneCol.setMaxWidth(36);
+
+        TableColumn<Task, String> titleCol = textColumn("Title", Task::titleProperty);
+        titleCol.setPrefWidth(260);
+
+        TableColumn<Task, LocalDate> dueCol = new TableColumn<>("Due");
+        dueCol.setCellValueFactory(c -> c.getValue().dueDateProperty());
+        dueCol.setComparator(Comparator.nullsLast(Comparator.naturalOrder()));
+        dueCol.setPrefWidth(96);
+
+        TableColumn<Task, LocalTime> timeCol = new TableColumn<>("Time");
+        timeCol.setCellValueFactory(c -> c.getValue().timeProperty());
+        timeCol.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(LocalTime time, boolean empty) {
+                super.updateItem(time, empty);
+                setText(empty || time == null ? null : TIME_FORMATTER.format(time));
+            }
+        });
+        timeCol.setComparator(Comparator.nullsLast(Comparator.naturalOrder()));
+        timeCol.setPrefWidth(60);
+
+        TableColumn<Task, String> priorityCol = textColumn("Priority", Task::priorityProperty);
+        priorityCol.setComparator(Comparator.comparingInt(PRIORITY_ORDER::indexOf));
+        priorityCol.setPrefWidth(72);
+
+        TableColumn<Task, Boolean> importantCol = new TableColumn<>("★");
+        importantCol.setCellValueFactory(c -> c.getValue().importantProperty());
+        importantCol.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(Boolean important, boolean empty) {
+                super.updateItem(important, empty);
+                setText(!empty && Boolean.TRUE.equals(important) ? "★" : null);
+            }
+        });
+        importantCol.setPrefWidth(36);
+        importantCol.setMaxWidth(36);
+
+        TableColumn<Task, String> listCol = textColumn("List", Task::listNameProperty);
+        listCol.setPrefWidth(110);
+
+        TableColumn<Task, String> descCol = textColumn("Description", Task::descriptionProperty);
+        descCol.setSortable(false);
+
+        getColumns().addAll(List.of(doneCol, titleCol, dueCol, timeCol, priorityCol, importantCol, listCol, descCol));
+
+        setRowFactory(table -> new TaskRow());
+    }
+
+    /**
+     * Shows the given (already filtered) tasks that pass isRealTask (drops the list's spacer item).
+     */
+    public void setTasks(ObservableList<Task> tasks, Predicate<Task> isRealTask) {
+        if (sortedTasks != null) sortedTasks.comparatorProperty().unbind();
+        sortedTasks = new SortedList<>(new FilteredList<>(tasks, isRealTask));
+        sortedTasks.comparatorProperty().bind(comparatorProperty());
+        setItems(sortedTasks);
+    }
+
+    private static TableColumn<Task, String> textColumn(String name,
+            Function<Task, ObservableValue<String>> property) {
+        TableColumn<Task, String> col = new TableColumn<>(name);
+        col.setCellValueFactory(c -> property.apply(c.getValue()));
+        col.setComparator(Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        return col;
+    }
+
+    /**
+     * Completion checkbox; goes through MainController.toggleCompletion like the list cells.
+     */
+    private class CompletedCell extends TableCell<Task, Boolean> {
+        private final CheckBox checkBox = new CheckBox();
+
+        CompletedCell() {
+            checkBox.setOnAction(e -> {
+                Task task = getTableRow() == null ? null : getTableRow().getItem();
+                if (task != null && task.isCompleted() != checkBox.isSelected()) {
+                    controller.toggleCompletion(task);
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(Boolean completed, boolean empty) {
+            super.updateItem(completed, empty);
+            if (empty || completed == null) {
+                setGraphic(null);
+            } else {
+                checkBox.setSelected(completed);
+                setGraphic(checkBox);
+            }
+        }
+    }
+
+    /**
+     * Row: completed state as pseudo-class, double-click to edit, context menu for edit/delete.
+     */
+    private class TaskRow extends TableRow<Task> {
+        private final TaskObserver taskObserver = new TaskObserver(this::updateState);
+
+        TaskRow() {
+            MenuItem edit = new MenuItem("Edit");
+            edit.setOnAction(e -> { if (getItem() != null) controller.openTaskDetailDialog(getItem()); });
+            MenuItem delete = new MenuItem("Delete");
+            delete.setOnAction(e -> { if (getItem() != null) controller.deleteTask(getItem()); });
+            ContextMenu menu = new ContextMenu(edit, delete);
+
+            setOnMouseClicked(e -> {
+                if (e.getClickCount() == 2 && getItem() != null) controller.openTaskDetailDialog(getItem());
+            });
+            emptyProperty().addListener((obs, wasEmpty, isEmpty) -> setContextMenu(isEmpty ? null : menu));
+        }
+
+        @Override
+        protected void updateItem(Task task, boolean empty) {
+            super.updateItem(task, empty);
+            taskObserver.observe(empty ? null : task);
+            updateState();
+        }
+
+        private void updateState() {
+            Task task = getItem();
+            pseudoClassStateChanged(COMPLETED, task != null && task.isCompleted());
+        }
+    }
+}
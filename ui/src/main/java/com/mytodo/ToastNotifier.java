@@ -0,0 +1,68 @@
+package com.mytodo;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.util.Duration;
+import org.controlsfx.control.Notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking toast notifications rendered over the main window (ControlsFX Notifications).
+ *
+ * Messages are queued for a short window and shown as one toast, so a burst of
+ * "Task added" messages becomes a single notification instead of a stack of popups.
+ * Must be used on the FX thread; nothing here waits for the user.
+ */
+public class ToastNotifier {
+
+    private static final Duration COALESCE_WINDOW = Duration.millis(300);
+    private static final Duration TOAST_DURATION = Duration.seconds(2.5);
+    private static final int MAX_LINES = 3;
+
+    private final Node owner;
+    private final List<String> pending = new ArrayList<>();
+    private final PauseTransition flushTimer = new PauseTransition(COALESCE_WINDOW);
+
+    public ToastNotifier(Node owner) {
+        this.owner = owner;
+        flushTimer.setOnFinished(e -> flush());
+    }
+
+    /**
+     * Queues a message. The first message of a burst starts the window; later ones join it.
+     */
+    public void show(String message) {
+        pending.add(message);
+        if (pending.size() == 1) {
+            flushTimer.playFromStart();
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) return;
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < Math.min(MAX_LINES, pending.size()); i++) {
+            if (i > 0) text.append('\n');
+            text.append(pending.get(i));
+        }
+        if (pending.size() > MAX_LINES) {
+            text.append("\n+").append(pending.size() - MAX_LINES).append(" more");
+        }
+        pending.clear();
+
+        Notifications toast = Notifications.create()
+                .title("MyTodo")
+                .text(text.toString())
+                .hideAfter(TOAST_DURATION)
+                .position(Pos.BOTTOM_RIGHT);
+        // Owner is only valid once the node is in a shown window
+        if (owner != null && owner.getScene() != null && owner.getScene().getWindow() != null) {
+            toast.owner(owner.getScene().getWindow());
+        }
+        toast.showInformation();
+    }
+}
@@ -0,0 +1,72 @@
+package com.mytodo;
+
+import com.mytodo.util.TaskTransfer;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+/**
+ * Progress bar with a Cancel button shown over the task list while an import or export
+ * runs (File menu). The job's counters are polled a few times per second; the job never
+ * calls into the UI, so a fast import does not flood the FX thread with progress events.
+ */
+public class TransferProgress extends HBox {
+
+    private static final Duration REFRESH_INTERVAL = Duration.millis(200);
+
+    private final Label label = new Label();
+    private final ProgressBar bar = new ProgressBar();
+    private final Button cancelButton = new Button("Cancel");
+    private final Timeline refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+    private TaskTransfer.Job job;
+    private String action;
+
+    public TransferProgress() {
+        super(10);
+        getStyleClass().add("transfer-progress");
+        setAlignment(Pos.CENTER_LEFT);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        StackPane.setAlignment(this, Pos.BOTTOM_CENTER);
+        bar.setPrefWidth(180);
+        cancelButton.setOnAction(e -> {
+            if (job != null) job.cancel();
+            cancelButton.setDisable(true);
+            label.setText(action + ": cancelling...");
+        });
+        getChildren().addAll(label, bar, cancelButton);
+        setVisible(false);
+        refresher.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /**
+     * @param action e.g. "Importing tasks.csv"
+     */
+    public void show(String action, TaskTransfer.Job job) {
+        this.action = action;
+        this.job = job;
+        cancelButton.setDisable(false);
+        refresh();
+        setVisible(true);
+        refresher.play();
+    }
+
+    public void hide() {
+        refresher.stop();
+        setVisible(false);
+        job = null;
+    }
+
+    private void refresh() {
+        if (job == null || job.isCancelled()) return;
+        double progress = job.getProgress();
+        bar.setProgress(progress < 0 ? ProgressBar.INDETERMINATE_PROGRESS : progress);
+        label.setText(String.format("%s: %,d tasks", action, job.getTaskCount()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.mytodo;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Undo/redo history of {@link TaskOp} records with a bounded memory budget.
+ *
+ * When the estimated size of the history exceeds the budget (or MAX_OPS records), the
+ * oldest operations are discarded first. Budget: -Dmytodo.undo.budgetKb (default 2048).
+ * FX thread only.
+ */
+public class UndoLog {
+
+    private static final int MAX_OPS = 500;
+    private static final long BUDGET_BYTES = Long.getLong("mytodo.undo.budgetKb", 2048) * 1024;
+
+    private final TaskOp.Target target;
+    private final Deque<TaskOp> undoStack = new ArrayDeque<>();
+    private final Deque<TaskOp> redoStack = new ArrayDeque<>();
+    private long retainedBytes = 0;
+
+    private final ReadOnlyBooleanWrapper canUndo = new ReadOnlyBooleanWrapper(false);
+    private final ReadOnlyBooleanWrapper canRedo = new ReadOnlyBooleanWrapper(false);
+
+    public UndoLog(TaskOp.Target target) {
+        this.target = target;
+    }
+
+    /**
+     * Records an operation that has just been applied. Clears the redo history.
+     */
+    public void record(TaskOp op) {
+        for (TaskOp undone : redoStack) {
+            retainedBytes -= undone.estimatedBytes();
+            undone.discard(target);
+        }
+        redoStack.clear();
+
+        undoStack.push(op);
+        retainedBytes += op.estimatedBytes();
+        while (undoStack.size() > 1 && (retainedBytes > BUDGET_BYTES || undoStack.size() > MAX_OPS)) {
+            TaskOp oldest = undoStack.removeLast();
+            retainedBytes -= oldest.estimatedBytes();
+            oldest.discard(target);
+        }
+        updateState();
+    }
+
+    /**
+     * @return the undone operation, or null if there is nothing to undo.
+     * @throws java.io.UncheckedIOException if the operation failed; it stays on the undo stack.
+     */
+    public TaskOp undo() {
+        TaskOp op = undoStack.peek();
+        if (op == null) return null;
+        op.undo(target);
+        undoStack.pop();
+        redoStack.push(op);
+        updateState();
+        return op;
+    }
+
+    /**
+     * @return the redone operation, or null if there is nothing to redo.
+     * @throws java.io.UncheckedIOException if the operation failed; it stays on the redo stack.
+     */
+    public TaskOp redo() {
+        TaskOp op = redoStack.peek();
+        if (op == null) return null;
+        op.redo(target);
+        redoStack.pop();
+        undoStack.push(op);
+        updateState();
+        return op;
+    }
+
+    public TaskOp peekUndo() {
+        return undoStack.peek();
+    }
+
+    public TaskOp peekRedo() {
+        return redoStack.peek();
+    }
+
+    /**
+     * Drops the whole history (e.g. when the data is reloaded).
+     */
+    public void clear() {
+        undoStack.forEach(op -> op.discard(target));
+        redoStack.forEach(op -> op.discard(target));
+        undoStack.clear();
+        redoStack.clear();
+        retainedBytes = 0;
+        updateState();
+    }
+
+    public ReadOnlyBooleanProperty canUndoProperty() {
+        return canUndo.getReadOnlyProperty();
+    }
+
+    public ReadOnlyBooleanProperty canRedoProperty() {
+        return canRedo.getReadOnlyProperty();
+    }
+
+    private void updateState() {
+        canUndo.set(!undoStack.isEmpty());
+        canRedo.set(!redoStack.isEmpty());
+    }
+}
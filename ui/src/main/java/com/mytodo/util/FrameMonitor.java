@@ -0,0 +1,139 @@
+package com.mytodo.util;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures frame times and FX application thread stalls.
+ *
+ * - An AnimationTimer records the time between pulses ("fx.frame.us"); frames slower than
+ *   JANK_FRAME_MS count as "fx.jank".
+ * - A watchdog thread posts a ping to the FX thread every WATCHDOG_PERIOD_MS. A ping that is
+ *   not answered within the stall threshold means the FX thread is blocked: the watchdog logs
+ *   the FX thread's stack (the blocking call) once per stall, and the full stall length is
+ *   recorded when the ping finally runs ("fx.stall.us").
+ *
+ * The AnimationTimer keeps pulses coming at the display rate, so the monitor only runs while
+ * something needs it (performance overlay, -Dmytodo.frameMonitor=true, replay mode).
+ * Threshold: -Dmytodo.stallThresholdMs (default 100).
+ */
+public final class FrameMonitor {
+
+    private static final Log LOG = Log.get(FrameMonitor.class);
+
+    public static final String FRAME_TIME = "fx.frame.us";
+    public static final String STALL_TIME = "fx.stall.us";
+    public static final String JANK_FRAMES = "fx.jank";
+    public static final String STALLS = "fx.stalls";
+
+    private static final long JANK_FRAME_MS = 50;
+    private static final long WATCHDOG_PERIOD_MS = 20;
+    private static final long STALL_THRESHOLD_MS = Long.getLong("mytodo.stallThresholdMs", 100);
+    private static final int MAX_STACK_DEPTH = 25;
+
+    private final Metrics.Histogram frameTime = Metrics.histogram(FRAME_TIME);
+    private final Metrics.Histogram stallTime = Metrics.histogram(STALL_TIME);
+    private final Metrics.Counter jankFrames = Metrics.counter(JANK_FRAMES);
+    private final Metrics.Counter stalls = Metrics.counter(STALLS);
+
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (lastFrameNanos != 0) {
+                long frameNanos = now - lastFrameNanos;
+                frameTime.record(frameNanos / 1_000);
+                if (frameNanos >= JANK_FRAME_MS * 1_000_000) jankFrames.increment();
+            }
+            lastFrameNanos = now;
+        }
+    };
+
+    private ScheduledExecutorService watchdog;
+    private ScheduledFuture<?> watchdogTask;
+    private Thread fxThread;
+    private long lastFrameNanos;
+    private boolean running;
+
+    // Written by the watchdog, cleared on the FX thread
+    private volatile long pingSentNanos;
+    private volatile boolean stallReported;
+
+    /**
+     * Starts frame timing and the watchdog. Must be called on the FX thread.
+     */
+    public void start() {
+        if (running) return;
+        running = true;
+        fxThread = Thread.currentThread();
+        lastFrameNanos = 0;
+        pingSentNanos = 0;
+        frameTimer.start();
+
+        if (watchdog == null) {
+            watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "fx-watchdog");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        watchdogTask = watchdog.scheduleAtFixedRate(this::checkFxThread,
+                WATCHDOG_PERIOD_MS, WATCHDOG_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops frame timing and the watchdog. Must be called on the FX thread.
+     */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        frameTimer.stop();
+        if (watchdogTask != null) watchdogTask.cancel(false);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkFxThread() {
+        long sent = pingSentNanos;
+        if (sent == 0) {
+            long now = System.nanoTime();
+            pingSentNanos = now;
+            Platform.runLater(() -> onPing(now));
+            return;
+        }
+
+        long waitedMs = (System.nanoTime() - sent) / 1_000_000;
+        if (waitedMs >= STALL_THRESHOLD_MS && !stallReported) {
+            stallReported = true;
+            stalls.increment();
+            LOG.warn("FX thread blocked for " + waitedMs + " ms (still running):" + formatStack(fxThread.getStackTrace()));
+        }
+    }
+
+    private void onPing(long sentNanos) {
+        long blockedNanos = System.nanoTime() - sentNanos;
+        if (blockedNanos >= STALL_THRESHOLD_MS * 1_000_000) {
+            stallTime.record(blockedNanos / 1_000);
+            LOG.debug(() -> "FX stall ended after " + blockedNanos / 1_000_000 + " ms");
+        }
+        stallReported = false;
+        pingSentNanos = 0;
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(stack.length, MAX_STACK_DEPTH); i++) {
+            sb.append(System.lineSeparator()).append("\tat ").append(stack[i]);
+        }
+        if (stack.length > MAX_STACK_DEPTH) {
+            sb.append(System.lineSeparator()).append("\t... ").append(stack.length - MAX_STACK_DEPTH).append(" more");
+        }
+        return sb.toString();
+    }
+}
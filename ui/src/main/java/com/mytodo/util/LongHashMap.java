@@ -0,0 +1,119 @@
+package com.mytodo.util;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from long keys (task ids) to values, without boxing the key.
+ *
+ * HashMap&lt;Long, V&gt; allocates a Long for every lookup of an id above 127; this map is
+ * for per-task caches read on every cell render. Open addressing with linear probing in
+ * power-of-two arrays; an empty slot has a null value, so null values cannot be stored.
+ * Not thread-safe.
+ */
+public class LongHashMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private V[] values;
+    private int size;
+
+    public LongHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public V get(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return null;
+    }
+
+    /**
+     * @return the previous value, or null.
+     */
+    public V put(long key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        // Load factor 0.5
+        if (++size * 2 > keys.length) rehash(keys.length * 2);
+        return null;
+    }
+
+    /**
+     * @return the removed value, or null.
+     */
+    public V remove(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) break;
+        }
+        V old = values[i];
+        if (old == null) return null;
+        values[i] = null;
+        // Shift later entries of the probe run back, so no lookup stops at the hole:
+        // an entry may move if its home slot is not between the hole and itself
+        int hole = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = index(keys[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                values[j] = null;
+                hole = j;
+            }
+        }
+        size--;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) continue;
+            int j = index(oldKeys[i], mask);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+    }
+
+    private static int index(long key, int mask) {
+        // Spread sequential ids over the table (Fibonacci hashing)
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
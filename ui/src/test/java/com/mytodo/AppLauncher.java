@@ -0,0 +1,32 @@
+package com.mytodo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line that starts the app in a new JVM with this JVM's class path, for the
+ * harnesses that measure whole app runs (StartupBenchmark, ReplayCheck).
+ */
+final class AppLauncher {
+
+    private AppLauncher() {
+    }
+
+    static List<String> command(List<String> jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(jvmOptions);
+        // JavaFX has to come from the module path when the main class is an Application
+        List<String> modules = new ArrayList<>();
+        List<String> classes = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            (new File(entry).getName().startsWith("javafx-") ? modules : classes).add(entry);
+        }
+        command.addAll(List.of("--module-path", String.join(File.pathSeparator, modules),
+                "--add-modules", "javafx.controls,javafx.fxml",
+                "-cp", String.join(File.pathSeparator, classes),
+                Main.class.getName()));
+        return command;
+    }
+}
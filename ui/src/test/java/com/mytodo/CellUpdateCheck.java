@@ -0,0 +1,132 @@
+package com.mytodo;
+
+import com.mytodo.util.ChunkedTaskList;
+import com.mytodo.util.Metrics;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.transformation.FilteredList;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cell work per edit: how many list cells one task property change reconfigures.
+ *
+ *   java -cp &lt;ui test classpath&gt; com.mytodo.CellUpdateCheck [tasks] [edits]
+ *
+ * Defaults: 1000 tasks, 20 edits per interaction. Shows a ListView of TaskListCells over a
+ * FilteredList of a ChunkedTaskList, as the main window does, edits one task at a time and
+ * counts the cell.updateItem and cell.rerender calls of each edit once the next frames are
+ * laid out. An edit of a visible task must touch only the one cell showing it, an edit of a
+ * task outside the viewport none; "refresh()" is the cost of the global ListView.refresh()
+ * every edit paid before TaskObserver, for comparison (not checked). Prints the calls per
+ * edit and PASS/FAIL; exits with status 1 on FAIL. Needs a display.
+ */
+public final class CellUpdateCheck {
+
+    // The one cell showing the edited task, redrawn once
+    private static final double MAX_CELLS_PER_EDIT = 1;
+
+    private static ListView<Task> listView;
+
+    private CellUpdateCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Locale.setDefault(Locale.ENGLISH);
+        Platform.startup(() -> { });
+        Platform.setImplicitExit(false);
+
+        onFx(() -> {
+            ChunkedTaskList master = new ChunkedTaskList();
+            for (int i = 0; i < tasks; i++) {
+                Task t = new Task("Task " + i, "Description of task " + i, null, null, "Normal");
+                t.setId(i + 1);
+                master.add(t);
+            }
+            listView = new ListView<>(new FilteredList<>(master, t -> true));
+            // No controller: the check never clicks and shows no spacer row
+            listView.setCellFactory(list -> new TaskListCell(null, TaskLayout.CARD, new TaskPresenter(), null));
+            Stage stage = new Stage();
+            stage.setScene(new Scene(listView, 800, 600));
+            stage.show();
+        });
+        settle();
+
+        System.out.printf("Cell update check: %d tasks, %d edits per interaction%n", tasks, edits);
+        System.out.printf("%-24s %12s %12s%n", "", "updateItem", "rerender");
+        boolean passed = true;
+        passed &= measure("title, visible row", edits, true,
+                i -> task(3).setTitle(i % 2 == 0 ? "Edited title" : "Task 3"));
+        passed &= measure("completed, visible row", edits, true,
+                i -> task(3).setCompleted(!task(3).isCompleted()));
+        passed &= measure("title, off-screen row", edits, false,
+                i -> task(tasks - 10).setTitle(i % 2 == 0 ? "Edited title" : "Task"));
+        measure("refresh()", edits, null, i -> listView.refresh());
+        System.out.println(passed ? "PASS" : "FAIL");
+        Platform.exit();
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Task task(int index) {
+        return listView.getItems().get(index);
+    }
+
+    /**
+     * Runs the edit on the FX thread, waits for the next frames and counts the cell calls.
+     *
+     * @param visible whether the edited task is on screen (one cell may be touched), null = not checked
+     * @return whether the calls per edit are within the limit
+     */
+    private static boolean measure(String name, int edits, Boolean visible, Consumer<Integer> edit) throws Exception {
+        Metrics.Counter updates = Metrics.counter(TaskListCell.UPDATE_ITEM_COUNTER);
+        Metrics.Counter rerenders = Metrics.counter(TaskListCell.RERENDER_COUNTER);
+        long updatesBefore = updates.get();
+        long rerendersBefore = rerenders.get();
+        for (int i = 0; i < edits; i++) {
+            int n = i;
+            onFx(() -> edit.accept(n));
+            settle();
+        }
+        double updateItem = (updates.get() - updatesBefore) / (double) edits;
+        double rerender = (rerenders.get() - rerendersBefore) / (double) edits;
+        boolean ok = visible == null || updateItem + rerender <= (visible ? MAX_CELLS_PER_EDIT : 0);
+        System.out.printf("%-24s %12.1f %12.1f%s%n", name, updateItem, rerender, ok ? "" : "   too many");
+        return ok;
+    }
+
+    private static void onFx(Runnable action) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        if (!done.await(30, TimeUnit.SECONDS)) throw new IllegalStateException("FX thread did not respond");
+    }
+
+    /**
+     * Waits until three more frames were laid out and rendered.
+     */
+    private static void settle() throws InterruptedException {
+        CountDownLatch frames = new CountDownLatch(3);
+        AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frames.countDown();
+                if (frames.getCount() == 0) stop();
+            }
+        };
+        Platform.runLater(timer::start);
+        if (!frames.await(30, TimeUnit.SECONDS)) throw new IllegalStateException("No frames rendered");
+    }
+}
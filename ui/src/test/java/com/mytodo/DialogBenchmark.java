@@ -0,0 +1,94 @@
+package com.mytodo;
+
+import com.mytodo.util.Metrics;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.DialogEvent;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-to-visible latency of each dialog, parsed on every open and reused from DialogFactory.
+ *
+ *   java -cp &lt;ui test classpath&gt; com.mytodo.DialogBenchmark [opens]
+ *
+ * Default: 50 opens per dialog and mode, after 10 unmeasured opens. "parse" creates a new
+ * DialogFactory for every open, so the FXML is parsed, the stylesheet looked up and the
+ * controller created each time, as before the factory; "reuse" opens the dialog of one
+ * factory again and again. Latency runs from the open request (before the factory lookup)
+ * to the dialog's DIALOG_SHOWN event; the dialog is closed right after. Prints p50, p99
+ * and max per dialog and mode, and as "all" the dialog.&lt;name&gt;.open.us histogram the
+ * factory recorded itself over every open (show request to visible, without the lookup).
+ * Needs a display.
+ */
+public final class DialogBenchmark {
+
+    private static final List<String> DIALOGS = List.of(
+            DialogFactory.TASK_DETAIL, DialogFactory.CUSTOM_ALERT, DialogFactory.ADD_NEW_LIST);
+    private static final int WARMUP = 10;
+
+    private DialogBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int opens = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        Locale.setDefault(Locale.ENGLISH);
+        Platform.startup(() -> { });
+        Platform.setImplicitExit(false);
+
+        System.out.printf("Dialog benchmark: %d opens per dialog and mode%n", opens);
+        System.out.printf("%-26s %-6s %9s %9s %9s%n", "", "", "p50", "p99", "max");
+        for (String fxml : DIALOGS) {
+            String name = fxml.substring(fxml.lastIndexOf('/') + 1).replace(".fxml", "");
+            Metrics.Histogram parse = Metrics.histogram("dialogbench." + name + ".parse.us");
+            Metrics.Histogram reuse = Metrics.histogram("dialogbench." + name + ".reuse.us");
+            DialogFactory shared = new DialogFactory();
+            for (int i = 0; i < WARMUP + opens; i++) {
+                open(new DialogFactory(), fxml, i < WARMUP ? null : parse);
+                open(shared, fxml, i < WARMUP ? null : reuse);
+            }
+            print(name, "parse", parse);
+            print("", "reuse", reuse);
+            print("", "all", Metrics.histogram("dialog." + name + ".open.us"));
+        }
+        Platform.exit();
+    }
+
+    /**
+     * Opens the dialog on the FX thread, closes it once shown and waits until it is closed.
+     */
+    private static void open(DialogFactory factory, String fxml, Metrics.Histogram latency) throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                long start = System.nanoTime();
+                DialogFactory.CachedDialog<Object> cached = factory.get(fxml);
+                Dialog<ButtonType> dialog = cached.getDialog();
+                dialog.addEventHandler(DialogEvent.DIALOG_SHOWN, new EventHandler<>() {
+                    @Override
+                    public void handle(DialogEvent e) {
+                        if (latency != null) latency.recordSince(start);
+                        dialog.removeEventHandler(DialogEvent.DIALOG_SHOWN, this);
+                        Platform.runLater(() -> dialog.getDialogPane().getScene().getWindow().hide());
+                    }
+                });
+                cached.showAndWait("Benchmark");
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                closed.countDown();
+            }
+        });
+        if (!closed.await(30, TimeUnit.SECONDS)) throw new IllegalStateException(fxml + " did not close");
+    }
+
+    private static void print(String name, String mode, Metrics.Histogram h) {
+        System.out.printf("%-26s %-6s %6.2f ms %6.2f ms %6.2f ms%n", name, mode,
+                h.getPercentile(50) / 1000.0, h.getPercentile(99) / 1000.0, h.getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mytodo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Frame-time check: replays an interaction script in a fresh app and fails on slow frames,
+ * stalls or failed commands.
+ *
+ *   java -cp &lt;ui test classpath&gt; com.mytodo.ReplayCheck [script] [frameBudgetMs] [maxStalls]
+ *   mvn -pl ui -Preplay-check verify
+ *
+ * Defaults: the smoke script in src/test/resources/replay, 50 ms p99 frame time, no stalls.
+ * The app runs in a new JVM with -Dmytodo.replay in an empty temporary working directory
+ * (the script creates its own tasks), and InteractionReplay decides PASS or FAIL. Prints the
+ * app's replay summary and PASS/FAIL; exits with status 0 if the replay passed, 1 if it
+ * failed or did not finish.
+ * Needs a display.
+ */
+public final class ReplayCheck {
+
+    private static final String DEFAULT_SCRIPT = "/replay/smoke.txt";
+
+    private ReplayCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long budgetMs = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        long maxStalls = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        Path workDir = Files.createTempDirectory("mytodo-replay");
+        boolean passed;
+        try {
+            Path script = workDir.resolve("replay.txt");
+            if (args.length > 0) {
+                Files.copy(Path.of(args[0]), script);
+            } else {
+                try (InputStream in = ReplayCheck.class.getResourceAsStream(DEFAULT_SCRIPT)) {
+                    if (in == null) throw new IOException("Missing " + DEFAULT_SCRIPT);
+                    Files.copy(in, script, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            System.out.printf("Replay check: %s, p99 budget %d ms, max stalls %d%n",
+                    args.length > 0 ? args[0] : DEFAULT_SCRIPT, budgetMs, maxStalls);
+
+            List<String> command = AppLauncher.command(List.of(
+                    "-Dmytodo.replay=" + script,
+                    "-Dmytodo.frameBudgetMs=" + budgetMs,
+                    "-Dmytodo.maxStalls=" + maxStalls,
+                    "-Dmytodo.liveReload=false"));
+            Process process = new ProcessBuilder(command).directory(workDir.toFile()).redirectErrorStream(true).start();
+            boolean summary = false;
+            // Shown if the app dies before the replay ends
+            Deque<String> tail = new ArrayDeque<>();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                for (String line; (line = in.readLine()) != null; ) {
+                    // Replay summary, failed commands and stalls; the rest is app noise
+                    if (line.contains("Replay") || line.contains("FX thread blocked")) {
+                        System.out.println(line);
+                    }
+                    summary |= line.contains("Replay done:");
+                    tail.add(line);
+                    if (tail.size() > 20) tail.poll();
+                }
+            }
+            int status = process.waitFor();
+            if (!summary) {
+                tail.forEach(System.out::println);
+                System.out.println("The app exited with status " + status + " before the replay finished");
+            }
+            passed = summary && status == 0;
+        } finally {
+            try (Stream<Path> files = Files.walk(workDir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+        System.out.println(passed ? "PASS" : "FAIL");
+        System.exit(passed ? 0 : 1);
+    }
+}
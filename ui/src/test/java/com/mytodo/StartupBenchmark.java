@@ -0,0 +1,120 @@
+package com.mytodo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time of the app with and without class-data sharing, cold and warm.
+ *
+ *   java -cp &lt;ui test classpath&gt; com.mytodo.StartupBenchmark [runs] [dataDir]
+ *   mvn -pl ui test-compile exec:exec -Dexec.executable=java \
+ *       -Dexec.args="-cp %classpath com.mytodo.StartupBenchmark 6 .."
+ *
+ * (not exec:java: the app JVMs are started with this JVM's class path).
+ *
+ * Defaults: 6 runs per mode, data files of the current directory. Each run starts the app
+ * in a new JVM with -Dmytodo.exitAfterStartup=true, so it quits once the data is shown, and
+ * reads the StartupProfiler breakdown from its log. Modes:
+ *   no CDS   -Xshare:off, every class is loaded and verified from the jars
+ *   JDK CDS  the default: JDK classes from the JDK's archive
+ *   AppCDS   app, JavaFX and Jackson classes too, from an archive dumped by one training run
+ *            (-XX:ArchiveClassesAtExit, as the cds-dump profile does) before the first run
+ * "cold" is the first run of a mode: nothing of that mode is in the page cache or archive
+ * yet, apart from what earlier modes loaded. For a true cold-cache number, drop the OS
+ * page cache and run with runs=1. "warm" is the median of the other runs. Printed per mode:
+ * time since JVM start to the first frame and to the data shown, and wall time from
+ * process start to exit. Needs a display.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern MARK = Pattern.compile("\\[STARTUP]\\s+(\\S+)\\s+at\\s+(\\d+)");
+    private static final List<String> PHASES = List.of("first-frame", "data-shown");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        File dataDir = new File(args.length > 1 ? args[1] : ".").getAbsoluteFile();
+        File archive = File.createTempFile("mytodo-cds", ".jsa");
+        archive.delete();
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("no CDS", List.of("-Xshare:off"));
+        modes.put("JDK CDS", List.of());
+        modes.put("AppCDS", List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"));
+
+        System.out.printf("Startup benchmark: %d runs per mode, data in %s%n", runs, dataDir);
+        try {
+            launch(dataDir, List.of("-XX:ArchiveClassesAtExit=" + archive));
+            if (!archive.isFile()) throw new IOException("Training run did not create " + archive);
+            System.out.printf("AppCDS archive: %.1f MB%n", archive.length() / (double) (1 << 20));
+
+            System.out.printf("%-8s %-5s %12s %12s %12s%n", "", "", "first frame", "data shown", "process");
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                List<long[]> results = new ArrayList<>();
+                for (int i = 0; i < runs; i++) results.add(launch(dataDir, mode.getValue()));
+                print(mode.getKey(), "cold", results.get(0));
+                if (runs > 1) print("", "warm", median(results.subList(1, runs)));
+            }
+        } finally {
+            Files.deleteIfExists(archive.toPath());
+        }
+    }
+
+    /**
+     * @return ms since JVM start of each of PHASES, then wall ms from process start to exit.
+     */
+    private static long[] launch(File dataDir, List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> options = new ArrayList<>(jvmOptions);
+        options.add("-Dmytodo.exitAfterStartup=true");
+        options.add("-Dmytodo.liveReload=false");
+        List<String> command = AppLauncher.command(options);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(dataDir).redirectErrorStream(true).start();
+        long[] result = new long[PHASES.size() + 1];
+        Arrays.fill(result, -1);
+        List<String> output = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (String line; (line = in.readLine()) != null; ) {
+                output.add(line);
+                Matcher m = MARK.matcher(line);
+                if (m.find() && PHASES.contains(m.group(1))) {
+                    result[PHASES.indexOf(m.group(1))] = Long.parseLong(m.group(2));
+                }
+            }
+        }
+        int status = process.waitFor();
+        result[PHASES.size()] = (System.nanoTime() - start) / 1_000_000;
+        if (status != 0 || result[PHASES.indexOf("data-shown")] < 0) {
+            output.forEach(System.out::println);
+            throw new IOException("App exited with status " + status + " without a startup report");
+        }
+        return result;
+    }
+
+    private static long[] median(List<long[]> results) {
+        long[] median = new long[results.get(0).length];
+        for (int i = 0; i < median.length; i++) {
+            int column = i;
+            long[] values = results.stream().mapToLong(r -> r[column]).sorted().toArray();
+            median[i] = values[values.length / 2];
+        }
+        return median;
+    }
+
+    private static void print(String mode, String run, long[] result) {
+        System.out.printf("%-8s %-5s %9d ms %9d ms %9d ms%n", mode, run, result[0], result[1], result[2]);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mytodo;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Display strings of TaskPresenter: format, reuse while unchanged, rebuild after an edit,
+ * and a JFR allocation check of the cache hit path taken by every cell render.
+ */
+class TaskPresenterTest {
+
+    // Ids above Long's box cache, as in a real store
+    private static final long FIRST_ID = 100_000;
+
+    @Test
+    void formatsTitleAndDetail() {
+        TaskPresenter presenter = new TaskPresenter();
+        Task t = task(1);
+        t.setDueDate(LocalDate.of(2024, 5, 1));
+        t.setTime(LocalTime.of(9, 30));
+        t.setPriority("High");
+        t.setListName("Work");
+
+        assertEquals("Task 1 • Notes 1", presenter.title(t));
+        assertEquals("Due: 2024-05-01 09:30 | Priority: High | List: Work", presenter.detail(t));
+
+        t.setDescription(" ");
+        t.setDueDate(null);
+        t.setTime(null);
+        t.setListName(null);
+        assertEquals("Task 1", presenter.title(t));
+        assertEquals("Due: No due date No time | Priority: High", presenter.detail(t));
+    }
+
+    @Test
+    void editRebuildsOnlyTheChangedLine() {
+        TaskPresenter presenter = new TaskPresenter();
+        Task t = task(1);
+        String title = presenter.title(t);
+        String detail = presenter.detail(t);
+        assertSame(title, presenter.title(t));
+        assertSame(detail, presenter.detail(t));
+
+        t.setTitle("Edited");
+        assertNotSame(title, presenter.title(t));
+        assertEquals("Edited • Notes 1", presenter.title(t));
+        assertSame(detail, presenter.detail(t));
+
+        t.setPriority("Low");
+        assertEquals("Due: No due date No time | Priority: Low", presenter.detail(t));
+    }
+
+    @Test
+    void removedTaskIsForgotten() {
+        TaskPresenter presenter = new TaskPresenter();
+        Task t = task(1);
+        presenter.title(t);
+        presenter.title(task(2));
+        presenter.remove(FIRST_ID + 1);
+        assertEquals(1, presenter.size());
+    }
+
+    /**
+     * Renders the same rows over and over, as scrolling back and forth does, on one thread
+     * while JFR records every new TLAB and every allocation outside one. Any allocation on
+     * the cache hit path would fill TLABs with TaskPresenter on the allocating stack.
+     */
+    @Test
+    void cacheHitsDoNotAllocate(@TempDir Path dir) throws Exception {
+        TaskPresenter presenter = new TaskPresenter();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Task t = task(i);
+            t.setDueDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            t.setListName("List " + i % 7);
+            tasks.add(t);
+        }
+        long[] sink = new long[1];
+        Runnable frames = () -> {
+            for (int frame = 0; frame < 500; frame++) {
+                for (Task t : tasks) sink[0] += presenter.title(t).length() + presenter.detail(t).length();
+            }
+        };
+        // Warm up until the lookups are compiled
+        for (int i = 0; i < 10; i++) frames.run();
+
+        Path file = dir.resolve("alloc.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+            recording.start();
+            Thread renderer = new Thread(frames, "presenter-frames");
+            renderer.start();
+            renderer.join();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Integer> allocations = new TreeMap<>();
+        for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+            if (e.getThread() == null || !"presenter-frames".equals(e.getThread().getJavaName())) continue;
+            if (e.getStackTrace() == null) continue;
+            for (RecordedFrame f : e.getStackTrace().getFrames()) {
+                if (f.getMethod().getType().getName().equals(TaskPresenter.class.getName())) {
+                    allocations.merge(e.getClass("objectClass").getName() + " in " + f.getMethod().getName(), 1, Integer::sum);
+                    break;
+                }
+            }
+        }
+        assertEquals(Map.of(), allocations, "allocation events on the cache hit path");
+    }
+
+    private static Task task(long n) {
+        Task t = new Task("Task " + n, "Notes " + n, null, null, "Normal");
+        t.setId(FIRST_ID + n);
+        return t;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mytodo.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Differential test: random puts and removes on a LongHashMap and a HashMap must give the
+ * same results. Keys come from a small range, so probe runs collide, wrap around the table
+ * end and are shifted back by removes.
+ */
+class LongHashMapTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 42, 2024})
+    void randomOperationsMatchHashMap(long seed) {
+        Random random = new Random(seed);
+        LongHashMap<String> map = new LongHashMap<>();
+        Map<Long, String> reference = new HashMap<>();
+        int range = 1 + random.nextInt(500);
+
+        for (int op = 0; op < 20_000; op++) {
+            long key = random.nextInt(range) - range / 4;
+            String context = "seed " + seed + ", op " + op;
+            switch (random.nextInt(10)) {
+                case 0, 1, 2, 3 -> assertEquals(reference.put(key, "v" + op), map.put(key, "v" + op), context);
+                case 4, 5, 6 -> assertEquals(reference.remove(key), map.remove(key), context);
+                case 7 -> {
+                    if (random.nextInt(200) == 0) {
+                        reference.clear();
+                        map.clear();
+                    }
+                }
+                default -> assertEquals(reference.get(key), map.get(key), context);
+            }
+            assertEquals(reference.size(), map.size(), context);
+        }
+        for (Map.Entry<Long, String> e : reference.entrySet()) assertEquals(e.getValue(), map.get(e.getKey()));
+    }
+
+    @Test
+    void extremeKeys() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(0, "zero");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        assertEquals("zero", map.get(0));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("max", map.remove(Long.MAX_VALUE));
+        assertNull(map.get(Long.MAX_VALUE));
+        assertEquals(2, map.size());
+    }
+}